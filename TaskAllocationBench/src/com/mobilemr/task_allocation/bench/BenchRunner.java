@@ -0,0 +1,108 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+
+import com.mobilemr.task_allocation.Params;
+import com.mobilemr.task_allocation.Path;
+import com.mobilemr.task_allocation.heuristic.HeuristicHadoop;
+import com.mobilemr.task_allocation.heuristic.HeuristicMtaS;
+import com.mobilemr.task_allocation.util.Date;
+import com.mobilemr.task_allocation.util.Logger;
+
+public class BenchRunner {
+
+	// Simulator 실행 시간을 좌우하는 부분들의 수행시간 측정
+	// TaskAllocationBench 디렉토리에서 실행하며, 인자가 주어지면 이름에 인자를 포함하는 것만 측정
+	// 결과는 화면과 results/bench-<날짜>.tsv 에 기록해서 실행 간 비교
+
+	public static final String[] INPUT_TRACE_IDS = { "haggle", "pmtr",
+			"rollernet" };
+	public static final String RESULTS_DIR_PATH = "results";
+
+	public static int WARMUP_ITERATIONS = 5;
+	public static int MEASUREMENT_ITERATIONS = 10;
+
+	// 측정 결과를 모두 사용한 것처럼 만들어서 JIT 가 제거하지 못하도록 함
+	private static volatile int sink;
+
+	public static void main(String[] args) throws IOException {
+		new File(Path.LOGS_DIR_PATH).mkdirs();
+		Logger.create(Path.LOGS_DIR_PATH, Date.CURRENT_DATE_TIME);
+
+		// Thread Scheduling 에 따른 편차를 줄이기 위해 적합도는 현재 Thread 에서 순차 평가
+		Params.FITNESS_EXECUTOR = null;
+
+		ArrayList<Benchmark> benchmarks = new ArrayList<>();
+		for (String inputTraceId : INPUT_TRACE_IDS) {
+			benchmarks.add(new MarkReadyBenchmark(inputTraceId));
+			benchmarks.add(new RoutingBenchmark(inputTraceId));
+			benchmarks.add(new EvaluateFitnessBenchmark(inputTraceId));
+			benchmarks.add(new BestClosestPathsBenchmark(inputTraceId));
+			benchmarks.add(new TraceRunnerBenchmark(inputTraceId,
+					HeuristicHadoop.class));
+			benchmarks.add(new TraceRunnerBenchmark(inputTraceId,
+					HeuristicMtaS.class));
+		}
+
+		File resultsDir = new File(RESULTS_DIR_PATH);
+		resultsDir.mkdirs();
+		PrintWriter pw = new PrintWriter(new File(resultsDir, "bench-"
+				+ Date.CURRENT_DATE_TIME + ".tsv"), "UTF-8");
+		String header = "name\titerations\tmean(ms)\tmin(ms)\tmax(ms)\tstd(ms)";
+		System.out.println(header);
+		pw.println(header);
+		for (Benchmark benchmark : benchmarks) {
+			if (!matches(benchmark, args)) {
+				continue;
+			}
+			DescriptiveStatistics stat = measure(benchmark);
+			String line = benchmark.name + "\t" + stat.getN() + "\t"
+					+ String.format("%.3f", stat.getMean()) + "\t"
+					+ String.format("%.3f", stat.getMin()) + "\t"
+					+ String.format("%.3f", stat.getMax()) + "\t"
+					+ String.format("%.3f", stat.getStandardDeviation());
+			System.out.println(line);
+			pw.println(line);
+			pw.flush();
+		}
+		pw.close();
+	}
+
+	private static boolean matches(Benchmark benchmark, String[] filters) {
+		if (filters.length == 0) {
+			return true;
+		}
+		for (String filter : filters) {
+			if (benchmark.name.contains(filter)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static DescriptiveStatistics measure(Benchmark benchmark)
+			throws IOException {
+		benchmark.setUp();
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			consume(benchmark.run());
+		}
+		DescriptiveStatistics stat = new DescriptiveStatistics();
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			long startNanos = System.nanoTime();
+			Object result = benchmark.run();
+			stat.addValue((System.nanoTime() - startNanos) / 1e6);
+			consume(result);
+		}
+		return stat;
+	}
+
+	private static void consume(Object result) {
+		sink ^= System.identityHashCode(result);
+	}
+
+}
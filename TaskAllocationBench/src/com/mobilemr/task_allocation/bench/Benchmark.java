@@ -0,0 +1,21 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.IOException;
+
+public abstract class Benchmark {
+
+	// 측정 대상 하나
+	// setUp() 은 측정 전에 한 번만 호출되고, run() 한 번이 측정 단위
+
+	public final String name;
+
+	protected Benchmark(String name) {
+		this.name = name;
+	}
+
+	public abstract void setUp() throws IOException;
+
+	// JIT 가 측정 대상을 제거하지 못하도록 결과를 반환
+	public abstract Object run();
+
+}
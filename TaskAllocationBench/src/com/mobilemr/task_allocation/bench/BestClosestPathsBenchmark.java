@@ -0,0 +1,67 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+import com.mobilemr.task_allocation.Params;
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.trace.struct.CC;
+
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class BestClosestPathsBenchmark extends Benchmark {
+
+	// Snapshot 마다 고정 Seed 로 뽑은 Src, Dst Node 집합에 대해
+	// createBestClosestPaths() 수행
+
+	private static final int NUM_CASES_PER_SNAPSHOT = 10;
+
+	private final String inputTraceId;
+	private ArrayList<MultihopSnapshot> caseSnapshots = new ArrayList<>();
+	private ArrayList<ArrayList<Integer>> caseSrcNids = new ArrayList<>();
+	private ArrayList<HashMap<Integer, Integer>> caseSrcNid2Tid = new ArrayList<>();
+	private ArrayList<ArrayList<Integer>> caseDstNids = new ArrayList<>();
+
+	public BestClosestPathsBenchmark(String inputTraceId) {
+		super("createBestClosestPaths-" + inputTraceId);
+		this.inputTraceId = inputTraceId;
+	}
+
+	@Override
+	public void setUp() throws IOException {
+		MultihopTrace trace = Fixtures.load(inputTraceId).getFirst();
+		Random random = new Random(Fixtures.SEED);
+		for (CC cc : trace.ccs) {
+			MultihopSnapshot curSnapshot = (MultihopSnapshot) cc;
+			int maxNodesToSelect = (int) (curSnapshot.getNodeCount() * Params.MAX_CLUSTER_UTILIZATION);
+			for (int i = 0; i < NUM_CASES_PER_SNAPSHOT; i++) {
+				ArrayList<Integer> srcNids = curSnapshot.getRandomNids(
+						maxNodesToSelect, random);
+				HashMap<Integer, Integer> srcNid2Tid = new HashMap<>();
+				for (int tid = 0; tid < srcNids.size(); tid++) {
+					srcNid2Tid.put(srcNids.get(tid), tid);
+				}
+				caseSnapshots.add(curSnapshot);
+				caseSrcNids.add(srcNids);
+				caseSrcNid2Tid.add(srcNid2Tid);
+				caseDstNids.add(curSnapshot.getRandomNids(maxNodesToSelect,
+						random));
+			}
+		}
+	}
+
+	@Override
+	public Object run() {
+		int sumConns = 0;
+		for (int i = 0; i < caseSnapshots.size(); i++) {
+			sumConns += Heuristic.createBestClosestPaths(caseSnapshots.get(i),
+					caseSrcNids.get(i), caseSrcNid2Tid.get(i),
+					caseDstNids.get(i)).size();
+		}
+		return sumConns;
+	}
+
+}
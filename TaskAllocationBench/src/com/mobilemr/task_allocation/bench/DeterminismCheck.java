@@ -0,0 +1,99 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import com.mobilemr.task_allocation.Path;
+import com.mobilemr.task_allocation.TraceRunner;
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.task_allocation.heuristic.HeuristicHadoop;
+import com.mobilemr.task_allocation.heuristic.HeuristicMtaD;
+import com.mobilemr.task_allocation.heuristic.HeuristicMtaS;
+import com.mobilemr.task_allocation.platform.JobResult;
+import com.mobilemr.task_allocation.profile.JobProfile;
+import com.mobilemr.task_allocation.util.ByteUtil;
+import com.mobilemr.task_allocation.util.Date;
+import com.mobilemr.task_allocation.util.Logger;
+import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.GeneralPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class DeterminismCheck {
+
+	// 같은 Seed 의 Trial 을 기본 Params (병렬 적합도 평가 포함) 로 여러 번 수행해서
+	// JobResult 가 모두 같은지 확인
+	// TaskAllocationBench 디렉토리에서 실행하며, 하나라도 다르면 IllegalStateException
+
+	public static int NUM_REPEATS = 3;
+
+	private static final List<Class<? extends Heuristic>> HEURISTICS = Arrays
+			.asList(HeuristicHadoop.class, HeuristicMtaS.class,
+					HeuristicMtaD.class);
+
+	public static void main(String[] args) throws IOException {
+		new File(Path.LOGS_DIR_PATH).mkdirs();
+		Logger.create(Path.LOGS_DIR_PATH, Date.CURRENT_DATE_TIME);
+
+		JobProfile jp = Fixtures.createJobProfile();
+		for (String inputTraceId : BenchRunner.INPUT_TRACE_IDS) {
+			GeneralPair<MultihopTrace, HashMap<Integer, Integer>> loaded = Fixtures
+					.load(inputTraceId);
+			MultihopTrace trace = loaded.getFirst();
+			HashMap<Integer, Integer> zb2OrgNid = loaded.getSecond();
+			HistoryStat historyStat = Fixtures.createHistoryStat(trace,
+					zb2OrgNid);
+
+			for (Class<? extends Heuristic> clsHeuristic : HEURISTICS) {
+				byte[] firstBytes = null;
+				String firstCosts = null;
+				for (int i = 0; i < NUM_REPEATS; i++) {
+					JobResult jr = new TraceRunner(trace, jp, clsHeuristic,
+							inputTraceId, historyStat, zb2OrgNid, Fixtures.SEED)
+							.start();
+					// QualityCurves 의 경과 시간은 실행마다 다르므로 Cost 순서만 비교
+					String costs = getQualityCurveCosts(jr);
+					jr.setQualityCurves(null);
+					byte[] bytes = ByteUtil.serialize(jr);
+					if (firstCosts == null) {
+						firstCosts = costs;
+					} else if (!firstCosts.equals(costs)) {
+						throw new IllegalStateException(inputTraceId + " "
+								+ clsHeuristic.getSimpleName() + " " + i
+								+ " QualityCurves");
+					}
+					if (firstBytes == null) {
+						firstBytes = bytes;
+					} else if (!Arrays.equals(firstBytes, bytes)) {
+						throw new IllegalStateException(inputTraceId + " "
+								+ clsHeuristic.getSimpleName() + " " + i);
+					}
+				}
+				System.out.println(inputTraceId + "\t"
+						+ clsHeuristic.getSimpleName() + "\t" + NUM_REPEATS
+						+ " runs identical");
+			}
+		}
+	}
+
+	private static String getQualityCurveCosts(JobResult jr) {
+		ArrayList<ArrayList<GeneralPair<Long, Float>>> qualityCurves = jr
+				.getQualityCurves();
+		if (qualityCurves == null) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder();
+		for (ArrayList<GeneralPair<Long, Float>> qualityCurve : qualityCurves) {
+			for (GeneralPair<Long, Float> record : qualityCurve) {
+				sb.append(record.getSecond()).append(',');
+			}
+			sb.append('|');
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+
+import com.mobilemr.task_allocation.Params;
+import com.mobilemr.task_allocation.heuristic.AllocationContext;
+import com.mobilemr.task_allocation.heuristic.CostAndConn;
+import com.mobilemr.task_allocation.heuristic.FitnessCache;
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.task_allocation.heuristic.HeuristicMtaS;
+import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.platform.TrialContext;
+import com.mobilemr.task_allocation.profile.JobProfile;
+import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.GeneralPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class EvaluateFitnessBenchmark extends Benchmark {
+
+	// 첫 TaskPhase 할당 시점에서 고정 Seed 로 뽑은 Dst Node Subset 들의 적합도 평가
+	// 매번 실제 Simulation 을 수행하도록 적합도 Cache 는 사용하지 않음
+
+	private static final int NUM_SUBSETS = 50;
+
+	public static class FitnessProbe extends HeuristicMtaS {
+
+		public FitnessProbe() {
+			fitnessCache = new FitnessCache(0);
+		}
+
+		public CostAndConn evaluate(AllocationContext ac,
+				ArrayList<Integer> dstNids) {
+			return evaluateFitness(this, ac, dstNids);
+		}
+
+	}
+
+	private final String inputTraceId;
+	private FitnessProbe h;
+	private AllocationContext ac;
+	private ArrayList<ArrayList<Integer>> dstNidSubsets = new ArrayList<>();
+
+	public EvaluateFitnessBenchmark(String inputTraceId) {
+		super("evaluateFitness-" + inputTraceId);
+		this.inputTraceId = inputTraceId;
+	}
+
+	@Override
+	public void setUp() throws IOException {
+		GeneralPair<MultihopTrace, HashMap<Integer, Integer>> loaded = Fixtures
+				.load(inputTraceId);
+		MultihopTrace trace = loaded.getFirst();
+		HashMap<Integer, Integer> zb2OrgNid = loaded.getSecond();
+		HistoryStat historyStat = Fixtures.createHistoryStat(trace, zb2OrgNid);
+		JobProfile jp = Fixtures.createJobProfile();
+
+		TrialContext ctx = new TrialContext(Fixtures.SEED);
+		h = (FitnessProbe) Heuristic.of(FitnessProbe.class, ctx);
+
+		// JobTracker 와 같이 처음 Snapshot 의 모든 Node 에 Input 분배
+		MultihopSnapshot initSnapshot = trace.getClosestSnapshot(0);
+		ArrayList<Integer> initNids = initSnapshot.getNids();
+		Collections.shuffle(initNids, new Random(trace.id));
+		double inputSize_Per_Task = jp.inputSize / initNids.size();
+		HashMap<Integer, Task> srcTid2Task = new HashMap<>();
+		ArrayList<Integer> srcNids = new ArrayList<>();
+		HashMap<Integer, Integer> srcNid2Tid = new HashMap<>();
+		ArrayList<Integer> srcTids = new ArrayList<>();
+		for (int nid : initNids) {
+			int tid = ctx.generateTid();
+			srcTid2Task.put(tid, new Task(tid, nid, inputSize_Per_Task));
+			srcNids.add(nid);
+			srcNid2Tid.put(nid, tid);
+			srcTids.add(tid);
+		}
+		ac = new AllocationContext(jp, jp.tpps.get(0), jp.tpps.get(1), trace,
+				0, srcTid2Task, srcNids, srcNid2Tid, srcTids, historyStat,
+				zb2OrgNid);
+
+		// fitness() 와 같이 정렬된 Subset 사용
+		Random random = new Random(Fixtures.SEED);
+		int maxNodesToSelect = (int) (initSnapshot.getNodeCount() * Params.MAX_CLUSTER_UTILIZATION);
+		for (int i = 0; i < NUM_SUBSETS; i++) {
+			ArrayList<Integer> dstNids = initSnapshot.getRandomNids(
+					maxNodesToSelect, random);
+			Collections.sort(dstNids);
+			dstNidSubsets.add(dstNids);
+		}
+	}
+
+	@Override
+	public Object run() {
+		double sumCost = 0;
+		for (ArrayList<Integer> dstNids : dstNidSubsets) {
+			sumCost += h.evaluate(ac, dstNids).getCost();
+		}
+		return sumCost;
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import com.mobilemr.task_allocation.FaultloadCompiler;
+import com.mobilemr.task_allocation.profile.JobProfile;
+import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.GeneralPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class Fixtures {
+
+	// 측정 결과를 시간에 따라 비교할 수 있도록 고정된 Trace 와 입력만 사용
+	// fixtures/<inputTraceId> 에 Faultload 와 같은 형식의 Trace 와 zb2OrgNid 파일 한 쌍을 둠
+
+	public static final String FIXTURES_DIR_PATH = "fixtures";
+
+	public static final long SEED = 0;
+
+	// History Stat 은 원본 Faultload 전체를 필요로 하므로 고정 Seed 로 생성
+	private static final int HISTORY_TIME_INTERVAL = 60;
+	private static final int HISTORY_DURATION = 24 * 60 * 60;
+	private static final float MIN_FAILURE_RATE = 0.0001F;
+	private static final float MAX_FAILURE_RATE = 0.001F;
+
+	public static GeneralPair<MultihopTrace, HashMap<Integer, Integer>> load(
+			String inputTraceId) throws IOException {
+		// 매번 Text 를 Parsing 해서 Benchmark 끼리 Snapshot 을 공유하지 않음
+		File fixtureDir = new File(FIXTURES_DIR_PATH + File.separator
+				+ inputTraceId);
+		for (File traceFile : fixtureDir.listFiles()) {
+			String traceFileName = traceFile.getName();
+			if (traceFileName.contains("#") && !traceFileName.endsWith(".ser")) {
+				File traceZb2OrgNidFile = new File(fixtureDir, traceFileName
+						+ "-zb2OrgNid.ser");
+				return FaultloadCompiler.parse(traceFile, traceZb2OrgNidFile);
+			}
+		}
+		throw new IllegalArgumentException(inputTraceId);
+	}
+
+	public static HistoryStat createHistoryStat(MultihopTrace trace,
+			HashMap<Integer, Integer> zb2OrgNid) {
+		// Trace 가 끝난 뒤에도 작업이 진행될 수 있으므로 충분한 시간 범위를 가짐
+		int initTimestamp = trace.getInitCC().getTimestamp();
+		int lastTimestamp = initTimestamp + HISTORY_DURATION;
+		HistoryStat historyStat = new HistoryStat(initTimestamp,
+				lastTimestamp, HISTORY_TIME_INTERVAL);
+
+		Random random = new Random(SEED);
+		int numFailureRates = HISTORY_DURATION / HISTORY_TIME_INTERVAL;
+		for (int orgNid : new TreeMap<>(zb2OrgNid).values()) {
+			float[] failureRates = new float[numFailureRates];
+			for (int i = 0; i < numFailureRates; i++) {
+				failureRates[i] = MIN_FAILURE_RATE
+						+ random.nextFloat()
+						* (MAX_FAILURE_RATE - MIN_FAILURE_RATE);
+			}
+			historyStat.addNid2FailureRates(orgNid, failureRates);
+		}
+		return historyStat;
+	}
+
+	public static JobProfile createJobProfile() {
+		// Main 의 SIFT 설정
+		JobProfile sift = JobProfile.of("SIFT", 20);
+		sift.addMap(1.5F, 0.1F);
+		sift.addReduce(1, 4.2F);
+		return sift;
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.IOException;
+
+import com.mobilemr.trace.struct.CC;
+
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class MarkReadyBenchmark extends Benchmark {
+
+	// Trace 의 모든 Snapshot 에 대해 직전 Snapshot 과 함께 markReady() 수행
+	// markReady() 는 같은 Snapshot 에 다시 호출해도 같은 결과를 가지므로 재사용
+
+	private final String inputTraceId;
+	private MultihopTrace trace;
+
+	public MarkReadyBenchmark(String inputTraceId) {
+		super("markReady-" + inputTraceId);
+		this.inputTraceId = inputTraceId;
+	}
+
+	@Override
+	public void setUp() throws IOException {
+		trace = Fixtures.load(inputTraceId).getFirst();
+	}
+
+	@Override
+	public Object run() {
+		MultihopSnapshot prevSnapshot = null;
+		for (CC cc : trace.ccs) {
+			MultihopSnapshot curSnapshot = (MultihopSnapshot) cc;
+			curSnapshot.markReady(prevSnapshot);
+			prevSnapshot = curSnapshot;
+		}
+		return prevSnapshot;
+	}
+
+}
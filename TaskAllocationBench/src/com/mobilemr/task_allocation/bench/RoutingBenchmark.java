@@ -0,0 +1,59 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.mobilemr.trace.struct.CC;
+
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+import drcl.inet.protocol.aodv.struct.RoutableMultihopSnapshot;
+
+public class RoutingBenchmark extends Benchmark {
+
+	// Snapshot 마다 updateTopology() 후 고정 Seed 로 Packet 을 넣고
+	// 정해진 단위시간만큼 sendByUnitTime() 수행
+
+	private static final int NUM_FLOWS_PER_SNAPSHOT = 20;
+	private static final double DATA_SIZE_PER_FLOW = 5;
+	private static final int UNIT_TIMES_PER_SNAPSHOT = 10;
+
+	private final String inputTraceId;
+	private MultihopTrace trace;
+
+	public RoutingBenchmark(String inputTraceId) {
+		super("routing-" + inputTraceId);
+		this.inputTraceId = inputTraceId;
+	}
+
+	@Override
+	public void setUp() throws IOException {
+		trace = Fixtures.load(inputTraceId).getFirst();
+	}
+
+	@Override
+	public Object run() {
+		Random random = new Random(Fixtures.SEED);
+		RoutableMultihopSnapshot curRoutableSnapshot = trace
+				.getClosestRoutableMultihopSnapshot(0);
+		double sumThroughput = 0;
+		for (CC cc : trace.ccs) {
+			MultihopSnapshot curSnapshot = (MultihopSnapshot) cc;
+			curRoutableSnapshot.updateTopology(curSnapshot);
+
+			ArrayList<Integer> curNids = curSnapshot.getNids();
+			for (int i = 0; i < NUM_FLOWS_PER_SNAPSHOT; i++) {
+				int srcNid = curNids.get(random.nextInt(curNids.size()));
+				int dstNid = curNids.get(random.nextInt(curNids.size()));
+				curRoutableSnapshot.queuePackets(srcNid, dstNid, 0, i,
+						DATA_SIZE_PER_FLOW);
+			}
+			for (int t = 0; t < UNIT_TIMES_PER_SNAPSHOT; t++) {
+				sumThroughput += curRoutableSnapshot.sendByUnitTime();
+			}
+		}
+		return sumThroughput;
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.mobilemr.task_allocation.bench;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import com.mobilemr.task_allocation.TraceRunner;
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.task_allocation.profile.JobProfile;
+import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.GeneralPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class TraceRunnerBenchmark extends Benchmark {
+
+	// 고정 Seed 의 Trial 하나를 처음부터 끝까지 수행
+
+	private final String inputTraceId;
+	private final Class<? extends Heuristic> clsHeuristic;
+	private MultihopTrace trace;
+	private HashMap<Integer, Integer> zb2OrgNid;
+	private HistoryStat historyStat;
+	private JobProfile jp;
+
+	public TraceRunnerBenchmark(String inputTraceId,
+			Class<? extends Heuristic> clsHeuristic) {
+		super("TraceRunner-" + clsHeuristic.getSimpleName() + "-"
+				+ inputTraceId);
+		this.inputTraceId = inputTraceId;
+		this.clsHeuristic = clsHeuristic;
+	}
+
+	@Override
+	public void setUp() throws IOException {
+		GeneralPair<MultihopTrace, HashMap<Integer, Integer>> loaded = Fixtures
+				.load(inputTraceId);
+		trace = loaded.getFirst();
+		zb2OrgNid = loaded.getSecond();
+		historyStat = Fixtures.createHistoryStat(trace, zb2OrgNid);
+		jp = Fixtures.createJobProfile();
+	}
+
+	@Override
+	public Object run() {
+		return new TraceRunner(trace, jp, clsHeuristic, inputTraceId,
+				historyStat, zb2OrgNid, Fixtures.SEED).start();
+	}
+
+}
@@ -15,6 +15,7 @@ import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
 import drcl.inet.protocol.aodv.struct.MultihopTrace;
 import drcl.inet.protocol.aodv.struct.RoutableMultihopSnapshot;
 import drcl.inet.protocol.aodv.struct.RoutableNode;
+import drcl.inet.protocol.aodv.struct.SnapshotCursor;
 
 public class EstTraceRunner {
 
@@ -49,16 +50,20 @@ public class EstTraceRunner {
 		HashMap<Integer, Float> dstNid2CommDuration = new HashMap<>();
 
 		// JobTracker 생성
-		EstJobTracker jt = new EstJobTracker(curTpp, nextTpp, srcTid2Task, conns, realModeTime);
+		// 평가 순서에 상관없이 같은 추정결과를 얻기 위해 Context 를 분기해서 사용
+		EstJobTracker jt = new EstJobTracker(h.getContext().fork(), curTpp, nextTpp, srcTid2Task, conns,
+				realModeTime);
 
 		// 초기 RoutableSnapshot 생성
 		RoutableMultihopSnapshot curRoutableSnapshot = trace.getClosestRoutableMultihopSnapshot(estModeTime);
+		SnapshotCursor snapshotCursor = trace.newCursor();
 
 		// TaskPhase 가 끝날때까지 시간 증가
 		while (!jt.isCurTaskPhaseFinished(curRoutableSnapshot)) {
 			// 실제 또는 추정시간으로 NewRoutableMultihopSnapshot Topology 정보 갱신
-			MultihopSnapshot curSnapshot = h instanceof HeuristicMtaS ? trace.getClosestSnapshot(estModeTime)
-					: trace.getClosestSnapshot(realModeTime);
+			boolean topologyChanges = h instanceof HeuristicMtaS;
+			MultihopSnapshot curSnapshot = topologyChanges ? snapshotCursor.seek(estModeTime)
+					: snapshotCursor.seek(realModeTime);
 			ArrayList<Integer> departedNids = curRoutableSnapshot.updateTopology(curSnapshot);
 
 			// JobTracker 에 Topology 갱신정보 반영
@@ -71,11 +76,23 @@ public class EstTraceRunner {
 						mapContention, estModeTime);
 			}
 
-			// 현재 Job 의 TaskPhase 에 대해 단위시간만큼 작업 + 전송 수행
-			jt.updateByUnitTime(curRoutableSnapshot, estModeTime);
-
-			// 추정시간 갱신
-			estModeTime++;
+			// 다음 Topology 변화 전까지는 Task 이탈이 없으므로 TaskPhase 가 끝날때까지 작업 + 전송만 진행
+			// 실제시간 기준이면 Topology 가 바뀌지 않음
+			// 처리만 하는 동안은 다음 Topology 변화나 처리 완료 중 먼저 오는 시각으로 바로 이동
+			int nextChangeTime = topologyChanges ? snapshotCursor.getNextChangeTime() : Integer.MAX_VALUE;
+			do {
+				int numTicks = jt.advanceProcessing(curRoutableSnapshot, Math.max(1, nextChangeTime - estModeTime));
+				if (numTicks > 0) {
+					estModeTime += numTicks;
+					continue;
+				}
+
+				// 현재 Job 의 TaskPhase 에 대해 단위시간만큼 작업 + 전송 수행
+				jt.updateByUnitTime(curRoutableSnapshot, estModeTime);
+
+				// 추정시간 갱신
+				estModeTime++;
+			} while (estModeTime < nextChangeTime && !jt.isCurTaskPhaseFinished(curRoutableSnapshot));
 		}
 
 		// Dst Node 통신시간 기록
@@ -1,13 +1,13 @@
 package com.mobilemr.task_allocation;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.math3.stat.StatRecords;
 import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
 
@@ -17,13 +17,13 @@ import com.mobilemr.task_allocation.heuristic.HeuristicMtaS;
 import com.mobilemr.task_allocation.heuristic.HeuristicPurlieus;
 import com.mobilemr.task_allocation.platform.JobResult;
 import com.mobilemr.task_allocation.profile.JobProfile;
-import com.mobilemr.task_allocation.util.ByteUtil;
+import com.mobilemr.task_allocation.util.Common;
 import com.mobilemr.task_allocation.util.EvalRecord;
 import com.mobilemr.task_allocation.util.Logger;
 import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.GeneralPair;
 import com.mobilemr.trace.struct.TraceStat;
 
-import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
 import drcl.inet.protocol.aodv.struct.MultihopTrace;
 
 public class Evaluator {
@@ -40,10 +40,22 @@ public class Evaluator {
 	private HashMap<String, JobResult> evaluatedJobResult_H1 = new HashMap<String, JobResult>();
 	private HashMap<String, JobResult> evaluatedJobResult_H2 = new HashMap<String, JobResult>();
 
+	// 완료된 Trial 결과를 바로 파일에 기록하고, 재실행 시 완료된 Trial 은 건너뜀
+	private ResultSink resultSink;
+
+	public void close() {
+		if (resultSink != null) {
+			resultSink.close();
+		}
+	}
+
 	public void evaluate(String inputTraceId, HashMap<String, TraceStat> globalTraceId2Stat,
 			HashMap<String, HistoryStat> inputTraceId2HistoryStat, JobProfile jp)
 			throws NumberFormatException, IOException {
 		long evaluateStart = System.currentTimeMillis();
+		if (resultSink == null) {
+			resultSink = new ResultSink(Path.RESULTS_DIR_PATH);
+		}
 
 		if (EVALUATE_ONLY_PROPOSED) {
 			if (evalId == 2) {
@@ -88,13 +100,17 @@ public class Evaluator {
 				continue;
 			}
 		}
-		StatRecords statRecords = new StatRecords(EvalRecord.class);
+		// Trace x Heuristic x Trial 단위로 나눠서 Executor 에 제출
+		ArrayList<PendingTrace> pendingTraces = new ArrayList<>();
 		for (int i = 0; i < traceFiles.size(); i += 2) {
 			// numTraces++;
 
 			File traceFile = traceFiles.get(i);
 			File traceZb2OrgNidFile = traceFiles.get(i + 1);
 			String globalTraceId = traceFile.getName();
+			if (!ResultSink.isInShard(globalTraceId)) {
+				continue;
+			}
 			// int idx1 = globalTraceId.indexOf("-");
 			// globalTraceId = globalTraceId.substring(idx1 + 1);
 			// int idx2 = globalTraceId.indexOf("-");
@@ -102,61 +118,47 @@ public class Evaluator {
 			System.out.println(globalTraceId);
 			Logger.println(globalTraceId);
 
-			TraceStat traceStat = globalTraceId2Stat.get(globalTraceId);
-			int idxDelim = globalTraceId.indexOf("#");
-			// String inputTraceId = globalTraceId.substring(0, idxDelim);
-			String localTraceIdx = globalTraceId.substring(idxDelim + 1);
 			HistoryStat historyStat = inputTraceId2HistoryStat.get(inputTraceId);
 
-			BufferedReader br = new BufferedReader(new FileReader(traceFile));
-			int initTimestamp = Integer.parseInt(br.readLine());
-
-			MultihopSnapshot curSnapshot = new MultihopSnapshot(initTimestamp);
-			String strOfInitValues = br.readLine();
-			String[] initValueStrs = strOfInitValues.split(",");
-			for (String initValueStr : initValueStrs) {
-				String[] edgePairStrs = initValueStr.split("-");
-				int nid1 = Integer.parseInt(edgePairStrs[0]);
-				int nid2 = Integer.parseInt(edgePairStrs[1]);
-				curSnapshot.addEdge(nid1, nid2);
-			}
-			MultihopTrace trace = new MultihopTrace(curSnapshot);
-
-			String line;
-			while ((line = br.readLine()) != null) {
-				String[] tmp = line.split(" ");
-				int curTimestamp = initTimestamp + Integer.parseInt(tmp[0]);
-				curSnapshot = (MultihopSnapshot) curSnapshot.clone();
-				curSnapshot.setTimestamp(curTimestamp);
-				String type = tmp[1];
-
-				if (type.equals("A") || type.equals("D")) {
-					String strOfCurValues = tmp[2];
-					String[] curValueStrs = strOfCurValues.split(",");
-					for (String curValueStr : curValueStrs) {
-						int idxOfDelim = curValueStr.indexOf("-");
-						int nid1 = Integer.parseInt(curValueStr.substring(0, idxOfDelim));
-						int nid2 = Integer.parseInt(curValueStr.substring(idxOfDelim + 1));
-						if (type.equals("A")) {
-							curSnapshot.addEdge(nid1, nid2);
-						} else if (type.equals("D")) {
-							curSnapshot.removeEdge(nid1, nid2);
-						}
+			// 모든 Trial 이 이미 완료된 Trace 는 Load 도 생략
+			CompletableFuture<GeneralPair<MultihopTrace, HashMap<Integer, Integer>>> loadedTrace;
+			if (isTraceCompleted(jp, inputTraceId, globalTraceId)) {
+				loadedTrace = CompletableFuture.completedFuture(null);
+			} else {
+				loadedTrace = submit(() -> {
+					try {
+						return TraceRepository.getTrace(inputTraceId, traceFile, traceZb2OrgNidFile);
+					} catch (IOException e) {
+						throw new RuntimeException(e);
 					}
-					trace.add(curSnapshot);
-					// Logger.println(curCC);
-				}
+				});
 			}
-			br.close();
 
-			byte[] zb2OrgNidBytes = FileUtils.readFileToByteArray(traceZb2OrgNidFile);
-			@SuppressWarnings("unchecked")
-			HashMap<Integer, Integer> zb2OrgNid = (HashMap<Integer, Integer>) ByteUtil.deserialize(zb2OrgNidBytes);
+			PendingTrace pendingTrace = new PendingTrace(globalTraceId);
+			pendingTrace.jr_H0 = evaluateTraceAsync(loadedTrace, jp, HEURISTIC_0, inputTraceId, globalTraceId,
+					historyStat, Params.NUM_TRIALS, resultSink);
+			pendingTrace.jr_H1 = evaluateTraceAsync(loadedTrace, jp, HEURISTIC_1, inputTraceId, globalTraceId,
+					historyStat, Params.NUM_TRIALS, resultSink);
+			pendingTrace.jr_H2 = evaluateTraceAsync(loadedTrace, jp, HEURISTIC_2, inputTraceId, globalTraceId,
+					historyStat, Params.NUM_TRIALS, resultSink);
+			pendingTraces.add(pendingTrace);
+		}
 
-			JobResult jr_H0 = null;
-			if (HEURISTIC_0 != null) {
-				jr_H0 = evaluateTrace(trace, jp, HEURISTIC_0, inputTraceId, historyStat, zb2OrgNid, Params.NUM_TRIALS);
+		// 실행 순서와 상관없이 Trace 순서대로 결과 취합
+		StatRecords statRecords = new StatRecords(EvalRecord.class);
+		ArrayList<JobResult> jrs_H0 = new ArrayList<>();
+		ArrayList<JobResult> jrs_H1 = new ArrayList<>();
+		ArrayList<JobResult> jrs_H2 = new ArrayList<>();
+		for (PendingTrace pendingTrace : pendingTraces) {
+			String globalTraceId = pendingTrace.globalTraceId;
+
+			TraceStat traceStat = globalTraceId2Stat.get(globalTraceId);
+			int idxDelim = globalTraceId.indexOf("#");
+			// String inputTraceId = globalTraceId.substring(0, idxDelim);
+			String localTraceIdx = globalTraceId.substring(idxDelim + 1);
 
+			JobResult jr_H0 = pendingTrace.jr_H0.join();
+			if (HEURISTIC_0 != null) {
 				if (EVALUATE_ONLY_PROPOSED) {
 					evaluatedJobResult_H0.put(globalTraceId, jr_H0);
 				}
@@ -172,10 +174,8 @@ public class Evaluator {
 			// cntSucceeded_H0++;
 			// }
 
-			JobResult jr_H1 = null;
+			JobResult jr_H1 = pendingTrace.jr_H1.join();
 			if (HEURISTIC_1 != null) {
-				jr_H1 = evaluateTrace(trace, jp, HEURISTIC_1, inputTraceId, historyStat, zb2OrgNid, Params.NUM_TRIALS);
-
 				if (EVALUATE_ONLY_PROPOSED) {
 					evaluatedJobResult_H1.put(globalTraceId, jr_H1);
 				}
@@ -191,10 +191,8 @@ public class Evaluator {
 			// cntSucceeded_H1++;
 			// }
 
-			JobResult jr_H2;
+			JobResult jr_H2 = pendingTrace.jr_H2.join();
 			if (HEURISTIC_2 != null) {
-				jr_H2 = evaluateTrace(trace, jp, HEURISTIC_2, inputTraceId, historyStat, zb2OrgNid, Params.NUM_TRIALS);
-
 				if (EVALUATE_ONLY_PROPOSED) {
 					evaluatedJobResult_H2.put(globalTraceId, jr_H2);
 				}
@@ -270,13 +268,20 @@ public class Evaluator {
 					jr_H2 //
 			);
 			statRecords.add(eval);
+			jrs_H0.add(jr_H0);
+			jrs_H1.add(jr_H1);
+			jrs_H2.add(jr_H2);
 		}
 		// pwEval.close();
+		resultSink.flush();
 
 		Logger.println("evaluate() duration : " + (System.currentTimeMillis() - evaluateStart));
 		Logger.println();
 		System.out.println(jp.name + " on " + inputTraceId);
 		statRecords.digest();
+		printSearchCounts(HEURISTIC_0, jrs_H0);
+		printSearchCounts(HEURISTIC_1, jrs_H1);
+		printSearchCounts(HEURISTIC_2, jrs_H2);
 
 		// float avgNormGcd = sumNormGcd / numTraces;
 		// String avgSpeedup_H1_Str = (cntRelative_H1 > 0) ? sumSpeedup_H1
@@ -302,15 +307,114 @@ public class Evaluator {
 		evalId++;
 	}
 
-	private static JobResult evaluateTrace(MultihopTrace trace, JobProfile jp, Class<? extends Heuristic> clsHeuristic,
-			String inputTraceId, HistoryStat historyStat, HashMap<Integer, Integer> zb2OrgNid, int numTrials) {
+	private static void printSearchCounts(Class<? extends Heuristic> clsHeuristic, ArrayList<JobResult> jrs) {
+		// 성공한 Trace 의 실제 적합도 평가 수와 Cache Hit 수 평균 (Population 크기 단위)
+		if (clsHeuristic == null) {
+			return;
+		}
+		double sumEvals = 0;
+		double sumCacheHits = 0;
+		int cntSucceeded = 0;
+		for (JobResult jr : jrs) {
+			if (jr.succeeded() && jr.getSumEvals() != null) {
+				sumEvals += jr.getSumEvals();
+				if (jr.getSumCacheHits() != null) {
+					sumCacheHits += jr.getSumCacheHits();
+				}
+				cntSucceeded++;
+			}
+		}
+		if (cntSucceeded == 0) {
+			return;
+		}
+		String line = clsHeuristic.getSimpleName() + " - AvgSumEvals : " + sumEvals / cntSucceeded
+				+ " | AvgSumCacheHits : " + sumCacheHits / cntSucceeded;
+		System.out.println(line);
+		Logger.println(line);
+	}
+
+	private static class PendingTrace {
+
+		private String globalTraceId;
+		private CompletableFuture<JobResult> jr_H0;
+		private CompletableFuture<JobResult> jr_H1;
+		private CompletableFuture<JobResult> jr_H2;
+
+		private PendingTrace(String globalTraceId) {
+			this.globalTraceId = globalTraceId;
+		}
+
+	}
+
+	private static <T> CompletableFuture<T> submit(Supplier<T> task) {
+		Executor executor = Params.EVALUATION_EXECUTOR;
+		if (executor == null) {
+			// Executor 가 지정되지 않은 경우 호출한 Thread 에서 바로 순차 실행
+			return CompletableFuture.completedFuture(task.get());
+		}
+		return CompletableFuture.supplyAsync(task, executor);
+	}
+
+	private boolean isTraceCompleted(JobProfile jp, String inputTraceId, String globalTraceId) {
+		Class<?>[] clsHeuristics = { HEURISTIC_0, HEURISTIC_1, HEURISTIC_2 };
+		for (Class<?> clsHeuristic : clsHeuristics) {
+			if (clsHeuristic == null) {
+				continue;
+			}
+			for (int j = 0; j < Params.NUM_TRIALS; j++) {
+				String key = ResultSink.keyOf(jp.name, inputTraceId, globalTraceId, clsHeuristic.getSimpleName(), j);
+				if (!resultSink.contains(key)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static CompletableFuture<JobResult> evaluateTraceAsync(
+			CompletableFuture<GeneralPair<MultihopTrace, HashMap<Integer, Integer>>> loadedTrace, JobProfile jp,
+			Class<? extends Heuristic> clsHeuristic, String inputTraceId, String globalTraceId,
+			HistoryStat historyStat, int numTrials, ResultSink resultSink) {
+		if (clsHeuristic == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return loadedTrace.thenCompose(loaded -> {
+			// Trial 마다 독립된 작업으로 제출
+			// 이전 실행에서 완료된 Trial 은 기록된 결과를 그대로 사용
+			ArrayList<CompletableFuture<JobResult>> trialFutures = new ArrayList<>();
+			for (int j = 0; j < numTrials; j++) {
+				long seed = Common.seedOf(globalTraceId, j);
+				String key = ResultSink.keyOf(jp.name, inputTraceId, globalTraceId, clsHeuristic.getSimpleName(), j);
+				JobResult completedJr = resultSink.get(key);
+				if (completedJr != null) {
+					trialFutures.add(CompletableFuture.completedFuture(completedJr));
+					continue;
+				}
+				trialFutures.add(submit(() -> {
+					JobResult jr = new TraceRunner(loaded.getFirst(), jp, clsHeuristic, inputTraceId, historyStat,
+							loaded.getSecond(), seed).start();
+					resultSink.append(key, jr);
+					return jr;
+				}));
+			}
+
+			// 모든 Trial 이 끝나면 Trial 순서대로 취합
+			return CompletableFuture.allOf(trialFutures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+				ArrayList<JobResult> trialJrs = new ArrayList<>();
+				trialFutures.forEach(trialFuture -> trialJrs.add(trialFuture.join()));
+				return summarizeTrials(trialJrs, numTrials);
+			});
+		});
+	}
+
+	private static JobResult summarizeTrials(ArrayList<JobResult> trialJrs, int numTrials) {
 		StandardDeviation stdev = new StandardDeviation();
 
 		ArrayList<JobResult> succeededJrs = new ArrayList<JobResult>();
 		float sumSuccessTime = 0;
 		JobResult failedJr = null;
-		for (int j = 0; j < numTrials; j++) {
-			JobResult curJr = new TraceRunner(trace, jp, clsHeuristic, inputTraceId, historyStat, zb2OrgNid).start();
+		for (JobResult curJr : trialJrs) {
 			if (curJr.succeeded()) {
 				succeededJrs.add(curJr);
 				sumSuccessTime += curJr.getSt();
@@ -0,0 +1,212 @@
+package com.mobilemr.task_allocation;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.apache.commons.io.FileUtils;
+
+import com.mobilemr.task_allocation.util.ByteUtil;
+import com.mobilemr.trace.builder.ContactEvent;
+import com.mobilemr.trace.builder.ContactEventReader;
+import com.mobilemr.trace.builder.ContactLogFormat;
+import com.mobilemr.trace.builder.HistoryStatAccumulator;
+import com.mobilemr.trace.builder.TraceRecorder;
+import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.TraceStat;
+
+public class FaultloadBuilder {
+
+	// Raw Contact Log 를 한 번만 읽으면서 Connected Component Trace 를 잘라
+	// Path.FAULTLOAD_DIR_PATH/inputTraceId 에 Trace 파일, zb2OrgNid, TraceStat, HistoryStat 을 생성
+	// 현재 접촉 Graph, 기록 중인 Trace, Node 별 HistoryStat 누적치만 기억하므로
+	// Memory 는 Log 길이가 아니라 Node 수와 동시 접촉 수에 비례
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.out.println("Usage : FaultloadBuilder inputTraceId "
+					+ "HAGGLE|PMTR|ROLLERNET contactLogPath");
+			return;
+		}
+		String inputTraceId = args[0];
+		ContactLogFormat format = ContactLogFormat.valueOf(args[1]);
+		long buildStart = System.currentTimeMillis();
+		int numTraces;
+		try (ContactEventReader reader = new ContactEventReader(
+				new BufferedReader(new FileReader(args[2])), format,
+				Params.FAULTLOAD_BEACON_TIMEOUT)) {
+			numTraces = build(inputTraceId, reader);
+		}
+		System.out.println(inputTraceId + " : " + numTraces
+				+ " traces built in "
+				+ (System.currentTimeMillis() - buildStart) + " ms");
+	}
+
+	public static int build(String inputTraceId, ContactEventReader reader)
+			throws IOException {
+		File tracesDir = new File(Path.FAULTLOAD_DIR_PATH + File.separator
+				+ inputTraceId);
+		tracesDir.mkdirs();
+
+		// 전체 접촉 Graph (원래 Node ID)
+		HashMap<Integer, HashSet<Integer>> nid2Neighbors = new HashMap<>();
+		HistoryStatAccumulator historyStatAccumulator = null;
+		ArrayList<TraceRecorder> openRecorders = new ArrayList<>();
+		HashMap<String, TraceStat> traceId2Stat = new HashMap<>();
+		int nextLocalTraceIdx = 0;
+		int nextCutTimestamp = Integer.MIN_VALUE;
+		int prevTimestamp = Integer.MIN_VALUE;
+
+		ContactEvent event;
+		while ((event = reader.next()) != null) {
+			if (historyStatAccumulator == null) {
+				historyStatAccumulator = new HistoryStatAccumulator(
+						event.timestamp, Params.FAULTLOAD_HISTORY_TIME_INTERVAL);
+				prevTimestamp = event.timestamp;
+			}
+
+			if (event.timestamp > prevTimestamp) {
+				// prevTimestamp 의 Graph 가 완성되었으므로 새 Trace 시작 여부 판단
+				if (prevTimestamp >= nextCutTimestamp
+						&& openRecorders.size() < Params.FAULTLOAD_MAX_OPEN_TRACES) {
+					ArrayList<Long> edgeKeys = findLargestFreeComponent(
+							nid2Neighbors, openRecorders);
+					if (edgeKeys != null) {
+						String traceId = inputTraceId + "#" + nextLocalTraceIdx;
+						openRecorders.add(new TraceRecorder(new File(tracesDir,
+								traceId), new File(tracesDir, traceId
+								+ "-zb2OrgNid.ser"), nextLocalTraceIdx,
+								prevTimestamp, prevTimestamp
+										+ Params.FAULTLOAD_TRACE_LENGTH,
+								Params.FAULTLOAD_MIN_GROUP_SIZE, edgeKeys));
+						nextLocalTraceIdx++;
+						nextCutTimestamp = prevTimestamp
+								+ Params.FAULTLOAD_CUT_INTERVAL;
+					}
+				}
+				prevTimestamp = event.timestamp;
+			}
+
+			historyStatAccumulator.add(event);
+			if (event.up) {
+				nid2Neighbors.computeIfAbsent(event.nid1, k -> new HashSet<>())
+						.add(event.nid2);
+				nid2Neighbors.computeIfAbsent(event.nid2, k -> new HashSet<>())
+						.add(event.nid1);
+			} else {
+				removeNeighbor(nid2Neighbors, event.nid1, event.nid2);
+				removeNeighbor(nid2Neighbors, event.nid2, event.nid1);
+			}
+
+			Iterator<TraceRecorder> it = openRecorders.iterator();
+			while (it.hasNext()) {
+				TraceRecorder recorder = it.next();
+				if (recorder.advanceTo(event.timestamp)) {
+					recorder.add(event);
+				} else {
+					putIfLongEnough(tracesDir, inputTraceId, recorder,
+							traceId2Stat);
+					it.remove();
+				}
+			}
+		}
+		if (historyStatAccumulator == null) {
+			throw new IllegalStateException("Empty contact log");
+		}
+
+		// Log 가 끝나면 기록 중인 Trace 도 마무리
+		for (TraceRecorder recorder : openRecorders) {
+			recorder.finish(prevTimestamp);
+			putIfLongEnough(tracesDir, inputTraceId, recorder, traceId2Stat);
+		}
+
+		HistoryStat historyStat = historyStatAccumulator.build();
+		FileUtils.writeByteArrayToFile(new File(tracesDir,
+				Path.TRACE_ID_2_STAT_SER_FILE_NAME), ByteUtil
+				.serialize(traceId2Stat));
+		FileUtils.writeByteArrayToFile(new File(tracesDir,
+				Path.HISTORY_STAT_SER_FILE_NAME), ByteUtil
+				.serialize(historyStat));
+		return traceId2Stat.size();
+	}
+
+	private static void putIfLongEnough(File tracesDir, String inputTraceId,
+			TraceRecorder recorder, HashMap<String, TraceStat> traceId2Stat) {
+		// 너무 짧게 끝난 Trace 는 파일까지 삭제
+		TraceStat traceStat = recorder.getTraceStat();
+		String traceId = inputTraceId + "#" + traceStat.localTraceIdx;
+		if (traceStat.length >= Params.FAULTLOAD_MIN_TRACE_LENGTH) {
+			traceId2Stat.put(traceId, traceStat);
+		} else {
+			new File(tracesDir, traceId).delete();
+			new File(tracesDir, traceId + "-zb2OrgNid.ser").delete();
+		}
+	}
+
+	private static ArrayList<Long> findLargestFreeComponent(
+			HashMap<Integer, HashSet<Integer>> nid2Neighbors,
+			ArrayList<TraceRecorder> openRecorders) {
+		// 기록 중인 Trace 와 겹치지 않는 가장 큰 Connected Component 의 Edge 목록
+		// Params.FAULTLOAD_MIN_GROUP_SIZE 보다 작으면 null
+		HashSet<Integer> visitedNids = new HashSet<>();
+		ArrayList<Integer> largestNids = null;
+		for (int srcNid : nid2Neighbors.keySet()) {
+			if (visitedNids.contains(srcNid)) {
+				continue;
+			}
+			ArrayList<Integer> componentNids = new ArrayList<>();
+			boolean free = true;
+			ArrayDeque<Integer> queue = new ArrayDeque<>();
+			visitedNids.add(srcNid);
+			queue.add(srcNid);
+			while (!queue.isEmpty()) {
+				int nid = queue.poll();
+				componentNids.add(nid);
+				for (TraceRecorder recorder : openRecorders) {
+					free &= !recorder.containsOrgNid(nid);
+				}
+				for (int neighborNid : nid2Neighbors.get(nid)) {
+					if (visitedNids.add(neighborNid)) {
+						queue.add(neighborNid);
+					}
+				}
+			}
+			if (free
+					&& componentNids.size() >= Params.FAULTLOAD_MIN_GROUP_SIZE
+					&& (largestNids == null || componentNids.size() > largestNids
+							.size())) {
+				largestNids = componentNids;
+			}
+		}
+		if (largestNids == null) {
+			return null;
+		}
+
+		ArrayList<Long> edgeKeys = new ArrayList<>();
+		for (int nid : largestNids) {
+			for (int neighborNid : nid2Neighbors.get(nid)) {
+				if (nid < neighborNid) {
+					edgeKeys.add(ContactEvent.toEdgeKey(nid, neighborNid));
+				}
+			}
+		}
+		return edgeKeys;
+	}
+
+	private static void removeNeighbor(
+			HashMap<Integer, HashSet<Integer>> nid2Neighbors, int nid,
+			int neighborNid) {
+		HashSet<Integer> neighbors = nid2Neighbors.get(nid);
+		neighbors.remove(neighborNid);
+		if (neighbors.isEmpty()) {
+			nid2Neighbors.remove(nid);
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.mobilemr.task_allocation;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+
+import com.mobilemr.task_allocation.util.ByteUtil;
+import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.history.HistoryStatFile;
+import com.mobilemr.trace.struct.GeneralPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+import drcl.inet.protocol.aodv.struct.MultihopTraceFile;
+
+public class FaultloadCompiler {
+
+	// Text Faultload 를 매번 Parsing 하고 markReady() 하지 않도록,
+	// Snapshot 별 Routing 정보까지 미리 계산한 Binary 형식으로 변환
+
+	public static void main(String[] args) throws IOException {
+		String[] inputTraceIds = args.length > 0 ? args : new String[] { "haggle", "pmtr", "rollernet" };
+		for (String inputTraceId : inputTraceIds) {
+			long compileStart = System.currentTimeMillis();
+			int numCompiled = compile(inputTraceId);
+			System.out.println(inputTraceId + " : " + numCompiled + " traces compiled in "
+					+ (System.currentTimeMillis() - compileStart) + " ms");
+		}
+	}
+
+	public static int compile(String inputTraceId) throws IOException {
+		// 없거나 원본보다 오래된 것만 변환
+		File tracesDir = new File(Path.FAULTLOAD_DIR_PATH + File.separator + inputTraceId);
+		File compiledDir = new File(Path.COMPILED_FAULTLOAD_DIR_PATH + File.separator + inputTraceId);
+		compiledDir.mkdirs();
+
+		int numCompiled = 0;
+		for (File[] traceFiles : listTraceFiles(tracesDir)) {
+			File traceFile = traceFiles[0];
+			File traceZb2OrgNidFile = traceFiles[1];
+			File compiledFile = getCompiledFile(inputTraceId, traceFile);
+			if (!isUpToDate(compiledFile, traceFile, traceZb2OrgNidFile)) {
+				GeneralPair<MultihopTrace, HashMap<Integer, Integer>> parsed = parse(traceFile, traceZb2OrgNidFile);
+				MultihopTraceFile.write(compiledFile, parsed.getFirst(), parsed.getSecond());
+				numCompiled++;
+			}
+		}
+
+		// HistoryStat 도 Java Serialization 대신 Binary 로 변환
+		File historyStatSerFile = getHistoryStatSerFile(inputTraceId);
+		File compiledHistoryStatFile = getCompiledHistoryStatFile(inputTraceId);
+		if (historyStatSerFile.exists()
+				&& !isUpToDate(compiledHistoryStatFile, historyStatSerFile)) {
+			HistoryStat historyStat = (HistoryStat) ByteUtil
+					.deserialize(FileUtils
+							.readFileToByteArray(historyStatSerFile));
+			HistoryStatFile.write(compiledHistoryStatFile, historyStat);
+		}
+		return numCompiled;
+	}
+
+	public static GeneralPair<MultihopTrace, HashMap<Integer, Integer>> load(String inputTraceId, File traceFile,
+			File traceZb2OrgNidFile) throws IOException {
+		// 최신 Binary 가 있으면 Memory-mapped 로 읽고, 없으면 Text 를 Parsing
+		if (Params.USE_COMPILED_FAULTLOAD) {
+			File compiledFile = getCompiledFile(inputTraceId, traceFile);
+			if (isUpToDate(compiledFile, traceFile, traceZb2OrgNidFile)) {
+				return MultihopTraceFile.read(compiledFile);
+			}
+		}
+		return parse(traceFile, traceZb2OrgNidFile);
+	}
+
+	public static HistoryStat loadHistoryStat(String inputTraceId)
+			throws IOException {
+		// 최신 Binary 가 있으면 Memory-mapped 로 읽고, 없으면 Deserialize
+		File historyStatSerFile = getHistoryStatSerFile(inputTraceId);
+		if (Params.USE_COMPILED_FAULTLOAD) {
+			File compiledHistoryStatFile = getCompiledHistoryStatFile(inputTraceId);
+			if (isUpToDate(compiledHistoryStatFile, historyStatSerFile)) {
+				return HistoryStatFile.read(compiledHistoryStatFile);
+			}
+		}
+		return (HistoryStat) ByteUtil.deserialize(FileUtils
+				.readFileToByteArray(historyStatSerFile));
+	}
+
+	private static ArrayList<File[]> listTraceFiles(File tracesDir) {
+		// Trace 파일과 zb2OrgNid 파일 쌍
+		ArrayList<File[]> traceFiles = new ArrayList<>();
+		for (File traceFile : tracesDir.listFiles()) {
+			String traceFileName = traceFile.getName();
+			if (traceFileName.contains("#") && !traceFileName.endsWith(".ser")) {
+				File traceZb2OrgNidFile = new File(tracesDir, traceFileName + "-zb2OrgNid.ser");
+				traceFiles.add(new File[] { traceFile, traceZb2OrgNidFile });
+			}
+		}
+		return traceFiles;
+	}
+
+	private static File getCompiledFile(String inputTraceId, File traceFile) {
+		return new File(Path.COMPILED_FAULTLOAD_DIR_PATH + File.separator + inputTraceId + File.separator
+				+ traceFile.getName() + MultihopTraceFile.FILE_EXTENSION);
+	}
+
+	private static File getHistoryStatSerFile(String inputTraceId) {
+		return new File(Path.FAULTLOAD_DIR_PATH + File.separator + inputTraceId + File.separator
+				+ Path.HISTORY_STAT_SER_FILE_NAME);
+	}
+
+	private static File getCompiledHistoryStatFile(String inputTraceId) {
+		return new File(Path.COMPILED_FAULTLOAD_DIR_PATH + File.separator + inputTraceId + File.separator
+				+ Path.HISTORY_STAT_SER_FILE_NAME + HistoryStatFile.FILE_EXTENSION);
+	}
+
+	private static boolean isUpToDate(File compiledFile, File serFile) {
+		return compiledFile.exists() && compiledFile.lastModified() >= serFile.lastModified();
+	}
+
+	private static boolean isUpToDate(File compiledFile, File traceFile, File traceZb2OrgNidFile) {
+		return compiledFile.exists() && compiledFile.lastModified() >= traceFile.lastModified()
+				&& compiledFile.lastModified() >= traceZb2OrgNidFile.lastModified();
+	}
+
+	public static GeneralPair<MultihopTrace, HashMap<Integer, Integer>> parse(File traceFile,
+			File traceZb2OrgNidFile) throws IOException {
+		BufferedReader br = new BufferedReader(new FileReader(traceFile));
+		int initTimestamp = Integer.parseInt(br.readLine());
+
+		MultihopSnapshot curSnapshot = new MultihopSnapshot(initTimestamp);
+		String strOfInitValues = br.readLine();
+		String[] initValueStrs = strOfInitValues.split(",");
+		for (String initValueStr : initValueStrs) {
+			String[] edgePairStrs = initValueStr.split("-");
+			int nid1 = Integer.parseInt(edgePairStrs[0]);
+			int nid2 = Integer.parseInt(edgePairStrs[1]);
+			curSnapshot.addEdge(nid1, nid2);
+		}
+		MultihopTrace trace = new MultihopTrace(curSnapshot);
+
+		String line;
+		while ((line = br.readLine()) != null) {
+			String[] tmp = line.split(" ");
+			int curTimestamp = initTimestamp + Integer.parseInt(tmp[0]);
+			curSnapshot = (MultihopSnapshot) curSnapshot.clone();
+			curSnapshot.setTimestamp(curTimestamp);
+			String type = tmp[1];
+
+			if (type.equals("A") || type.equals("D")) {
+				String strOfCurValues = tmp[2];
+				String[] curValueStrs = strOfCurValues.split(",");
+				for (String curValueStr : curValueStrs) {
+					int idxOfDelim = curValueStr.indexOf("-");
+					int nid1 = Integer.parseInt(curValueStr.substring(0, idxOfDelim));
+					int nid2 = Integer.parseInt(curValueStr.substring(idxOfDelim + 1));
+					if (type.equals("A")) {
+						curSnapshot.addEdge(nid1, nid2);
+					} else if (type.equals("D")) {
+						curSnapshot.removeEdge(nid1, nid2);
+					}
+				}
+				trace.add(curSnapshot);
+				// Logger.println(curCC);
+			}
+		}
+		br.close();
+
+		byte[] zb2OrgNidBytes = FileUtils.readFileToByteArray(traceZb2OrgNidFile);
+		@SuppressWarnings("unchecked")
+		HashMap<Integer, Integer> zb2OrgNid = (HashMap<Integer, Integer>) ByteUtil.deserialize(zb2OrgNidBytes);
+		return new GeneralPair<>(trace, zb2OrgNid);
+	}
+
+}
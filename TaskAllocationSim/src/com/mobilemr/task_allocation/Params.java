@@ -7,6 +7,15 @@ import io.jenetics.Selector;
 import io.jenetics.SinglePointCrossover;
 import io.jenetics.TournamentSelector;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.mobilemr.task_allocation.estimator.CommDurationEstimator;
+import com.mobilemr.task_allocation.estimator.SimulationCommDurationEstimator;
+import com.mobilemr.task_allocation.heuristic.ClosestPathType;
+import com.mobilemr.task_allocation.heuristic.MigrationTopology;
+import com.mobilemr.task_allocation.util.Logger;
+
 @SuppressWarnings({ "rawtypes" })
 public class Params {
 
@@ -17,11 +26,74 @@ public class Params {
 	public static Alterer MUTATOR = new Mutator<>(0.115);
 	public static int MAX_GENERATIONS = 2000;
 	public static int STEADY_GENERATIONS = 5;
+	// Task 할당 한 번에 허용하는 실제 시간 (0 이면 제한 없음)
+	// 넘으면 진행 중인 세대까지만 마치고 그때까지 찾은 최선의 할당을 반환
+	public static long ALLOCATION_DEADLINE_MILLIS = 0;
 	public static int POPULATION_SIZE = 200;
+	// 1 보다 크면 POPULATION_SIZE 를 Island 수만큼 나눠서 각 Island 를 별도 Thread 에서 진화시키고,
+	// MIGRATION_INTERVAL 세대마다 Island 별 상위 NUM_MIGRANTS 개체를 MIGRATION_TOPOLOGY 에 따라 이주
+	public static int NUM_ISLANDS = 1;
+	public static int MIGRATION_INTERVAL = 5;
+	public static int NUM_MIGRANTS = 2;
+	public static MigrationTopology MIGRATION_TOPOLOGY = MigrationTopology.RING;
+	// 직전 최적화의 상위 Dst Node Subset 중 다음 Engine 의 초기 개체로 넣을 최대 개수
+	// 현재 Node 와 선택할 Node 수에 맞게 고쳐서 넣음 (0 이면 매번 무작위 Population 으로 시작)
+	public static int WARM_START_SIZE = 0;
+	// 이미 평가한 Dst Node Subset 의 적합도를 재사용할 최대 개수 (0 이면 사용 안함)
+	public static int FITNESS_CACHE_SIZE = 10000;
+	// 적합도 평가 시 Dst Node 별 통신시간 추정 방법
+	// FlowCommDurationEstimator 는 Simulation 없이 한 번에 추정하고,
+	// CalibratingCommDurationEstimator 는 Simulation 과의 추정오차를 측정
+	public static CommDurationEstimator COMM_DURATION_ESTIMATOR = new SimulationCommDurationEstimator();
+	// 적합도 평가 시 REPLICATE 단계의 Remote Src - Dst 연결 방법
+	// MIN_COST_FLOW 는 Greedy 대신 거리 합이 최소인 할당을 정확히 구함
+	public static ClosestPathType CLOSEST_PATH_TYPE = ClosestPathType.BEST_GREEDY;
 
 	// Environment Parameters
 	public static float MAX_CLUSTER_UTILIZATION = 0.5F;
 	public static int MAX_LINK_BANDWIDTH = 5;
+	// Purlieus 의 K-Club 선택 시 필요한 크기 이상의 Clique 를 찾는 즉시 탐색 중단
+	// false 면 모든 Maximal Clique 중 Node ID 합이 가장 작은 것에서 시작
+	public static boolean KCLUB_EARLY_STOP = false;
 	public static int NUM_TRIALS = 30;
 
+	// Execution Parameters
+	// null 이면 순차 실행, ForkJoinPool 이나 Virtual Thread Executor 를 지정하면
+	// Trace x Heuristic x Trial 단위로 병렬 실행
+	public static Executor EVALUATION_EXECUTOR = null;
+	// 유전 알고리즘 Population 적합도 평가에 사용할 Executor
+	// Island 가 여러 개면 Island 단위로 나눠서 실행하고, Island 안에서는 순차 평가
+	// null 이면 할당을 수행하는 Thread 에서 순차 평가
+	// 선택과 변이는 항상 할당을 수행하는 Thread 에서 하므로 병렬로 평가해도 같은 Seed 면 같은 결과
+	public static Executor FITNESS_EXECUTOR = ForkJoinPool.commonPool();
+	// Snapshot 의 Betweenness Centrality 를 처음 계산할 때 Src 별 BFS 에 사용할 Executor
+	// null 이면 호출한 Thread 에서 순차 계산
+	public static Executor CENTRALITY_EXECUTOR = ForkJoinPool.commonPool();
+	// faultload-bin 에 컴파일된 Faultload 가 있으면 Text 대신 사용
+	public static boolean USE_COMPILED_FAULTLOAD = true;
+	// Workload 간에 공유할 읽어둔 Trace 의 추정 크기 합의 상한 (0 이면 매번 새로 읽음)
+	public static long TRACE_CACHE_MAX_BYTES = 1L << 30;
+	// 여러 장비에서 나눠 실행할 때 전체 Shard 수와 현재 장비가 맡을 Shard 번호
+	public static int NUM_SHARDS = 1;
+	public static int SHARD_INDEX = 0;
+	// Trial 결과 파일을 flush 하는 최소 간격
+	public static long RESULT_FLUSH_INTERVAL_MILLIS = 10000;
+	// 이 Level 미만의 Log 는 문자열을 만들지 않고 버림
+	// INFO 로 올리면 Trial 별 상세 Log 생략
+	public static Logger.Level LOG_LEVEL = Logger.Level.DEBUG;
+
+	// Faultload Builder Parameters
+	// 이 크기 이상의 Connected Component 에서 Trace 를 시작하고, 이 크기 미만으로 줄면 끝냄
+	public static int FAULTLOAD_MIN_GROUP_SIZE = 10;
+	// Trace 의 최대 / 최소 길이 (초)
+	public static int FAULTLOAD_TRACE_LENGTH = 30;
+	public static int FAULTLOAD_MIN_TRACE_LENGTH = 10;
+	// 새 Trace 를 시작하는 최소 간격 (초) 과 동시에 기록하는 최대 Trace 수
+	public static int FAULTLOAD_CUT_INTERVAL = 60;
+	public static int FAULTLOAD_MAX_OPEN_TRACES = 4;
+	// HistoryStat 의 Failure Rate 시간 구간 (초)
+	public static int FAULTLOAD_HISTORY_TIME_INTERVAL = 600;
+	// 관측형 Contact Log 에서 다시 관측되지 않으면 접촉이 끊긴 것으로 보는 시간 (초)
+	public static int FAULTLOAD_BEACON_TIMEOUT = 60;
+
 }
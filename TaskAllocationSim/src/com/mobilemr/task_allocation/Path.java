@@ -3,7 +3,9 @@ package com.mobilemr.task_allocation;
 public class Path {
 
 	public static final String FAULTLOAD_DIR_PATH = "faultload";
+	public static final String COMPILED_FAULTLOAD_DIR_PATH = "faultload-bin";
 	public static final String LOGS_DIR_PATH = "logs";
+	public static final String RESULTS_DIR_PATH = "results";
 
 	public static final String TRACE_ID_2_STAT_SER_FILE_NAME = "trace-id-2-stat.ser";
 	public static final String HISTORY_STAT_SER_FILE_NAME = "history-stat.ser";
@@ -0,0 +1,168 @@
+package com.mobilemr.task_allocation;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.HashMap;
+
+import com.mobilemr.task_allocation.platform.JobResult;
+import com.mobilemr.task_allocation.util.ByteUtil;
+import com.mobilemr.task_allocation.util.Logger;
+
+public class ResultSink {
+
+	// Trial 하나가 끝날 때마다 JobResult 를 결과 파일에 한 줄씩 덧붙임
+	// 한 줄 = Workload, Faultload, Trace, Heuristic, Trial, 종료 이유, 성공/실패 시간,
+	// 실제 적합도 평가 수 (SumEvals), 적합도 Cache Hit 수 (SumCacheHits),
+	// 할당별 시간에 따른 최소 Cost (QualityCurves), 직렬화된 JobResult (Base64) 를 Tab 으로 구분
+	// 평가 수와 Hit 수는 Population 크기로 나눈 값의 할당별 합이며 실패한 Trial 은 빈 값
+	// QualityCurves 형식은 JobResult.getQualityCurvesString() 참고
+	// 다시 실행하면 결과 디렉토리의 모든 결과 파일을 읽어서 이미 끝난 Trial 은 건너뛰므로,
+	// 중단된 실험을 이어서 하거나 여러 장비에서 나눠 실행한 결과 파일을 모아서 이어갈 수 있음
+
+	public static final String FILE_PREFIX = "trials";
+	public static final String FILE_EXTENSION = ".tsv";
+	private static final String DELIM = "\t";
+	private static final int NUM_COLUMNS = 11;
+	// 평가 수, Hit 수와 QualityCurves Column 이 없던 이전 결과 파일
+	private static final int NUM_LEGACY_COLUMNS = 8;
+	// QualityCurves Column 만 없던 이전 결과 파일
+	private static final int NUM_NO_CURVE_COLUMNS = 10;
+
+	private final HashMap<String, JobResult> key2JobResult = new HashMap<>();
+	private final PrintWriter pw;
+	private long lastFlushMillis = System.currentTimeMillis();
+	private boolean dirty = false;
+
+	public ResultSink(String resultsDirPath) throws IOException {
+		File resultsDir = new File(resultsDirPath);
+		resultsDir.mkdirs();
+
+		// 이전 실행 결과 복원
+		File[] resultFiles = resultsDir.listFiles((dir, name) -> name
+				.startsWith(FILE_PREFIX) && name.endsWith(FILE_EXTENSION));
+		for (File resultFile : resultFiles) {
+			load(resultFile);
+		}
+
+		// Shard 마다 다른 파일에 기록하므로 여러 장비의 결과 파일을 그대로 모을 수 있음
+		String fileName = FILE_PREFIX;
+		if (Params.NUM_SHARDS > 1) {
+			fileName += "-shard" + Params.SHARD_INDEX + "of" + Params.NUM_SHARDS;
+		}
+		File resultFile = new File(resultsDir, fileName + FILE_EXTENSION);
+		boolean endsWithPartialLine = endsWithPartialLine(resultFile);
+		pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(
+				resultFile, true), StandardCharsets.UTF_8));
+		if (endsWithPartialLine) {
+			// 잘린 줄 뒤에 이어 쓰지 않도록 줄바꿈
+			pw.println();
+			pw.flush();
+		}
+	}
+
+	private static boolean endsWithPartialLine(File resultFile)
+			throws IOException {
+		if (resultFile.length() == 0) {
+			return false;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(resultFile, "r")) {
+			raf.seek(raf.length() - 1);
+			return raf.read() != '\n';
+		}
+	}
+
+	private void load(File resultFile) throws IOException {
+		int cntLoaded = 0;
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(
+				Files.newInputStream(resultFile.toPath()),
+				StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				String[] columns = line.split(DELIM);
+				if (columns.length != NUM_COLUMNS
+						&& columns.length != NUM_NO_CURVE_COLUMNS
+						&& columns.length != NUM_LEGACY_COLUMNS) {
+					// 중간 종료로 잘린 마지막 줄은 무시하고 다시 실행
+					continue;
+				}
+				JobResult jr;
+				try {
+					jr = (JobResult) ByteUtil.deserialize(Base64.getDecoder()
+							.decode(columns[columns.length - 1]));
+				} catch (RuntimeException e) {
+					continue;
+				}
+				if (jr == null) {
+					continue;
+				}
+				String key = keyOf(columns[0], columns[1], columns[2],
+						columns[3], Integer.parseInt(columns[4]));
+				key2JobResult.put(key, jr);
+				cntLoaded++;
+			}
+		}
+		Logger.println("ResultSink - " + resultFile.getName() + " : "
+				+ cntLoaded + " trials loaded");
+	}
+
+	public static String keyOf(String workload, String faultload,
+			String globalTraceId, String heuristic, int trial) {
+		return workload + DELIM + faultload + DELIM + globalTraceId + DELIM
+				+ heuristic + DELIM + trial;
+	}
+
+	public static boolean isInShard(String globalTraceId) {
+		// Trace 단위로 나눠야 Trial 취합이 한 장비 안에서 끝남
+		// String.hashCode() 는 JVM 에 상관없이 같으므로 장비마다 같은 분할 결과
+		return Math.floorMod(globalTraceId.hashCode(), Params.NUM_SHARDS) == Params.SHARD_INDEX;
+	}
+
+	public synchronized boolean contains(String key) {
+		return key2JobResult.containsKey(key);
+	}
+
+	public synchronized JobResult get(String key) {
+		return key2JobResult.get(key);
+	}
+
+	public synchronized void append(String key, JobResult jr) {
+		String line = key + DELIM + jr.getJobFinishReason() + DELIM
+				+ (jr.succeeded() ? jr.getStString() : jr.getFtString())
+				+ DELIM + jr.getSumEvalsString() + DELIM
+				+ jr.getSumCacheHitsString() + DELIM
+				+ jr.getQualityCurvesString() + DELIM
+				+ Base64.getEncoder().encodeToString(ByteUtil.serialize(jr));
+		pw.println(line);
+		key2JobResult.put(key, jr);
+		dirty = true;
+
+		// 매 줄마다 flush 하지 않고 일정 시간마다 flush
+		long curMillis = System.currentTimeMillis();
+		if (curMillis - lastFlushMillis >= Params.RESULT_FLUSH_INTERVAL_MILLIS) {
+			flush();
+		}
+	}
+
+	public synchronized void flush() {
+		if (dirty) {
+			pw.flush();
+			dirty = false;
+		}
+		lastFlushMillis = System.currentTimeMillis();
+	}
+
+	public synchronized void close() {
+		flush();
+		pw.close();
+	}
+
+}
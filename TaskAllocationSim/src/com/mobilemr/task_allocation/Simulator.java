@@ -1,18 +1,14 @@
 package com.mobilemr.task_allocation;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-import org.apache.commons.io.FileUtils;
-
+import com.mobilemr.task_allocation.estimator.CalibratingCommDurationEstimator;
 import com.mobilemr.task_allocation.profile.JobProfile;
-import com.mobilemr.task_allocation.util.ByteUtil;
 import com.mobilemr.task_allocation.util.Date;
 import com.mobilemr.task_allocation.util.Logger;
 import com.mobilemr.trace.history.HistoryStat;
-import com.mobilemr.trace.struct.TraceStat;
 
 public class Simulator {
 
@@ -45,35 +41,32 @@ public class Simulator {
 				run(workload, faultload);
 			}
 		}
+		evaluator.close();
+		Logger.println("TraceRepository | " + TraceRepository.getSummary());
+		Logger.flush();
 	}
 
-	@SuppressWarnings("unchecked")
 	public void run(JobProfile jp, String inputTraceId) throws IOException {
+		// Workload 마다 다시 읽지 않도록 공유
+		TraceRepository.Faultload faultload = TraceRepository
+				.getFaultload(inputTraceId);
 		HashMap<String, HistoryStat> inputTraceId2HistoryStat = new HashMap<String, HistoryStat>();
-		String traceId2StatSerFilePath = Path.FAULTLOAD_DIR_PATH
-				+ File.separator + inputTraceId + File.separator
-				+ Path.TRACE_ID_2_STAT_SER_FILE_NAME;
-		File traceId2StatSerFile = new File(traceId2StatSerFilePath);
-		String historyStatSerFilePath = Path.FAULTLOAD_DIR_PATH
-				+ File.separator + inputTraceId + File.separator
-				+ Path.HISTORY_STAT_SER_FILE_NAME;
-		File historyStatSerFile = new File(historyStatSerFilePath);
-		byte[] traceId2StatBytes = FileUtils
-				.readFileToByteArray(traceId2StatSerFile);
-		HashMap<String, TraceStat> traceId2Stat = (HashMap<String, TraceStat>) ByteUtil
-				.deserialize(traceId2StatBytes);
-		byte[] historyStatBytes = FileUtils
-				.readFileToByteArray(historyStatSerFile);
-		HistoryStat historyStat = (HistoryStat) ByteUtil
-				.deserialize(historyStatBytes);
-		inputTraceId2HistoryStat.put(inputTraceId, historyStat);
+		inputTraceId2HistoryStat.put(inputTraceId, faultload.historyStat);
 
 		try {
-			evaluator.evaluate(inputTraceId, traceId2Stat,
+			evaluator.evaluate(inputTraceId, faultload.traceId2Stat,
 					inputTraceId2HistoryStat, jp);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
+
+		// 보정 Mode 인 경우 Workload x Faultload 단위로 추정오차 출력
+		if (Params.COMM_DURATION_ESTIMATOR instanceof CalibratingCommDurationEstimator) {
+			CalibratingCommDurationEstimator estimator = (CalibratingCommDurationEstimator) Params.COMM_DURATION_ESTIMATOR;
+			Logger.println("CommDurationEstimator | " + jp + " | "
+					+ inputTraceId + " | " + estimator.getSummary());
+			estimator.reset();
+		}
 	}
 
 }
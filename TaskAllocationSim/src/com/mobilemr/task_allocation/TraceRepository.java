@@ -0,0 +1,226 @@
+package com.mobilemr.task_allocation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.io.FileUtils;
+
+import com.mobilemr.task_allocation.util.ByteUtil;
+import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.GeneralPair;
+import com.mobilemr.trace.struct.TraceStat;
+
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class TraceRepository {
+
+	// Workload 가 바뀌어도 Faultload 의 Trace 와 통계는 같으므로
+	// Process 전체에서 한 번만 읽고 모든 Workload 와 병렬 Trial 이 읽기 전용으로 공유
+	// Trace 는 추정 크기의 합이 Params.TRACE_CACHE_MAX_BYTES 를 넘으면
+	// 가장 오래 사용하지 않은 것부터 제거 (사용 중인 Trial 은 계속 참조 가능)
+	// 이때 남은 Trace 가 없는 Input Trace 의 Faultload 도 같이 제거
+
+	public static class Faultload {
+
+		public final HashMap<String, TraceStat> traceId2Stat;
+		public final HistoryStat historyStat;
+
+		private Faultload(HashMap<String, TraceStat> traceId2Stat,
+				HistoryStat historyStat) {
+			this.traceId2Stat = traceId2Stat;
+			this.historyStat = historyStat;
+		}
+
+	}
+
+	private static class Entry {
+
+		private final String inputTraceId;
+		private final CompletableFuture<GeneralPair<MultihopTrace, HashMap<Integer, Integer>>> loaded = new CompletableFuture<>();
+		// Load 가 끝나기 전에는 0
+		private long bytes = 0;
+
+		private Entry(String inputTraceId) {
+			this.inputTraceId = inputTraceId;
+		}
+
+	}
+
+	private static final HashMap<String, CompletableFuture<Faultload>> inputTraceId2Faultload = new HashMap<>();
+	private static final LinkedHashMap<String, Entry> traceKey2Entry = new LinkedHashMap<>(
+			16, 0.75F, true);
+	private static long totalBytes = 0;
+	private static long numHits = 0;
+	private static long numLoads = 0;
+
+	public static Faultload getFaultload(String inputTraceId)
+			throws IOException {
+		// 같은 Faultload 를 동시에 요청하면 먼저 요청한 Thread 만 읽고 나머지는 기다림
+		// 읽는 동안 Lock 을 잡지 않으므로 다른 Faultload 와 Trace 요청은 막지 않음
+		CompletableFuture<Faultload> loaded;
+		boolean loader = false;
+		synchronized (TraceRepository.class) {
+			loaded = inputTraceId2Faultload.get(inputTraceId);
+			if (loaded == null) {
+				loaded = new CompletableFuture<>();
+				inputTraceId2Faultload.put(inputTraceId, loaded);
+				loader = true;
+			}
+		}
+
+		if (loader) {
+			Faultload faultload;
+			try {
+				faultload = loadFaultload(inputTraceId);
+			} catch (Throwable t) {
+				// Error 라도 기다리는 Thread 가 멈추지 않도록 반드시 완료시키고
+				// 다음 요청에서 다시 읽도록 제거
+				synchronized (TraceRepository.class) {
+					inputTraceId2Faultload.remove(inputTraceId, loaded);
+				}
+				loaded.completeExceptionally(t);
+				throw t;
+			}
+			loaded.complete(faultload);
+			return faultload;
+		}
+		return join(loaded);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Faultload loadFaultload(String inputTraceId)
+			throws IOException {
+		String faultloadDirPath = Path.FAULTLOAD_DIR_PATH + File.separator
+				+ inputTraceId + File.separator;
+		HashMap<String, TraceStat> traceId2Stat = (HashMap<String, TraceStat>) ByteUtil
+				.deserialize(FileUtils.readFileToByteArray(new File(
+						faultloadDirPath + Path.TRACE_ID_2_STAT_SER_FILE_NAME)));
+
+		// 반복 실험시 Parsing 을 생략하도록 처음 한 번 컴파일
+		if (Params.USE_COMPILED_FAULTLOAD) {
+			FaultloadCompiler.compile(inputTraceId);
+		}
+		HistoryStat historyStat = FaultloadCompiler
+				.loadHistoryStat(inputTraceId);
+
+		return new Faultload(traceId2Stat, historyStat);
+	}
+
+	public static GeneralPair<MultihopTrace, HashMap<Integer, Integer>> getTrace(
+			String inputTraceId, File traceFile, File traceZb2OrgNidFile)
+			throws IOException {
+		if (Params.TRACE_CACHE_MAX_BYTES <= 0) {
+			return FaultloadCompiler.load(inputTraceId, traceFile,
+					traceZb2OrgNidFile);
+		}
+
+		// 같은 Trace 를 동시에 요청하면 먼저 요청한 Thread 만 읽고 나머지는 기다림
+		String traceKey = inputTraceId + File.separator + traceFile.getName();
+		Entry entry;
+		boolean loader = false;
+		synchronized (TraceRepository.class) {
+			entry = traceKey2Entry.get(traceKey);
+			if (entry == null) {
+				entry = new Entry(inputTraceId);
+				traceKey2Entry.put(traceKey, entry);
+				loader = true;
+				numLoads++;
+			} else {
+				numHits++;
+			}
+		}
+
+		if (loader) {
+			GeneralPair<MultihopTrace, HashMap<Integer, Integer>> loadedTrace;
+			try {
+				loadedTrace = FaultloadCompiler.load(inputTraceId, traceFile,
+						traceZb2OrgNidFile);
+			} catch (Throwable t) {
+				// Error 라도 기다리는 Thread 가 멈추지 않도록 반드시 완료시키고
+				// 다음 요청에서 다시 읽도록 제거
+				synchronized (TraceRepository.class) {
+					traceKey2Entry.remove(traceKey, entry);
+				}
+				entry.loaded.completeExceptionally(t);
+				throw t;
+			}
+			long bytes = loadedTrace.getFirst().estimateBytes();
+			synchronized (TraceRepository.class) {
+				if (traceKey2Entry.get(traceKey) == entry) {
+					entry.bytes = bytes;
+					totalBytes += bytes;
+					evict(entry);
+				}
+			}
+			entry.loaded.complete(loadedTrace);
+			return loadedTrace;
+		}
+
+		return join(entry.loaded);
+	}
+
+	private static <T> T join(CompletableFuture<T> loaded) throws IOException {
+		// 먼저 읽은 Thread 의 예외를 그대로 전달
+		try {
+			return loaded.join();
+		} catch (RuntimeException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	private static void evict(Entry keptEntry) {
+		// 방금 읽은 것과 아직 읽는 중인 것은 남김
+		HashSet<String> evictedInputTraceIds = new HashSet<>();
+		Iterator<Entry> it = traceKey2Entry.values().iterator();
+		while (totalBytes > Params.TRACE_CACHE_MAX_BYTES && it.hasNext()) {
+			Entry entry = it.next();
+			if (entry != keptEntry && entry.loaded.isDone()) {
+				totalBytes -= entry.bytes;
+				it.remove();
+				evictedInputTraceIds.add(entry.inputTraceId);
+			}
+		}
+		if (evictedInputTraceIds.isEmpty()) {
+			return;
+		}
+
+		// 남은 Trace 가 없는 Input Trace 의 Faultload 제거 (읽는 중인 것은 남김)
+		for (Entry entry : traceKey2Entry.values()) {
+			evictedInputTraceIds.remove(entry.inputTraceId);
+		}
+		for (String inputTraceId : evictedInputTraceIds) {
+			CompletableFuture<Faultload> loaded = inputTraceId2Faultload
+					.get(inputTraceId);
+			if (loaded != null && loaded.isDone()) {
+				inputTraceId2Faultload.remove(inputTraceId);
+			}
+		}
+	}
+
+	public static synchronized void clear() {
+		inputTraceId2Faultload.clear();
+		traceKey2Entry.clear();
+		totalBytes = 0;
+	}
+
+	public static synchronized String getSummary() {
+		return "numFaultloads : " + inputTraceId2Faultload.size()
+				+ " | numTraces : " + traceKey2Entry.size() + " | estimatedBytes : "
+				+ totalBytes + " | numHits : " + numHits + " | numLoads : "
+				+ numLoads;
+	}
+
+}
@@ -1,21 +1,27 @@
 package com.mobilemr.task_allocation;
 
+import io.jenetics.util.RandomRegistry;
+
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Random;
 
 import com.mobilemr.task_allocation.heuristic.Heuristic;
 import com.mobilemr.task_allocation.platform.AllocationResult;
 import com.mobilemr.task_allocation.platform.JobResult;
 import com.mobilemr.task_allocation.platform.JobTracker;
-import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.platform.TrialContext;
 import com.mobilemr.task_allocation.platform.TaskPhaseType;
 import com.mobilemr.task_allocation.profile.JobProfile;
 import com.mobilemr.task_allocation.util.Logger;
+import com.mobilemr.task_allocation.util.Logger.Level;
 import com.mobilemr.trace.history.HistoryStat;
+import com.mobilemr.trace.struct.GeneralPair;
 
 import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
 import drcl.inet.protocol.aodv.struct.MultihopTrace;
 import drcl.inet.protocol.aodv.struct.RoutableMultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.SnapshotCursor;
 
 public class TraceRunner {
 
@@ -27,14 +33,16 @@ public class TraceRunner {
 	private String inputTraceId;
 	private HistoryStat historyStat;
 	private HashMap<Integer, Integer> zb2OrgNid;
+	private TrialContext ctx;
 
 	private int realModeTime;
 	private String indent;
 
 	public TraceRunner(MultihopTrace trace, JobProfile jp,
 			Class<? extends Heuristic> clsHeuristic, String inputTraceId,
-			HistoryStat historyStat, HashMap<Integer, Integer> zb2OrgNid) {
-		Logger.println(clsHeuristic.getSimpleName());
+			HistoryStat historyStat, HashMap<Integer, Integer> zb2OrgNid,
+			long seed) {
+		Logger.println(Level.DEBUG, clsHeuristic.getSimpleName());
 
 		this.trace = trace;
 		this.jp = jp;
@@ -46,10 +54,16 @@ public class TraceRunner {
 		realModeTime = 0;
 		indent = "";
 
-		Task.resetId();
+		// 병렬 실행 시에도 Trial 마다 같은 결과를 얻기 위해 전역 상태 대신 Trial 별 Context 사용
+		ctx = new TrialContext(seed);
 	}
 
 	public JobResult start() {
+		// 유전 알고리즘의 난수도 Trial 의 Seed 를 따르도록 설정
+		return RandomRegistry.with(new Random(ctx.getSeed()), r -> run());
+	}
+
+	private JobResult run() {
 		Double mapReliability = null;
 		Double redReliability = null;
 		Double mapContention = null;
@@ -61,9 +75,11 @@ public class TraceRunner {
 		Double sumClusterUtilization = 0.0;
 		Integer cntClusterUtilization = 0;
 		Double sumEvals = 0.0;
+		Double sumCacheHits = 0.0;
+		ArrayList<ArrayList<GeneralPair<Long, Float>>> qualityCurves = null;
 
-		JobTracker jt = new JobTracker(trace, jp, clsHeuristic, historyStat,
-				zb2OrgNid);
+		JobTracker jt = new JobTracker(ctx, trace, jp, clsHeuristic,
+				historyStat, zb2OrgNid);
 
 		AllocationResult allocationResult = jt.allocateNextTasks(inputTraceId,
 				0);
@@ -86,26 +102,31 @@ public class TraceRunner {
 		if (allocationResult.numEvals != null) {
 			sumEvals += allocationResult.numEvals;
 		}
+		if (allocationResult.numCacheHits != null) {
+			sumCacheHits += allocationResult.numCacheHits;
+		}
+		if (allocationResult.qualityCurve != null) {
+			qualityCurves = new ArrayList<>();
+			qualityCurves.add(allocationResult.qualityCurve);
+		}
 
 		RoutableMultihopSnapshot curRoutableSnapshot = trace
 				.getClosestRoutableMultihopSnapshot(realModeTime);
+		SnapshotCursor snapshotCursor = trace.newCursor();
 
 		while (!jt.isJobFinished(curRoutableSnapshot)) {
-			if (DEBUG) {
-				Logger.println(indent + "TR - 현재 Time : " + realModeTime);
-			}
-
-			MultihopSnapshot curSnapshot = trace
-					.getClosestSnapshot(realModeTime);
+			MultihopSnapshot curSnapshot = snapshotCursor.seek(realModeTime);
 			ArrayList<Integer> departedNids = curRoutableSnapshot
 					.updateTopology(curSnapshot);
 
 			jt.updateTaskDepartures(departedNids);
 
 			if (jt.isCurTaskPhaseFailed(true)) {
-				return JobResult.failed(jt.getCurTaskPhaseType(),
+				JobResult jr = JobResult.failed(jt.getCurTaskPhaseType(),
 						mapReliability, redReliability, mapContention,
 						redContention, realModeTime);
+				jr.setQualityCurves(qualityCurves);
+				return jr;
 			}
 
 			if (jt.isJobFinished(curRoutableSnapshot)) {
@@ -134,29 +155,62 @@ public class TraceRunner {
 				if (allocationResult.numEvals != null) {
 					sumEvals += allocationResult.numEvals;
 				}
+				if (allocationResult.numCacheHits != null) {
+					sumCacheHits += allocationResult.numCacheHits;
+				}
+				if (allocationResult.qualityCurve != null) {
+					if (qualityCurves == null) {
+						qualityCurves = new ArrayList<>();
+					}
+					qualityCurves.add(allocationResult.qualityCurve);
+				}
 			}
 
-			jt.updateByUnitTime(curRoutableSnapshot, realModeTime);
+			// 다음 Topology 변화 전까지는 Task 이탈이 없으므로
+			// TaskPhase 가 끝나거나 실패하기 전까지 Topology 갱신 없이 작업 + 전송만 진행
+			// 처리만 하는 동안은 다음 Topology 변화나 처리 완료 중 먼저 오는 시각으로 바로 이동
+			int nextChangeTime = snapshotCursor.getNextChangeTime();
+			do {
+				if (DEBUG) {
+					Logger.println(indent + "TR - 현재 Time : " + realModeTime);
+				}
 
-			realModeTime++;
+				int numTicks = jt.advanceProcessing(curRoutableSnapshot,
+						Math.max(1, nextChangeTime - realModeTime));
+				if (numTicks > 0) {
+					realModeTime += numTicks;
+					continue;
+				}
+
+				jt.updateByUnitTime(curRoutableSnapshot, realModeTime);
+
+				realModeTime++;
+			} while (realModeTime < nextChangeTime
+					&& !jt.isCurTaskPhaseFinished(curRoutableSnapshot)
+					&& !jt.isCurTaskPhaseFailed(true));
 		}
 
-		Logger.println("Job 종료");
-		Logger.println("realModeTime : " + realModeTime);
-		jt.printStatus(curRoutableSnapshot);
-		// jt.printResult();
-		Logger.println();
+		if (Logger.isEnabled(Level.DEBUG)) {
+			Logger.println(Level.DEBUG, "Job 종료");
+			Logger.println(Level.DEBUG, "realModeTime : " + realModeTime);
+			jt.printStatus(curRoutableSnapshot);
+			// jt.printResult();
+			Logger.println(Level.DEBUG);
+		}
 
 		double traffic = jt.getTraffic();
 		double optimalIdx1 = sumOptimalIdx1 / cntOptimalIdx1;
 		double optimalIdx2 = sumOptimalIdx2 / cntOptimalIdx2;
 		double avgClusterUtilization = sumClusterUtilization
 				/ cntClusterUtilization;
-		return JobResult.succeeded(mapReliability, redReliability,
+		JobResult jr = JobResult.succeeded(mapReliability, redReliability,
 				mapContention, redContention, traffic, realModeTime,
 				// cdfRecordMap,
 				optimalIdx1, optimalIdx2, avgClusterUtilization, sumEvals,
 				null, jt.getReplicateDuration(), jt.getShuffleDuration());
+		jr.setSumCacheHits(sumCacheHits);
+		jr.setQualityCurves(qualityCurves);
+		return jr;
 	}
 
 }
@@ -0,0 +1,120 @@
+package com.mobilemr.task_allocation.estimator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.profile.TaskPhaseProfile;
+import com.mobilemr.trace.struct.OrderedNumPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class CalibratingCommDurationEstimator implements
+		CommDurationEstimator {
+
+	// 보정 Mode
+	// 매 추정마다 후보 Estimator 와 기준 Estimator (전체 Simulation) 를 모두 수행해서
+	// 추정오차와 수행시간을 누적하고, 결과는 기준 Estimator 의 것을 사용
+	// Workload 마다 getSummary() 를 보고 속도와 정확도 사이에서 Estimator 를 선택
+
+	private final CommDurationEstimator candidate;
+	private final CommDurationEstimator reference;
+
+	private long candidateNanos = 0;
+	private long referenceNanos = 0;
+	private int cntEstimations = 0;
+	private int cntFailureMismatches = 0;
+	private int cntDsts = 0;
+	private double sumAbsError = 0;
+	private double sumRelError = 0;
+	private double maxAbsError = 0;
+
+	public CalibratingCommDurationEstimator(CommDurationEstimator candidate) {
+		this(candidate, new SimulationCommDurationEstimator());
+	}
+
+	public CalibratingCommDurationEstimator(CommDurationEstimator candidate,
+			CommDurationEstimator reference) {
+		this.candidate = candidate;
+		this.reference = reference;
+	}
+
+	@Override
+	public HashMap<Integer, Float> estimate(Heuristic h, MultihopTrace trace,
+			int realModeTime, TaskPhaseProfile tpp, TaskPhaseProfile nextTpp,
+			HashMap<Integer, Task> srcTid2Task,
+			ArrayList<OrderedNumPair<Integer>> conns) {
+		long startNanos = System.nanoTime();
+		HashMap<Integer, Float> estimated = candidate.estimate(h, trace,
+				realModeTime, tpp, nextTpp, srcTid2Task, conns);
+		long midNanos = System.nanoTime();
+		HashMap<Integer, Float> measured = reference.estimate(h, trace,
+				realModeTime, tpp, nextTpp, srcTid2Task, conns);
+		long endNanos = System.nanoTime();
+
+		record(estimated, measured, midNanos - startNanos, endNanos
+				- midNanos);
+		return measured;
+	}
+
+	private synchronized void record(HashMap<Integer, Float> estimated,
+			HashMap<Integer, Float> measured, long candidateNanos,
+			long referenceNanos) {
+		this.candidateNanos += candidateNanos;
+		this.referenceNanos += referenceNanos;
+		cntEstimations++;
+		if ((estimated == null) != (measured == null)) {
+			cntFailureMismatches++;
+			return;
+		} else if (measured == null) {
+			return;
+		}
+		for (Integer dstNid : measured.keySet()) {
+			Float estimatedDuration = estimated.get(dstNid);
+			if (estimatedDuration == null) {
+				continue;
+			}
+			// 수행시간과 같이 1 초씩 더해서 0 에 가까운 값의 상대오차가 커지지 않도록 함
+			float measuredDuration = measured.get(dstNid);
+			double absError = Math.abs(estimatedDuration - measuredDuration);
+			sumAbsError += absError;
+			sumRelError += absError / (measuredDuration + 1);
+			if (absError > maxAbsError) {
+				maxAbsError = absError;
+			}
+			cntDsts++;
+		}
+	}
+
+	public synchronized String getSummary() {
+		String ret = "";
+		ret += "estimations: " + cntEstimations + " _ ";
+		ret += "failureMismatches: " + cntFailureMismatches + " _ ";
+		ret += "dsts: " + cntDsts + " _ ";
+		// 비교한 Dst 가 없으면 오차는 빈 값
+		ret += "MAE: " + (cntDsts > 0 ? sumAbsError / cntDsts + "" : "")
+				+ " _ ";
+		ret += "MRE: " + (cntDsts > 0 ? sumRelError / cntDsts + "" : "")
+				+ " _ ";
+		ret += "maxAE: " + maxAbsError + " _ ";
+		ret += "candidateMs: " + (candidateNanos / 1000000) + " _ ";
+		ret += "referenceMs: " + (referenceNanos / 1000000) + " _ ";
+		ret += "speedup: "
+				+ (candidateNanos > 0 ? (double) referenceNanos / candidateNanos
+						+ "" : "");
+		return ret;
+	}
+
+	public synchronized void reset() {
+		candidateNanos = 0;
+		referenceNanos = 0;
+		cntEstimations = 0;
+		cntFailureMismatches = 0;
+		cntDsts = 0;
+		sumAbsError = 0;
+		sumRelError = 0;
+		maxAbsError = 0;
+	}
+
+}
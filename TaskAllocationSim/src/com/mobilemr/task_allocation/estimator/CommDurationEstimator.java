@@ -0,0 +1,23 @@
+package com.mobilemr.task_allocation.estimator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.profile.TaskPhaseProfile;
+import com.mobilemr.trace.struct.OrderedNumPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public interface CommDurationEstimator {
+
+	// 할당 결과(conns) 로 현재 TaskPhase 를 수행했을 때 Dst Node 별 통신시간 추정
+	// 추정에 실패한 경우 null 반환
+	// srcTid2Task 는 변경하지 않아야 함
+	HashMap<Integer, Float> estimate(Heuristic h, MultihopTrace trace,
+			int realModeTime, TaskPhaseProfile tpp, TaskPhaseProfile nextTpp,
+			HashMap<Integer, Task> srcTid2Task,
+			ArrayList<OrderedNumPair<Integer>> conns);
+
+}
@@ -0,0 +1,190 @@
+package com.mobilemr.task_allocation.estimator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.mobilemr.task_allocation.Params;
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.task_allocation.heuristic.HeuristicMtaS;
+import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.platform.TaskPhaseType;
+import com.mobilemr.task_allocation.profile.TaskPhaseProfile;
+import com.mobilemr.trace.struct.OrderedNumPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+import drcl.inet.protocol.aodv.struct.NextHopTable;
+import drcl.inet.protocol.aodv.struct.SnapshotCursor;
+
+public class FlowCommDurationEstimator implements CommDurationEstimator {
+
+	// Simulation 없이 현재 Snapshot 의 최단경로와 Link Delivery Ratio 로 통신시간 추정
+	// 1. Src -> Dst 데이터를 Simulation 과 같이 최단경로의 Next Hop 들에 균등하게 나눠 흘림
+	// 2. Link 로 x 만큼 보내는 데 걸리는 시간 x / (MAX_LINK_BANDWIDTH * Delivery Ratio) 를
+	// 양 끝 Node 의 전송시간에 누적
+	// 3. Src 는 연결 순서대로 Packet 을 쌓고 모든 Src 가 동시에 보내므로,
+	// 각 Src 의 k 번째 연결들을 k 순서대로 흘리면서
+	// 보내기 전 Src Node 의 누적 전송시간을 그 연결의 시작시간,
+	// 보낸 후 경로상 가장 바쁜 Node 의 누적 전송시간을 종료시간으로 봄
+	// 4. Dst 의 통신시간은 Dst 로 들어오는 연결들의 (최대 종료시간 - 최소 시작시간)
+	// 처리가 모두 끝난 뒤 통신하는 EstJobTracker 와 같이 처리시간은 통신시간에 포함하지 않음
+
+	@Override
+	public HashMap<Integer, Float> estimate(Heuristic h, MultihopTrace trace,
+			int realModeTime, TaskPhaseProfile tpp, TaskPhaseProfile nextTpp,
+			HashMap<Integer, Task> srcTid2Task,
+			ArrayList<OrderedNumPair<Integer>> conns) {
+		// EstJobTracker 에서 실패로 처리되는 경우
+		if (srcTid2Task.isEmpty() || conns.isEmpty()) {
+			return null;
+		}
+
+		MultihopSnapshot curSnapshot = trace.getClosestSnapshot(realModeTime);
+		NextHopTable nextHopTable = curSnapshot.getNextHopTable();
+		ArrayList<Integer> curNids = curSnapshot.getNids();
+		int capacity = 0;
+		for (int nid : curNids) {
+			if (nid + 1 > capacity) {
+				capacity = nid + 1;
+			}
+		}
+
+		// Src Task 별 연결 목록 (Task.dstTasks 와 같은 순서)
+		HashMap<Integer, ArrayList<Integer>> srcTid2DstNids = new HashMap<>();
+		int maxNumConns = 0;
+		for (OrderedNumPair<Integer> conn : conns) {
+			ArrayList<Integer> dstNids = srcTid2DstNids.computeIfAbsent(
+					conn.getFirst(), k -> new ArrayList<>());
+			dstNids.add(conn.getSecond());
+			if (dstNids.size() > maxNumConns) {
+				maxNumConns = dstNids.size();
+			}
+		}
+
+		double[] nid2Busy = new double[capacity];
+		double[] nid2Carry = new double[capacity];
+		HashMap<Integer, Double> dstNid2Start = new HashMap<>();
+		HashMap<Integer, Double> dstNid2Finish = new HashMap<>();
+		ArrayList<Integer> srcTids = new ArrayList<>(srcTid2DstNids.keySet());
+		for (int k = 0; k < maxNumConns; k++) {
+			for (int srcTid : srcTids) {
+				ArrayList<Integer> dstNids = srcTid2DstNids.get(srcTid);
+				if (k >= dstNids.size()) {
+					continue;
+				}
+				int dstNid = dstNids.get(k);
+				Task srcTask = srcTid2Task.get(srcTid);
+				int srcNid = srcTask.nid;
+				if (!nextHopTable.containsNode(dstNid)) {
+					continue;
+				}
+				dstNid2Start.putIfAbsent(dstNid, Double.MAX_VALUE);
+				dstNid2Finish.putIfAbsent(dstNid, 0D);
+				if (srcNid == dstNid || !nextHopTable.containsNode(srcNid)) {
+					continue;
+				}
+
+				// 한 연결로 보낼 데이터 크기
+				double outputSize = tpp.tpType == TaskPhaseType.DIST ? srcTask.pendingInputSize
+						: srcTask.pendingInputSize * tpp.S_Src;
+				nid2Carry[srcNid] = outputSize / dstNids.size();
+
+				// Dst 에서 먼 Node 부터 Next Hop 으로 데이터를 넘김
+				dstNid2Start.merge(dstNid, nid2Busy[srcNid], Math::min);
+				for (int dist = nextHopTable.getDistance(srcNid, dstNid); dist > 0; dist--) {
+					for (int nid : curNids) {
+						if (nid2Carry[nid] == 0
+								|| nextHopTable.getDistance(nid, dstNid) != dist) {
+							continue;
+						}
+						int[] nextNids = nextHopTable.getNextNids(nid, dstNid);
+						double share = nid2Carry[nid] / nextNids.length;
+						for (int nextNid : nextNids) {
+							double busy = share
+									/ (Params.MAX_LINK_BANDWIDTH * curSnapshot
+											.getLinkDeliveryRatio(nid, nextNid));
+							nid2Busy[nid] += busy;
+							nid2Busy[nextNid] += busy;
+							nid2Carry[nextNid] += share;
+						}
+						nid2Carry[nid] = 0;
+						dstNid2Finish.merge(dstNid, nid2Busy[nid], Math::max);
+					}
+				}
+				nid2Carry[dstNid] = 0;
+				dstNid2Finish.merge(dstNid, nid2Busy[dstNid], Math::max);
+			}
+		}
+
+		// 추정시간 동안 Topology 가 바뀌는 HeuristicMtaS 는
+		// 그 사이 Src 또는 Dst Node 가 이탈하면 EstTraceRunner 와 같이 실패로 처리
+		if (h instanceof HeuristicMtaS) {
+			double maxFinish = 0;
+			for (double finish : dstNid2Finish.values()) {
+				maxFinish = Math.max(maxFinish, finish);
+			}
+			int duration = getProcessingDuration(tpp, srcTid2Task)
+					+ (int) Math.ceil(maxFinish);
+			if (anyDeparted(trace, realModeTime, duration, srcTid2Task,
+					srcTid2DstNids)) {
+				return null;
+			}
+		}
+
+		// Loopback 만 받는 Dst 는 통신시간 0, 나머지는 최소 단위시간 1
+		HashMap<Integer, Float> dstNid2CommDuration = new HashMap<>();
+		dstNid2Start.forEach((dstNid, start) -> {
+			float commDuration = 0;
+			if (start != Double.MAX_VALUE) {
+				double finish = dstNid2Finish.get(dstNid);
+				commDuration = (float) Math.max(1, Math.ceil(finish - start));
+			}
+			dstNid2CommDuration.put(dstNid, commDuration);
+		});
+		return dstNid2CommDuration;
+	}
+
+	private static int getProcessingDuration(TaskPhaseProfile tpp,
+			HashMap<Integer, Task> srcTid2Task) {
+		// 입력분배는 첫 단위시간에 모두 전송대기열로 옮김
+		if (tpp.tpType == TaskPhaseType.DIST) {
+			return 1;
+		}
+		int maxDuration = 0;
+		for (Task srcTask : srcTid2Task.values()) {
+			int duration = (int) Math.ceil(srcTask.pendingInputSize
+					/ srcTask.B_P);
+			maxDuration = Math.max(maxDuration, duration);
+		}
+		return maxDuration;
+	}
+
+	private static boolean anyDeparted(MultihopTrace trace, int realModeTime,
+			int duration, HashMap<Integer, Task> srcTid2Task,
+			HashMap<Integer, ArrayList<Integer>> srcTid2DstNids) {
+		SnapshotCursor snapshotCursor = trace.newCursor();
+		MultihopSnapshot prevSnapshot = null;
+		for (int time = realModeTime; time <= realModeTime + duration; time++) {
+			MultihopSnapshot curSnapshot = snapshotCursor.seek(time);
+			if (curSnapshot == prevSnapshot) {
+				continue;
+			}
+			prevSnapshot = curSnapshot;
+			NextHopTable nextHopTable = curSnapshot.getNextHopTable();
+			for (Task srcTask : srcTid2Task.values()) {
+				if (!nextHopTable.containsNode(srcTask.nid)) {
+					return true;
+				}
+			}
+			for (ArrayList<Integer> dstNids : srcTid2DstNids.values()) {
+				for (int dstNid : dstNids) {
+					if (!nextHopTable.containsNode(dstNid)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+}
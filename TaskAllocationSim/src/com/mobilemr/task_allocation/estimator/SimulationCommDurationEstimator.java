@@ -0,0 +1,35 @@
+package com.mobilemr.task_allocation.estimator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.mobilemr.task_allocation.EstTraceRunner;
+import com.mobilemr.task_allocation.heuristic.Heuristic;
+import com.mobilemr.task_allocation.platform.JobResult;
+import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.profile.TaskPhaseProfile;
+import com.mobilemr.trace.struct.OrderedNumPair;
+
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class SimulationCommDurationEstimator implements
+		CommDurationEstimator {
+
+	// EstTraceRunner 로 TaskPhase 를 단위시간씩 Simulation 해서 통신시간 측정
+
+	@Override
+	public HashMap<Integer, Float> estimate(Heuristic h, MultihopTrace trace,
+			int realModeTime, TaskPhaseProfile tpp, TaskPhaseProfile nextTpp,
+			HashMap<Integer, Task> srcTid2Task,
+			ArrayList<OrderedNumPair<Integer>> conns) {
+		JobResult result = new EstTraceRunner(h, trace, realModeTime, tpp,
+				nextTpp, Task.fork(srcTid2Task), conns).start();
+		// 현재 Topology 로만 추정하므로 Node 이탈로 인한 실패는 없지만,
+		// Simulation 이 성공하지 못하면 추정할 수 없으므로 null 반환
+		if (!result.succeeded()) {
+			return null;
+		}
+		return result.getDstNid2CommDuration();
+	}
+
+}
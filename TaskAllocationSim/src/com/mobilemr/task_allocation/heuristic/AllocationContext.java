@@ -0,0 +1,56 @@
+package com.mobilemr.task_allocation.heuristic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.profile.JobProfile;
+import com.mobilemr.task_allocation.profile.TaskPhaseProfile;
+import com.mobilemr.trace.history.FailureRateTable;
+import com.mobilemr.trace.history.HistoryStat;
+
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.MultihopTrace;
+
+public class AllocationContext {
+
+	// allocateTasks() 한 번 동안 적합도 평가에 필요한 입력
+	// 여러 Thread 에서 동시에 적합도를 평가하므로 생성 후 변경하지 않음
+	// (Collection 들도 읽기만 해야 함)
+
+	public final JobProfile jp;
+	public final TaskPhaseProfile tpp;
+	public final TaskPhaseProfile nextTpp;
+	public final MultihopTrace trace;
+	public final int realModeTime;
+	public final MultihopSnapshot curSnapshot;
+	public final HashMap<Integer, Task> srcTid2Task;
+	public final ArrayList<Integer> srcNids;
+	public final HashMap<Integer, Integer> srcNid2Tid;
+	public final ArrayList<Integer> srcTids;
+	public final HistoryStat historyStat;
+	public final HashMap<Integer, Integer> zb2OrgNid;
+	// zb2OrgNid 를 거치지 않고 Zero-based Node ID 로 Failure Rate 조회
+	public final FailureRateTable failureRateTable;
+
+	public AllocationContext(JobProfile jp, TaskPhaseProfile tpp,
+			TaskPhaseProfile nextTpp, MultihopTrace trace, int realModeTime,
+			HashMap<Integer, Task> srcTid2Task, ArrayList<Integer> srcNids,
+			HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> srcTids,
+			HistoryStat historyStat, HashMap<Integer, Integer> zb2OrgNid) {
+		this.jp = jp;
+		this.tpp = tpp;
+		this.nextTpp = nextTpp;
+		this.trace = trace;
+		this.realModeTime = realModeTime;
+		this.curSnapshot = trace.getClosestSnapshot(realModeTime);
+		this.srcTid2Task = srcTid2Task;
+		this.srcNids = srcNids;
+		this.srcNid2Tid = srcNid2Tid;
+		this.srcTids = srcTids;
+		this.historyStat = historyStat;
+		this.zb2OrgNid = zb2OrgNid;
+		this.failureRateTable = historyStat.getFailureRateTable(zb2OrgNid);
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.mobilemr.task_allocation.heuristic;
+
+public enum ClosestPathType {
+	// REPLICATE 단계에서 Remote Src 를 Dst 와 연결하는 방법
+	// GREEDY 는 Src 순서대로 가장 가까운 Dst 를, BEST_GREEDY 는 시작 Src 를 바꿔가며
+	// 가장 거리 합이 작은 Greedy 결과를, MIN_COST_FLOW 는 거리 합이 최소인 할당을 택함
+	// 모두 Dst 마다 연결 수 차이가 1 이하가 되도록 Load Balancing 함
+	GREEDY, BEST_GREEDY, MIN_COST_FLOW
+}
@@ -0,0 +1,93 @@
+package com.mobilemr.task_allocation.heuristic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+class DstNidPool {
+
+	// Load Balancing 을 위해 연결할 때마다 빼고, 비면 다시 채우는 Dst Node Pool
+	// Pool 은 항상 dstNids 의 부분집합이고 순서도 같으므로
+	// ArrayList 복사와 remove(Object) 대신 dstNids 의 Index 별 사용 가능 여부로 표현
+
+	private final int[] dstNids;
+	// Node ID 를 Index 로 하는 dstNids 안의 처음 위치 (Dst 가 아니면 -1)
+	private final int[] nid2FirstIdx;
+	private final boolean[] available;
+	private int size;
+
+	DstNidPool(ArrayList<Integer> dstNids) {
+		this.dstNids = new int[dstNids.size()];
+		int maxDstNid = -1;
+		for (int i = 0; i < this.dstNids.length; i++) {
+			this.dstNids[i] = dstNids.get(i);
+			maxDstNid = Math.max(maxDstNid, this.dstNids[i]);
+		}
+		nid2FirstIdx = new int[maxDstNid + 1];
+		Arrays.fill(nid2FirstIdx, -1);
+		for (int i = this.dstNids.length - 1; i >= 0; i--) {
+			nid2FirstIdx[this.dstNids[i]] = i;
+		}
+		available = new boolean[this.dstNids.length];
+		size = 0;
+	}
+
+	DstNidPool(DstNidPool base) {
+		// 상태만 복사하고 Dst 목록은 공유
+		dstNids = base.dstNids;
+		nid2FirstIdx = base.nid2FirstIdx;
+		available = base.available.clone();
+		size = base.size;
+	}
+
+	boolean isDstNid(int nid) {
+		return 0 <= nid && nid < nid2FirstIdx.length && nid2FirstIdx[nid] != -1;
+	}
+
+	void refillIfEmpty() {
+		if (size == 0) {
+			Arrays.fill(available, true);
+			size = available.length;
+		}
+	}
+
+	int getNumDstNids() {
+		return dstNids.length;
+	}
+
+	int getDstNid(int idx) {
+		return dstNids[idx];
+	}
+
+	boolean isAvailable(int idx) {
+		return available[idx];
+	}
+
+	int getAvailableDstNid(int k) {
+		// Pool 의 k 번째 Dst Node
+		for (int i = 0; i < available.length; i++) {
+			if (available[i] && k-- == 0) {
+				return dstNids[i];
+			}
+		}
+		throw new IndexOutOfBoundsException(k + " " + size);
+	}
+
+	int size() {
+		return size;
+	}
+
+	void remove(int dstNid) {
+		// Pool 에서 처음 나오는 dstNid 하나만 제거 (없으면 무시)
+		if (!isDstNid(dstNid)) {
+			return;
+		}
+		for (int i = nid2FirstIdx[dstNid]; i < dstNids.length; i++) {
+			if (available[i] && dstNids[i] == dstNid) {
+				available[i] = false;
+				size--;
+				return;
+			}
+		}
+	}
+
+}
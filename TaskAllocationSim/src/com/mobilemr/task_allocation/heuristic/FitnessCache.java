@@ -0,0 +1,143 @@
+package com.mobilemr.task_allocation.heuristic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+public class FitnessCache {
+
+	// 같은 할당 시점에서 같은 Dst Node Subset 에 대한 추정 Simulation 결과를
+	// 세대 간, MTA-D 의 좌우 Engine 간에 재사용하기 위한 LRU Cache
+
+	private final int maxSize;
+	private final LinkedHashMap<Key, CompletableFuture<CostAndConn>> key2Fitness;
+	private long numHits = 0;
+	private long numMisses = 0;
+
+	public FitnessCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.key2Fitness = new LinkedHashMap<Key, CompletableFuture<CostAndConn>>(16, 0.75F, true) {
+			private static final long serialVersionUID = 2851796542387164625L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<CostAndConn>> eldest) {
+				return size() > FitnessCache.this.maxSize;
+			}
+		};
+	}
+
+	public CostAndConn computeIfAbsent(Key key, Supplier<CostAndConn> evaluator) {
+		// 같은 Key 를 여러 Thread 가 동시에 요청하면 처음 요청한 Thread 만 평가하고
+		// 나머지는 그 결과를 기다려서 Hit 로 셈 (평가 순서와 상관없이 Hit 수가 같음)
+		CompletableFuture<CostAndConn> future;
+		boolean owner = false;
+		synchronized (this) {
+			future = maxSize > 0 ? key2Fitness.get(key) : null;
+			if (future != null) {
+				numHits++;
+			} else {
+				numMisses++;
+				future = new CompletableFuture<>();
+				if (maxSize > 0) {
+					key2Fitness.put(key, future);
+				}
+				owner = true;
+			}
+		}
+		if (!owner) {
+			return join(future);
+		}
+
+		try {
+			future.complete(evaluator.get());
+		} catch (RuntimeException | Error e) {
+			// 실패한 평가는 기다리는 Thread 에도 전달하고 다음 요청에서 다시 평가
+			synchronized (this) {
+				key2Fitness.remove(key, future);
+			}
+			future.completeExceptionally(e);
+			throw e;
+		}
+		return future.join();
+	}
+
+	private static CostAndConn join(CompletableFuture<CostAndConn> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	public synchronized long getNumHits() {
+		return numHits;
+	}
+
+	public synchronized long getNumMisses() {
+		return numMisses;
+	}
+
+	public static Key keyOf(int snapshotTimestamp, int realModeTime,
+			int tpIndex, ArrayList<Integer> sortedDstNids) {
+		int[] dstNids = new int[sortedDstNids.size()];
+		for (int i = 0; i < dstNids.length; i++) {
+			dstNids[i] = sortedDstNids.get(i);
+		}
+		return new Key(snapshotTimestamp, realModeTime, tpIndex, dstNids);
+	}
+
+	public static class Key {
+
+		// 추정 Simulation 은 현재 Snapshot, 시작 시간, TaskPhase 와
+		// Dst Node 집합에 의해서만 결정되므로 이를 Key 로 사용
+
+		private final int snapshotTimestamp;
+		private final int realModeTime;
+		private final int tpIndex;
+		private final int[] sortedDstNids;
+		private final int hash;
+
+		private Key(int snapshotTimestamp, int realModeTime, int tpIndex,
+				int[] sortedDstNids) {
+			this.snapshotTimestamp = snapshotTimestamp;
+			this.realModeTime = realModeTime;
+			this.tpIndex = tpIndex;
+			this.sortedDstNids = sortedDstNids;
+			this.hash = ((snapshotTimestamp * 31 + realModeTime) * 31 + tpIndex)
+					* 31 + Arrays.hashCode(sortedDstNids);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) obj;
+			return this.hash == that.hash
+					&& this.snapshotTimestamp == that.snapshotTimestamp
+					&& this.realModeTime == that.realModeTime
+					&& this.tpIndex == that.tpIndex
+					&& Arrays.equals(this.sortedDstNids, that.sortedDstNids);
+		}
+
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.mobilemr.task_allocation.heuristic;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class FitnessEvaluationExecutor implements Executor {
+
+	// Engine 에 지정하는 Executor 로, 적합도 평가만 executor 에서 병렬로 수행
+	// Engine 은 선택과 변이를 CompletableFuture 의 비동기 작업으로 실행하는데,
+	// RandomRegistry.with() 의 Random 은 호출한 Thread 에만 적용되므로
+	// 다른 Thread 에서 실행되면 전역 Random 을 쓰게 되어 같은 Seed 로도 결과가 달라짐
+	// 따라서 비동기 작업은 호출한 (Trial 의) Thread 에서 바로 실행
+	// 적합도 평가는 Random 을 쓰지 않으므로 어느 Thread 에서 실행되든 결과가 같음
+
+	private final Executor executor;
+
+	public FitnessEvaluationExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (command instanceof CompletableFuture.AsynchronousCompletionTask) {
+			command.run();
+		} else {
+			executor.execute(command);
+		}
+	}
+
+}
@@ -3,6 +3,7 @@ package com.mobilemr.task_allocation.heuristic;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Random;
 
 import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
 
@@ -11,42 +12,47 @@ import com.mobilemr.task_allocation.Params;
 import com.mobilemr.task_allocation.platform.AllocationResult;
 import com.mobilemr.task_allocation.platform.JobResult;
 import com.mobilemr.task_allocation.platform.Task;
+import com.mobilemr.task_allocation.platform.TrialContext;
 import com.mobilemr.task_allocation.profile.JobProfile;
 import com.mobilemr.task_allocation.profile.TaskPhaseProfile;
-import com.mobilemr.task_allocation.util.Common;
+import com.mobilemr.trace.history.FailureRateTable;
 import com.mobilemr.trace.history.HistoryStat;
 import com.mobilemr.trace.struct.GeneralPair;
 import com.mobilemr.trace.struct.IntNodeUndirectedSparseGraph;
 import com.mobilemr.trace.struct.OrderedNumPair;
 
+import drcl.inet.protocol.aodv.struct.DistanceMatrix;
 import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
 import drcl.inet.protocol.aodv.struct.MultihopTrace;
-import drcl.inet.protocol.aodv.struct.WeightedUndirectedSparseGraph;
 
 public abstract class Heuristic {
 
-	// 계속 사용되므로 미리 Singleton 으로 등록 후 재사용
-	private static HashMap<String, Heuristic> CLS_2_HEURISTIC = new HashMap<>();
-
-	static {
-		CLS_2_HEURISTIC.put(HeuristicHadoop.class.getSimpleName(), new HeuristicHadoop());
-		CLS_2_HEURISTIC.put(HeuristicPurlieus.class.getSimpleName(), new HeuristicPurlieus());
-		CLS_2_HEURISTIC.put(HeuristicMtaS.class.getSimpleName(), new HeuristicMtaS());
-		CLS_2_HEURISTIC.put(HeuristicMtaD.class.getSimpleName(), new HeuristicMtaD());
+	protected TrialContext ctx;
+
+	public static Heuristic of(Class<? extends Heuristic> clsHeuristic, TrialContext ctx) {
+		// allocateTasks() 마다 Field 가 덮어써지므로,
+		// 병렬 Trial 간 공유되지 않도록 Singleton 대신 Trial 마다 생성
+		try {
+			Heuristic h = clsHeuristic.getDeclaredConstructor().newInstance();
+			h.ctx = ctx;
+			return h;
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
+		}
 	}
 
-	public static Heuristic of(Class<? extends Heuristic> clsHeuristic) {
-		return CLS_2_HEURISTIC.get(clsHeuristic.getSimpleName());
+	public TrialContext getContext() {
+		return ctx;
 	}
 
 	public HashMap<Integer, Task> allocateData(JobProfile jp, MultihopSnapshot initSnapshot) {
 		// 기본 전략: 목표 Node 개수만큼 Random Input 분배
 		int numInitNodes = (int) (initSnapshot.getNodeCount() * Params.MAX_CLUSTER_UTILIZATION);
 		double inputSize_Per_Task = jp.inputSize / numInitNodes;
-		ArrayList<Integer> initNids = initSnapshot.getRandomNids(numInitNodes);
+		ArrayList<Integer> initNids = initSnapshot.getRandomNids(numInitNodes, ctx.random);
 		HashMap<Integer, Task> initTid2Task = new HashMap<>();
 		for (Integer initNid : initNids) {
-			int tid = Task.generateId();
+			int tid = ctx.generateTid();
 			initTid2Task.put(tid, new Task(tid, initNid, inputSize_Per_Task));
 		}
 		return initTid2Task;
@@ -71,8 +77,21 @@ public abstract class Heuristic {
 				trace, realModeTime, srcTid2Task, srcNids, srcNid2Tid, srcTids, historyStat, zb2OrgNid);
 
 		// Task 할당 결과 반환
-		return toAllocationResult(conns.getFirst(), conns.getSecond(), tpp, nextTpp, trace, realModeTime, srcTid2Task,
-				historyStat, zb2OrgNid);
+		AllocationResult allocationResult = toAllocationResult(conns.getFirst(), conns.getSecond(), tpp, nextTpp,
+				trace, realModeTime, srcTid2Task, historyStat, zb2OrgNid);
+		allocationResult.numCacheHits = getNumCacheHits();
+		allocationResult.qualityCurve = getQualityCurve();
+		return allocationResult;
+	}
+
+	public Double getNumCacheHits() {
+		// 적합도 Cache 를 사용하지 않는 Heuristic
+		return null;
+	}
+
+	public ArrayList<GeneralPair<Long, Float>> getQualityCurve() {
+		// 반복적으로 해를 개선하지 않는 Heuristic
+		return null;
 	}
 
 	public abstract GeneralPair<ArrayList<OrderedNumPair<Integer>>, Double> allocateTasks(String inputTraceId,
@@ -99,23 +118,19 @@ public abstract class Heuristic {
 			// float o = nextTpp.inputSize / N;
 			// float d_proc = o / nextTpp.B_P;
 
-			float LD = 0;
-			for (int dstZbNid : dstNids) {
-				// Failure Rate 가 NaN 인 경우 이용 불가능하므로
-				// 오류를 발생시켜서 현재 Trace 를 비교대상에서 제외
-				int dstOrgNid = zb2OrgNid.get(dstZbNid);
-				float l_j = historyStat.getFailureRate(dstOrgNid, realModeTimestampOfInputFile);
-				if (Float.isNaN(l_j)) {
-					throw new RuntimeException(dstZbNid + " " + realModeTimestampOfInputFile);
-				}
-				LD += l_j;
+			FailureRateTable failureRateTable = historyStat.getFailureRateTable(zb2OrgNid);
+			int intervalIdx = failureRateTable.getIntervalIdx(realModeTimestampOfInputFile);
+
+			// Failure Rate 가 NaN 인 경우 이용 불가능하므로
+			// 오류를 발생시켜서 현재 Trace 를 비교대상에서 제외
+			float LD = failureRateTable.sumFailureRates(dstNids, intervalIdx);
+			if (Float.isNaN(LD)) {
+				throw new RuntimeException(dstNids + " " + realModeTimestampOfInputFile);
 			}
 			reliability = Math.exp(-LD);
 
 			// 할당 결과를 기반으로 다음 TaskPhase 수행시간 추정
-			HashMap<Integer, Task> srcTid2TaskCloned = new HashMap<>();
-			srcTid2Task.forEach((k, v) -> srcTid2TaskCloned.put(k, (Task) v.clone()));
-			JobResult result = new EstTraceRunner(this, trace, realModeTime, tpp, nextTpp, srcTid2TaskCloned, conns)
+			JobResult result = new EstTraceRunner(this, trace, realModeTime, tpp, nextTpp, Task.fork(srcTid2Task), conns)
 					.start();
 			// 현재 Topology 로만 작업 수행시간을 추정하기 때문에
 			// 실패가 발생할 수 없음
@@ -167,8 +182,7 @@ public abstract class Heuristic {
 					if (d_comm_j != null) {
 						// Failure Rate 가 NaN 인 경우 이용 불가능하므로
 						// 오류를 발생시켜서 현재 Trace 를 비교대상에서 제외
-						int dstOrgNid = zb2OrgNid.get(dstZbNid);
-						float l_j = historyStat.getFailureRate(dstOrgNid, realModeTimestampOfInputFile);
+						float l_j = failureRateTable.getFailureRateAt(dstZbNid, intervalIdx);
 						if (Float.isNaN(l_j)) {
 							throw new RuntimeException(dstZbNid + " " + realModeTimestampOfInputFile);
 						}
@@ -206,13 +220,13 @@ public abstract class Heuristic {
 
 		// Contention Degree 계산
 		MultihopSnapshot curSnapshot = trace.getClosestSnapshot(realModeTime);
-		WeightedUndirectedSparseGraph curWeightedGraph = curSnapshot.toEtxWeightedGraph();
+		DistanceMatrix etxDistances = curSnapshot.getEtxDistances();
 		Double contention = (double) 0;
 		for (OrderedNumPair<Integer> conn : conns) {
 			int srcTid = conn.getFirst();
 			int srcNid = srcTid2Task.get(srcTid).nid;
 			int dstNid = conn.getSecond();
-			contention += curWeightedGraph.getDistance(srcNid, dstNid);
+			contention += etxDistances.get(srcNid, dstNid);
 		}
 		int curNumNodes = curSnapshot.getNodeCount();
 		double clusterUtilization = (double) dstNids.size() / curNumNodes;
@@ -220,8 +234,8 @@ public abstract class Heuristic {
 				clusterUtilization);
 	}
 
-	public static <E> ArrayList<OrderedNumPair<Integer>> createGreedyClosestPaths(
-			IntNodeUndirectedSparseGraph<E> curSnapshot, ArrayList<Integer> srcNids,
+	public static ArrayList<OrderedNumPair<Integer>> createGreedyClosestPaths(
+			MultihopSnapshot curSnapshot, ArrayList<Integer> srcNids,
 			HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> dstNids) {
 		// Src 와 Dst 이 주어졌을 때, 다음 기준으로 Local & Remote 연결
 		// 1. 최대한 Src 와 Dst 의 Local 로 연결하고,
@@ -229,43 +243,27 @@ public abstract class Heuristic {
 
 		// 1. Local 연결
 		ArrayList<OrderedNumPair<Integer>> conns = new ArrayList<>();
-		ArrayList<Integer> dstNidPool = new ArrayList<>();
-		ArrayList<Integer> remoteSrcNids = new ArrayList<>();
-		for (Integer srcNid : srcNids) {
-			// Load Balancing 을 위해 Dst Pool 이 비어있을 경우 복제
-			if (dstNidPool.isEmpty()) {
-				dstNids.forEach(dstNid -> dstNidPool.add(dstNid));
-			}
-
-			// Local 검사
-			if (dstNids.contains(srcNid)) {
-				// Local 일 경우 바로 연결
-				Integer srcTid = srcNid2Tid.get(srcNid);
-				conns.add(new OrderedNumPair<Integer>(srcTid, srcNid));
-
-				// 연결했으므로 Dst Pool 에서 제거
-				dstNidPool.remove(srcNid);
-
-			} else {
-				// Remote 일 경우 나중에 연결하기 위해 저장
-				remoteSrcNids.add(srcNid);
-			}
-		}
+		DstNidPool dstNidPool = new DstNidPool(dstNids);
+		ArrayList<Integer> remoteSrcNids = connectLocals(srcNids, srcNid2Tid,
+				dstNidPool, conns);
 
 		// 2. Remote 연결
+		DistanceMatrix hopDistances = curSnapshot.getHopDistances();
 
 		// Remote Src 노드를 순차적으로 Greedy 탐색
 		for (Integer remoteSrcNid : remoteSrcNids) {
 			// Load Balancing 을 위해 Dst Pool 이 비어있을 경우 복제
-			if (dstNidPool.isEmpty()) {
-				dstNids.forEach(x -> dstNidPool.add(x));
-			}
+			dstNidPool.refillIfEmpty();
 
 			// 현재 Src Node 와 가장 가까운 Dst Node 를 탐색
 			double minDist = Float.MAX_VALUE;
-			Integer minDstNid = -1;
-			for (Integer curDstNid : dstNidPool) {
-				double curDist = curSnapshot.getDistance(remoteSrcNid, curDstNid);
+			int minDstNid = -1;
+			for (int k = 0; k < dstNidPool.getNumDstNids(); k++) {
+				if (!dstNidPool.isAvailable(k)) {
+					continue;
+				}
+				int curDstNid = dstNidPool.getDstNid(k);
+				double curDist = hopDistances.get(remoteSrcNid, curDstNid);
 				if (curDist < minDist) {
 					minDist = curDist;
 					minDstNid = curDstNid;
@@ -282,8 +280,8 @@ public abstract class Heuristic {
 		return conns;
 	}
 
-	public static <E> ArrayList<OrderedNumPair<Integer>> createBestClosestPaths(
-			IntNodeUndirectedSparseGraph<E> curSnapshot, ArrayList<Integer> srcNids,
+	public static ArrayList<OrderedNumPair<Integer>> createBestClosestPaths(
+			MultihopSnapshot curSnapshot, ArrayList<Integer> srcNids,
 			HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> dstNids) {
 		// Src 와 Dst 이 주어졌을 때, 다음 기준으로 Local & Remote 연결
 		// 1. 최대한 Src 와 Dst 의 Local 로 연결하고,
@@ -291,72 +289,55 @@ public abstract class Heuristic {
 
 		// 1. Local 연결
 		ArrayList<OrderedNumPair<Integer>> tempConns = new ArrayList<>();
-		ArrayList<Integer> tempDstNidPool = new ArrayList<>();
-		ArrayList<Integer> tempRemoteSrcNids = new ArrayList<>();
-		for (Integer srcNid : srcNids) {
-			// Load Balancing 을 위해 Dst Pool 이 비어있을 경우 복제
-			if (tempDstNidPool.isEmpty()) {
-				dstNids.forEach(dstNid -> tempDstNidPool.add(dstNid));
-			}
-
-			// Local 검사
-			if (dstNids.contains(srcNid)) {
-				// Local 일 경우 바로 연결
-				Integer srcTid = srcNid2Tid.get(srcNid);
-				tempConns.add(new OrderedNumPair<Integer>(srcTid, srcNid));
-
-				// 연결했으므로 Dst Pool 에서 제거
-				tempDstNidPool.remove(srcNid);
-
-			} else {
-				// Remote 일 경우 나중에 연결하기 위해 저장
-				tempRemoteSrcNids.add(srcNid);
-			}
-		}
+		DstNidPool tempDstNidPool = new DstNidPool(dstNids);
+		ArrayList<Integer> tempRemoteSrcNids = connectLocals(srcNids,
+				srcNid2Tid, tempDstNidPool, tempConns);
 
 		// 2. Remote 가 있을 경우 연결
 		if (tempRemoteSrcNids.isEmpty()) {
 			return tempConns;
 		} else {
+			// 시작 순서마다 다시 조회하지 않도록 Remote Src x Dst 거리를 미리 저장
+			DistanceMatrix hopDistances = curSnapshot.getHopDistances();
+			int numRemoteSrcs = tempRemoteSrcNids.size();
+			int numDsts = tempDstNidPool.getNumDstNids();
+			double[][] dists = new double[numRemoteSrcs][numDsts];
+			for (int r = 0; r < numRemoteSrcs; r++) {
+				for (int k = 0; k < numDsts; k++) {
+					dists[r][k] = hopDistances.get(tempRemoteSrcNids.get(r),
+							tempDstNidPool.getDstNid(k));
+				}
+			}
+
 			// remoteSrcNids 를 매번 다른 것을 처음으로 추가해서 Greedy 의 결과 변화 유도
+			// 시작 순서별로 Dst Node 만 기록하고, 연결은 최소 조합만 생성
 			double minGreedyDist = Float.MAX_VALUE;
-			ArrayList<OrderedNumPair<Integer>> minConns = null;
-			for (int i = 0; i < tempRemoteSrcNids.size(); i++) {
+			int minStartIdx = -1;
+			int[] minDstNids = null;
+			int[] curDstNids = new int[numRemoteSrcs];
+			for (int i = 0; i < numRemoteSrcs; i++) {
 				// Temp 변수를 이용한 현재 Greedy 시험 변수 초기화
-				ArrayList<Integer> dstNidPool = new ArrayList<>(tempDstNidPool);
-				ArrayList<Integer> remoteSrcNids = new ArrayList<>();
-				for (int j = i; j < tempRemoteSrcNids.size(); j++) {
-					remoteSrcNids.add(tempRemoteSrcNids.get(j));
-				}
-				for (int j = 0; j < i; j++) {
-					remoteSrcNids.add(tempRemoteSrcNids.get(j));
-				}
-				ArrayList<OrderedNumPair<Integer>> conns = new ArrayList<>();
-				tempConns.forEach(x -> conns.add(x));
+				DstNidPool dstNidPool = new DstNidPool(tempDstNidPool);
 
 				// Remote Src 노드를 순차적으로 Greedy 탐색
 				double sumGreedyDist = 0;
-				for (Integer remoteSrcNid : remoteSrcNids) {
+				for (int j = 0; j < numRemoteSrcs; j++) {
+					int r = (i + j) % numRemoteSrcs;
+
 					// Load Balancing 을 위해 Dst Pool 이 비어있을 경우 복제
-					if (dstNidPool.isEmpty()) {
-						dstNids.forEach(x -> dstNidPool.add(x));
-					}
+					dstNidPool.refillIfEmpty();
 
 					// 현재 Src Node 와 가장 가까운 Dst Node 를 탐색
 					double minDist = Float.MAX_VALUE;
-					Integer minDstNid = -1;
-					for (Integer curDstNid : dstNidPool) {
-						double curDist = curSnapshot.getDistance(remoteSrcNid, curDstNid);
-						if (curDist < minDist) {
-							minDist = curDist;
-							minDstNid = curDstNid;
+					int minDstNid = -1;
+					for (int k = 0; k < numDsts; k++) {
+						if (dstNidPool.isAvailable(k) && dists[r][k] < minDist) {
+							minDist = dists[r][k];
+							minDstNid = dstNidPool.getDstNid(k);
 						}
 					}
 					sumGreedyDist += minDist;
-
-					// Src Tid 와 Dst Nid 연결
-					Integer remoteSrcTid = srcNid2Tid.get(remoteSrcNid);
-					conns.add(new OrderedNumPair<Integer>(remoteSrcTid, minDstNid));
+					curDstNids[j] = minDstNid;
 
 					// 연결했으므로 Dst Pool 에서 제거
 					dstNidPool.remove(minDstNid);
@@ -365,55 +346,137 @@ public abstract class Heuristic {
 				// 최소 Greedy 조합 검사
 				if (sumGreedyDist < minGreedyDist) {
 					minGreedyDist = sumGreedyDist;
-					minConns = conns;
+					minDstNids = curDstNids.clone();
+					minStartIdx = i;
 				}
 			}
+
+			// 거리가 모두 무한대라 최소 조합이 없으면 기존처럼 null
+			if (minDstNids == null) {
+				return null;
+			}
+
+			// Src Tid 와 Dst Nid 연결
+			ArrayList<OrderedNumPair<Integer>> minConns = new ArrayList<>(
+					tempConns);
+			for (int j = 0; j < numRemoteSrcs; j++) {
+				int remoteSrcNid = tempRemoteSrcNids.get((minStartIdx + j)
+						% numRemoteSrcs);
+				Integer remoteSrcTid = srcNid2Tid.get(remoteSrcNid);
+				minConns.add(new OrderedNumPair<Integer>(remoteSrcTid,
+						minDstNids[j]));
+			}
 			return minConns;
 		}
 	}
 
-	public static <E> ArrayList<OrderedNumPair<Integer>> createRandomPaths(IntNodeUndirectedSparseGraph<E> curSnapshot,
-			ArrayList<Integer> srcNids, HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> dstNids) {
+	public static GeneralPair<ArrayList<OrderedNumPair<Integer>>, Double> createOptimalClosestPaths(
+			MultihopSnapshot curSnapshot, ArrayList<Integer> srcNids,
+			HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> dstNids) {
 		// Src 와 Dst 이 주어졌을 때, 다음 기준으로 Local & Remote 연결
 		// 1. 최대한 Src 와 Dst 의 Local 로 연결하고,
-		// 2. 나머지 Src 와 Dst 에 대해, Random 으로 연결
+		// 2. 나머지 Src 와 Dst 에 대해, 거리 합이 최소가 되도록 연결
+		// Greedy 와 같이 Dst 별 연결 수는 전체 Src 수 / Dst 수의 내림 또는 올림
+		// 연결과 함께 Remote 연결의 거리 합 반환
 
 		// 1. Local 연결
+		// 같은 Nid 가 여러 번 있으면 indexOf 와 같이 처음 위치 사용
+		int numDsts = dstNids.size();
+		HashMap<Integer, Integer> dstNid2Idx = new HashMap<>();
+		for (int k = 0; k < numDsts; k++) {
+			dstNid2Idx.putIfAbsent(dstNids.get(k), k);
+		}
+		int[] dstLoads = new int[numDsts];
 		ArrayList<OrderedNumPair<Integer>> conns = new ArrayList<>();
 		ArrayList<Integer> remoteSrcNids = new ArrayList<>();
-		ArrayList<Integer> dstNidPool = new ArrayList<>();
 		for (Integer srcNid : srcNids) {
-			// Load Balancing 을 위해 Dst Pool 이 비어있을 경우 복제
-			if (dstNidPool.isEmpty()) {
-				dstNids.forEach(x -> dstNidPool.add(x));
-			}
-
-			// Local 검사
-			if (dstNids.contains(srcNid)) {
-				// Local 일 경우 바로 연결
+			Integer localDstIdx = dstNid2Idx.get(srcNid);
+			if (localDstIdx != null) {
 				Integer srcTid = srcNid2Tid.get(srcNid);
 				conns.add(new OrderedNumPair<Integer>(srcTid, srcNid));
-
-				// 연결했으므로 Dst Pool 에서 제거
-				dstNidPool.remove(srcNid);
-
+				dstLoads[localDstIdx]++;
 			} else {
-				// Remote 일 경우 나중에 연결하기 위해 저장
 				remoteSrcNids.add(srcNid);
 			}
 		}
+		if (remoteSrcNids.isEmpty()) {
+			return new GeneralPair<>(conns, 0.0);
+		}
+
+		// 2. Remote 연결
+		// Dst 별 남은 용량 : 내림까지는 비용 없이, 올림까지는 꼭 필요할 때만
+		int minLoad = srcNids.size() / numDsts;
+		int maxLoad = (srcNids.size() + numDsts - 1) / numDsts;
+		int[] capacities = new int[numDsts];
+		int[] extraCapacities = new int[numDsts];
+		for (int k = 0; k < numDsts; k++) {
+			capacities[k] = Math.max(0, minLoad - dstLoads[k]);
+			extraCapacities[k] = maxLoad - dstLoads[k] - capacities[k];
+		}
+
+		// Remote Src x Dst 거리
+		DistanceMatrix hopDistances = curSnapshot.getHopDistances();
+		double[][] dists = new double[remoteSrcNids.size()][numDsts];
+		for (int i = 0; i < remoteSrcNids.size(); i++) {
+			for (int k = 0; k < numDsts; k++) {
+				dists[i][k] = hopDistances.get(remoteSrcNids.get(i),
+						dstNids.get(k));
+			}
+		}
+		MinCostAssignment assignment = MinCostAssignment.solve(dists,
+				capacities, extraCapacities);
+
+		// Src Tid 와 Dst Nid 연결
+		for (int i = 0; i < remoteSrcNids.size(); i++) {
+			Integer remoteSrcTid = srcNid2Tid.get(remoteSrcNids.get(i));
+			conns.add(new OrderedNumPair<Integer>(remoteSrcTid, dstNids
+					.get(assignment.src2DstIdx[i])));
+		}
+		return new GeneralPair<>(conns, assignment.cost);
+	}
+
+	public static ArrayList<OrderedNumPair<Integer>> createClosestPaths(
+			ClosestPathType closestPathType, MultihopSnapshot curSnapshot,
+			ArrayList<Integer> srcNids, HashMap<Integer, Integer> srcNid2Tid,
+			ArrayList<Integer> dstNids) {
+		switch (closestPathType) {
+		case GREEDY:
+			return createGreedyClosestPaths(curSnapshot, srcNids, srcNid2Tid,
+					dstNids);
+		case BEST_GREEDY:
+			return createBestClosestPaths(curSnapshot, srcNids, srcNid2Tid,
+					dstNids);
+		case MIN_COST_FLOW:
+			return createOptimalClosestPaths(curSnapshot, srcNids, srcNid2Tid,
+					dstNids).getFirst();
+		default:
+			throw new IllegalStateException(closestPathType + "");
+		}
+	}
+
+	public static <E> ArrayList<OrderedNumPair<Integer>> createRandomPaths(IntNodeUndirectedSparseGraph<E> curSnapshot,
+			ArrayList<Integer> srcNids, HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> dstNids,
+			Random random) {
+		// Src 와 Dst 이 주어졌을 때, 다음 기준으로 Local & Remote 연결
+		// 1. 최대한 Src 와 Dst 의 Local 로 연결하고,
+		// 2. 나머지 Src 와 Dst 에 대해, Random 으로 연결
+
+		// 1. Local 연결
+		ArrayList<OrderedNumPair<Integer>> conns = new ArrayList<>();
+		DstNidPool dstNidPool = new DstNidPool(dstNids);
+		ArrayList<Integer> remoteSrcNids = connectLocals(srcNids, srcNid2Tid,
+				dstNidPool, conns);
 
 		// 2. Remote 연결
 		// Cluster Utilization 을 최대한 만족시키는 Random 할당
 		for (Integer remoteSrcNid : remoteSrcNids) {
 			// Load Balancing 을 위해 Dst Pool 이 비어있을 경우 복제
-			if (dstNidPool.isEmpty()) {
-				dstNids.forEach(x -> dstNidPool.add(x));
-			}
+			dstNidPool.refillIfEmpty();
 
 			// 연결
 			Integer remoteSrcTid = srcNid2Tid.get(remoteSrcNid);
-			Integer dstNid = dstNidPool.get(Common.R.nextInt(dstNidPool.size()));
+			int dstNid = dstNidPool.getAvailableDstNid(random
+					.nextInt(dstNidPool.size()));
 			conns.add(new OrderedNumPair<Integer>(remoteSrcTid, dstNid));
 
 			// 연결했으므로 Dst Pool 에서 제거
@@ -422,6 +485,32 @@ public abstract class Heuristic {
 		return conns;
 	}
 
+	private static ArrayList<Integer> connectLocals(ArrayList<Integer> srcNids,
+			HashMap<Integer, Integer> srcNid2Tid, DstNidPool dstNidPool,
+			ArrayList<OrderedNumPair<Integer>> conns) {
+		// Dst 이기도 한 Src 는 Local 로 바로 연결하고, 나머지 Remote Src 목록 반환
+		ArrayList<Integer> remoteSrcNids = new ArrayList<>();
+		for (Integer srcNid : srcNids) {
+			// Load Balancing 을 위해 Dst Pool 이 비어있을 경우 복제
+			dstNidPool.refillIfEmpty();
+
+			// Local 검사
+			if (dstNidPool.isDstNid(srcNid)) {
+				// Local 일 경우 바로 연결
+				Integer srcTid = srcNid2Tid.get(srcNid);
+				conns.add(new OrderedNumPair<Integer>(srcTid, srcNid));
+
+				// 연결했으므로 Dst Pool 에서 제거
+				dstNidPool.remove(srcNid);
+
+			} else {
+				// Remote 일 경우 나중에 연결하기 위해 저장
+				remoteSrcNids.add(srcNid);
+			}
+		}
+		return remoteSrcNids;
+	}
+
 	public static ArrayList<OrderedNumPair<Integer>> createShufflePaths(ArrayList<Integer> srcTids,
 			ArrayList<Integer> dstNids) {
 		// 각 Src Tid 를 모든 Dst Nid 와 연결
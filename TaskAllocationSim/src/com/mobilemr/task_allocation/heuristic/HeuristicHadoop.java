@@ -37,7 +37,7 @@ public class HeuristicHadoop extends Heuristic {
 		if (tpp.commType == CommType.REPLICATE) {
 			// Data Local Dst Node ID 결정
 			ArrayList<Integer> dstNids = curSnapshot.getDataLocalNids(srcNids,
-					maxNodesToSelect);
+					maxNodesToSelect, ctx.random);
 
 			// Src:Dst = Utilization 에 따라 1:1 or M:1 or 1:M 모두 가능
 			return new GeneralPair<>(createGreedyClosestPaths(curSnapshot,
@@ -45,8 +45,8 @@ public class HeuristicHadoop extends Heuristic {
 
 		} else if (tpp.commType == CommType.SHUFFLE) {
 			// Random Dst Nid 목록 생성
-			ArrayList<Integer> dstNids = curSnapshot
-					.getRandomNids(maxNodesToSelect);
+			ArrayList<Integer> dstNids = curSnapshot.getRandomNids(
+					maxNodesToSelect, ctx.random);
 
 			// Src:Dst = N:M 연결
 			return new GeneralPair<>(createShufflePaths(srcTids, dstNids), 1.0);
@@ -1,12 +1,7 @@
 package com.mobilemr.task_allocation.heuristic;
 
 import io.jenetics.EnumGene;
-import io.jenetics.Optimize;
 import io.jenetics.Phenotype;
-import io.jenetics.engine.Codecs;
-import io.jenetics.engine.Engine;
-import io.jenetics.engine.EvolutionResult;
-import io.jenetics.engine.Limits;
 import io.jenetics.util.ISeq;
 
 import java.util.ArrayList;
@@ -20,6 +15,7 @@ import com.mobilemr.trace.history.HistoryStat;
 import com.mobilemr.trace.struct.GeneralPair;
 import com.mobilemr.trace.struct.OrderedNumPair;
 
+import drcl.inet.protocol.aodv.struct.MultihopSnapshot;
 import drcl.inet.protocol.aodv.struct.MultihopTrace;
 
 @SuppressWarnings("unchecked")
@@ -32,26 +28,29 @@ public class HeuristicMtaD extends HeuristicMtaS {
 			HashMap<Integer, Task> srcTid2Task, ArrayList<Integer> srcNids,
 			HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> srcTids,
 			HistoryStat historyStat, HashMap<Integer, Integer> zb2OrgNid) {
-		this.jp = jp;
-		this.tpp = tpp;
-		this.nextTpp = nextTpp;
-		this.trace = trace;
-		this.realModeTime = realModeTime;
-		this.curSnapshot = trace.getClosestSnapshot(realModeTime);
-		this.srcTid2Task = srcTid2Task;
-		this.srcNids = srcNids;
-		this.srcNid2Tid = srcNid2Tid;
-		this.srcTids = srcTids;
-		this.historyStat = historyStat;
-		this.zb2OrgNid = zb2OrgNid;
+		startAllocation();
+		AllocationContext ac = new AllocationContext(jp, tpp, nextTpp, trace,
+				realModeTime, srcTid2Task, srcNids, srcNid2Tid, srcTids,
+				historyStat, zb2OrgNid);
+		MultihopSnapshot curSnapshot = ac.curSnapshot;
 
 		// MTA-S 자체의 Local Optima 찾는 능력의 한계로 인해
 		// haggle 데이터셋에서 수렴을 안해서 아래처럼 탐색범위를 강제함
-		// int K_Low = 1;
-		// int K_High = curSnapshot.getNodeCount();
-		int K_Low = (int) (curSnapshot.getNodeCount() * 0.6);
-		int K_High = (int) (curSnapshot.getNodeCount() * 0.8);
+		// Island Model 을 사용하면 이주로 Local Optima 를 벗어나므로 전체 범위에서 탐색
+		int K_Low;
+		int K_High;
+		if (Params.NUM_ISLANDS > 1) {
+			K_Low = 1;
+			K_High = curSnapshot.getNodeCount();
+		} else {
+			K_Low = (int) (curSnapshot.getNodeCount() * 0.6);
+			K_High = (int) (curSnapshot.getNodeCount() * 0.8);
+		}
+		// 탐색이 끝난 쪽의 결과를 반환하고,
+		// 마감 시각이 지난 경우에만 지금까지 평가한 전체 K 중 최선을 반환
+		CostAndConn lastCostAndConn = new CostAndConn();
 		CostAndConn bestCostAndConn = new CostAndConn();
+		boolean deadlinePassed = false;
 		while (K_Low <= K_High) {
 			int K_L = (3 * K_Low + K_High) / 4;
 			int K_M = (K_Low + K_High) / 2;
@@ -64,58 +63,49 @@ public class HeuristicMtaD extends HeuristicMtaS {
 			ISeq<Integer> allNodeAlleles = curNids.stream().collect(
 					ISeq.toISeq());
 
-			// 왼쪽 오른쪽 Engine 생성
-			Engine<EnumGene<Integer>, CostAndConn> engine_L = Engine
-					.builder(fitness(this),
-							Codecs.ofSubSet(allNodeAlleles, K_L)) //
-					.populationSize(Params.POPULATION_SIZE) //
-					.survivorsSelector(Params.SURVIVORS_SELECTOR) //
-					.offspringSelector(Params.OFFSPRING_SELECTOR) //
-					.alterers(Params.CROSSOVER, //
-							Params.MUTATOR) //
-					.optimize(Optimize.MINIMUM) //
-					.build();
-			Engine<EnumGene<Integer>, CostAndConn> engine_R = Engine
-					.builder(fitness(this),
-							Codecs.ofSubSet(allNodeAlleles, K_R)) //
-					.populationSize(Params.POPULATION_SIZE) //
-					.survivorsSelector(Params.SURVIVORS_SELECTOR) //
-					.offspringSelector(Params.OFFSPRING_SELECTOR) //
-					.alterers(Params.CROSSOVER, //
-							Params.MUTATOR) //
-					.optimize(Optimize.MINIMUM) //
-					.build();
+			// 왼쪽 오른쪽 최적화 결과 추출
+			Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype_L = findBestPhenotype(
+					ac, allNodeAlleles, K_L);
+
+			// 마감 시각이 지나면 지금까지 찾은 것 중 최선을 반환
+			if (isDeadlinePassed()) {
+				if (bestPhenotype_L.getFitness().compareTo(bestCostAndConn) <= 0) {
+					bestCostAndConn = bestPhenotype_L.getFitness();
+				}
+				deadlinePassed = true;
+				break;
+			}
 
-			// 최적화 결과 추출
-			Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype_L = engine_L
-					.stream()
-					.limit(Limits.bySteadyFitness(Params.STEADY_GENERATIONS))
-					.limit(Params.MAX_GENERATIONS)
-					.collect(EvolutionResult.toBestPhenotype());
-			Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype_R = engine_R
-					.stream()
-					.limit(Limits.bySteadyFitness(Params.STEADY_GENERATIONS))
-					.limit(Params.MAX_GENERATIONS)
-					.collect(EvolutionResult.toBestPhenotype());
+			Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype_R = findBestPhenotype(
+					ac, allNodeAlleles, K_R);
 
 			// 더 Cost 가 작은 쪽으로 탐색
 			float cost_L = bestPhenotype_L.getFitness().getCost();
 			float cost_R = bestPhenotype_R.getFitness().getCost();
 			if (cost_L < cost_R) {
 				K_High = K_M - 1;
-				bestCostAndConn = bestPhenotype_L.getFitness();
+				lastCostAndConn = bestPhenotype_L.getFitness();
 			} else {
 				K_Low = K_M + 1;
-				bestCostAndConn = bestPhenotype_R.getFitness();
+				lastCostAndConn = bestPhenotype_R.getFitness();
+			}
+			if (lastCostAndConn.compareTo(bestCostAndConn) <= 0) {
+				bestCostAndConn = lastCostAndConn;
 			}
 
 			// 어느쪽도 성공 못하면 빠른 포기
-			if (bestCostAndConn.getCost() == Float.MAX_VALUE) {
+			if (lastCostAndConn.getCost() == Float.MAX_VALUE) {
+				break;
+			}
+			if (isDeadlinePassed()) {
+				deadlinePassed = true;
 				break;
 			}
 		}
-		return new GeneralPair<>(bestCostAndConn.getConnections(),
-				(double) numSearches / Params.POPULATION_SIZE);
+		CostAndConn resultCostAndConn = deadlinePassed ? bestCostAndConn
+				: lastCostAndConn;
+		return new GeneralPair<>(resultCostAndConn.getConnections(),
+				(double) numSearches.sum() / Params.POPULATION_SIZE);
 	}
 
 }
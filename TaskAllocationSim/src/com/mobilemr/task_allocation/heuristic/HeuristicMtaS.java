@@ -1,6 +1,7 @@
 package com.mobilemr.task_allocation.heuristic;
 
 import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
 import io.jenetics.Optimize;
 import io.jenetics.Phenotype;
 import io.jenetics.engine.Codecs;
@@ -10,12 +11,14 @@ import io.jenetics.engine.Limits;
 import io.jenetics.util.ISeq;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
-import com.mobilemr.task_allocation.EstTraceRunner;
 import com.mobilemr.task_allocation.Params;
-import com.mobilemr.task_allocation.platform.JobResult;
 import com.mobilemr.task_allocation.platform.Task;
 import com.mobilemr.task_allocation.profile.CommType;
 import com.mobilemr.task_allocation.profile.JobProfile;
@@ -30,19 +33,18 @@ import drcl.inet.protocol.aodv.struct.MultihopTrace;
 @SuppressWarnings("unchecked")
 public class HeuristicMtaS extends Heuristic {
 
-	protected JobProfile jp;
-	protected TaskPhaseProfile tpp;
-	protected TaskPhaseProfile nextTpp;
-	protected MultihopTrace trace;
-	protected int realModeTime;
-	protected MultihopSnapshot curSnapshot;
-	protected HashMap<Integer, Task> srcTid2Task;
-	protected ArrayList<Integer> srcNids;
-	protected HashMap<Integer, Integer> srcNid2Tid;
-	protected ArrayList<Integer> srcTids;
-	protected HistoryStat historyStat;
-	protected HashMap<Integer, Integer> zb2OrgNid;
-	protected Integer numSearches = 0;
+	// 현재 allocateTasks() 에서 실제 Simulation 을 수행한 탐색 횟수
+	protected final LongAdder numSearches = new LongAdder();
+	// 현재 allocateTasks() 시작 시점의 적합도 Cache 누적 Hit 수
+	protected long numCacheHitsAtStart;
+	protected FitnessCache fitnessCache = new FitnessCache(
+			Params.FITNESS_CACHE_SIZE);
+	protected WarmStartCache warmStartCache = new WarmStartCache(
+			Params.WARM_START_SIZE);
+	// 현재 allocateTasks() 의 시작 시각, 마감 시각과 시간별 최소 Cost
+	protected long allocationStartNanos;
+	protected long allocationDeadlineNanos;
+	protected ArrayList<GeneralPair<Long, Float>> qualityCurve;
 
 	@Override
 	public GeneralPair<ArrayList<OrderedNumPair<Integer>>, Double> allocateTasks(
@@ -51,18 +53,11 @@ public class HeuristicMtaS extends Heuristic {
 			HashMap<Integer, Task> srcTid2Task, ArrayList<Integer> srcNids,
 			HashMap<Integer, Integer> srcNid2Tid, ArrayList<Integer> srcTids,
 			HistoryStat historyStat, HashMap<Integer, Integer> zb2OrgNid) {
-		this.jp = jp;
-		this.tpp = tpp;
-		this.nextTpp = nextTpp;
-		this.trace = trace;
-		this.realModeTime = realModeTime;
-		this.curSnapshot = trace.getClosestSnapshot(realModeTime);
-		this.srcTid2Task = srcTid2Task;
-		this.srcNids = srcNids;
-		this.srcNid2Tid = srcNid2Tid;
-		this.srcTids = srcTids;
-		this.historyStat = historyStat;
-		this.zb2OrgNid = zb2OrgNid;
+		startAllocation();
+		AllocationContext ac = new AllocationContext(jp, tpp, nextTpp, trace,
+				realModeTime, srcTid2Task, srcNids, srcNid2Tid, srcTids,
+				historyStat, zb2OrgNid);
+		MultihopSnapshot curSnapshot = ac.curSnapshot;
 
 		// 선택할 Node 수가 부족할 경우 제한함
 		int maxNodesToSelect = (int) (trace.getClosestSnapshot(0)
@@ -78,27 +73,51 @@ public class HeuristicMtaS extends Heuristic {
 		ISeq<Integer> allNodeAlleles = curNids.stream().collect(ISeq.toISeq());
 
 		// 유전 알고리즘으로 최소 Cost 를 가지는 Dst Node Subset 결정
-		Engine<EnumGene<Integer>, CostAndConn> engine = Engine
-				.builder(fitness(this),
-						Codecs.ofSubSet(allNodeAlleles, maxNodesToSelect)) //
-				.populationSize(Params.POPULATION_SIZE) //
-				.survivorsSelector(Params.SURVIVORS_SELECTOR) //
-				.offspringSelector(Params.OFFSPRING_SELECTOR) //
-				.alterers(Params.CROSSOVER, //
-						Params.MUTATOR) //
-				.optimize(Optimize.MINIMUM) //
-				.build();
-
-		// 최적화 결과 추출
-		Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype = engine
-				.stream()
-				.limit(Limits.bySteadyFitness(Params.STEADY_GENERATIONS))
-				.limit(Params.MAX_GENERATIONS)
-				.collect(EvolutionResult.toBestPhenotype());
+		Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype = findBestPhenotype(
+				ac, allNodeAlleles, maxNodesToSelect);
 
 		// 최적화 결과 반환
 		return new GeneralPair<>(bestPhenotype.getFitness().getConnections(),
-				(double) numSearches / Params.POPULATION_SIZE);
+				(double) numSearches.sum() / Params.POPULATION_SIZE);
+	}
+
+	@Override
+	public Double getNumCacheHits() {
+		// Cache 는 할당 간에 유지되므로 이번 할당에서 늘어난 Hit 수만 반환
+		return (double) (fitnessCache.getNumHits() - numCacheHitsAtStart)
+				/ Params.POPULATION_SIZE;
+	}
+
+	@Override
+	public ArrayList<GeneralPair<Long, Float>> getQualityCurve() {
+		return qualityCurve;
+	}
+
+	protected void startAllocation() {
+		// 탐색 횟수, 마감 시각과 시간별 최소 Cost 는 allocateTasks() 마다 새로 시작
+		numSearches.reset();
+		numCacheHitsAtStart = fitnessCache.getNumHits();
+		allocationStartNanos = System.nanoTime();
+		allocationDeadlineNanos = allocationStartNanos
+				+ Params.ALLOCATION_DEADLINE_MILLIS * 1000000L;
+		qualityCurve = new ArrayList<>();
+	}
+
+	protected boolean isDeadlinePassed() {
+		return Params.ALLOCATION_DEADLINE_MILLIS > 0
+				&& System.nanoTime() - allocationDeadlineNanos >= 0;
+	}
+
+	protected void recordProgress(
+			Phenotype<EnumGene<Integer>, CostAndConn> best) {
+		// 이번 할당에서 지금까지의 최소 Cost 보다 작아졌을 때만 기록
+		float cost = best.getFitness().getCost();
+		if (qualityCurve.isEmpty()
+				|| cost < qualityCurve.get(qualityCurve.size() - 1)
+						.getSecond()) {
+			long elapsedMillis = (System.nanoTime() - allocationStartNanos) / 1000000L;
+			qualityCurve.add(new GeneralPair<>(elapsedMillis, cost));
+		}
 	}
 
 	// @Override
@@ -112,37 +131,117 @@ public class HeuristicMtaS extends Heuristic {
 	// }
 	// }
 
+	protected Phenotype<EnumGene<Integer>, CostAndConn> findBestPhenotype(
+			AllocationContext ac, ISeq<Integer> allNodeAlleles,
+			int numNodesToSelect) {
+		// 직전 최적화의 상위 개체를 초기 Population 에 넣음
+		ArrayList<Genotype<EnumGene<Integer>>> seeds = warmStartCache
+				.getSeeds(allNodeAlleles, numNodesToSelect);
+
+		if (Params.NUM_ISLANDS <= 1) {
+			Engine<EnumGene<Integer>, CostAndConn> engine = newEngine(ac,
+					allNodeAlleles, numNodesToSelect, Params.POPULATION_SIZE,
+					getFitnessExecutor());
+			AtomicReference<EvolutionResult<EnumGene<Integer>, CostAndConn>> lastResult = new AtomicReference<>();
+			// 마감 시각이 지나도 첫 세대의 결과는 반환하도록 함
+			Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype = (seeds
+					.isEmpty() ? engine.stream() : engine.stream(seeds))
+					.limit(Limits.bySteadyFitness(Params.STEADY_GENERATIONS))
+					.limit(result -> lastResult.get() == null
+							|| !isDeadlinePassed()) //
+					.limit(Params.MAX_GENERATIONS) //
+					.peek(lastResult::set)
+					.peek(result -> recordProgress(result.getBestPhenotype()))
+					.collect(EvolutionResult.toBestPhenotype());
+			warmStartCache.update(lastResult.get().getPopulation());
+			return bestPhenotype;
+		}
+
+		// Island 끼리는 병렬로 진화하므로 Island 안에서는 순차 평가
+		// 전체 개체 수는 Island 가 하나일 때와 같도록 나눔
+		ArrayList<Engine<EnumGene<Integer>, CostAndConn>> engines = new ArrayList<>();
+		for (int i = 0; i < Params.NUM_ISLANDS; i++) {
+			engines.add(newEngine(ac, allNodeAlleles, numNodesToSelect,
+					Params.POPULATION_SIZE / Params.NUM_ISLANDS, Runnable::run));
+		}
+		IslandModel<EnumGene<Integer>, CostAndConn> islandModel = new IslandModel<>(
+				engines, Params.FITNESS_EXECUTOR, Params.MIGRATION_TOPOLOGY,
+				Params.MIGRATION_INTERVAL, Params.NUM_MIGRANTS);
+		islandModel.seed(seeds);
+		Phenotype<EnumGene<Integer>, CostAndConn> bestPhenotype = islandModel
+				.evolve(Params.STEADY_GENERATIONS, Params.MAX_GENERATIONS,
+						this::isDeadlinePassed, this::recordProgress);
+		warmStartCache.update(islandModel.getPopulation());
+		return bestPhenotype;
+	}
+
+	protected Engine<EnumGene<Integer>, CostAndConn> newEngine(
+			AllocationContext ac, ISeq<Integer> allNodeAlleles,
+			int numNodesToSelect, int populationSize, Executor executor) {
+		return Engine
+				.builder(fitness(this, ac),
+						Codecs.ofSubSet(allNodeAlleles, numNodesToSelect)) //
+				.executor(executor) //
+				.populationSize(populationSize) //
+				.survivorsSelector(Params.SURVIVORS_SELECTOR) //
+				.offspringSelector(Params.OFFSPRING_SELECTOR) //
+				.alterers(Params.CROSSOVER, //
+						Params.MUTATOR) //
+				.optimize(Optimize.MINIMUM) //
+				.build();
+	}
+
+	protected static Executor getFitnessExecutor() {
+		// 지정하지 않으면 현재 Thread 에서 순차 평가
+		// 지정해도 선택과 변이는 현재 Thread 에서 수행해서 Trial 의 Seed 를 따르도록 함
+		return Params.FITNESS_EXECUTOR != null ? new FitnessEvaluationExecutor(
+				Params.FITNESS_EXECUTOR) : Runnable::run;
+	}
+
 	protected static Function<ISeq<Integer>, CostAndConn> fitness(
-			HeuristicMtaS h) {
+			HeuristicMtaS h, AllocationContext ac) {
 		return nodeAlleles -> {
 			ArrayList<Integer> dstNids = new ArrayList<Integer>();
 			nodeAlleles.forEach(nid -> dstNids.add(nid));
 
+			// 같은 Subset 은 Gene 순서와 상관없이 같은 적합도를 가지도록 정렬
+			Collections.sort(dstNids);
+
 			// 적합도 평가
-			return h.evaluateFitness(h, dstNids);
+			return h.evaluateFitness(h, ac, dstNids);
 		};
 	}
 
 	protected CostAndConn evaluateFitness(HeuristicMtaS h,
-			ArrayList<Integer> dstNids) {
+			AllocationContext ac, ArrayList<Integer> dstNids) {
+		// 이미 평가했거나 다른 Thread 에서 평가 중인 Subset 이면 Simulation 생략
+		FitnessCache.Key key = FitnessCache.keyOf(
+				ac.curSnapshot.getTimestamp(), ac.realModeTime, ac.tpp.index,
+				dstNids);
+		return h.fitnessCache.computeIfAbsent(key,
+				() -> simulateFitness(h, ac, dstNids));
+	}
+
+	protected static CostAndConn simulateFitness(HeuristicMtaS h,
+			AllocationContext ac, ArrayList<Integer> dstNids) {
 		// ETX Metric 을 Weight 로 하는 Graph 로 변환
 		// WeightedUndirectedSparseGraph curWeightedGraph = h.curSnapshot
 		// .toEtxWeightedGraph();
 		ArrayList<OrderedNumPair<Integer>> conns;
-		if (h.tpp.commType == CommType.REPLICATE) {
+		if (ac.tpp.commType == CommType.REPLICATE) {
 			// Src:Dst = M:1 연결
-			conns = createBestClosestPaths(h.curSnapshot, h.srcNids,
-					h.srcNid2Tid, dstNids);
+			conns = createClosestPaths(Params.CLOSEST_PATH_TYPE,
+					ac.curSnapshot, ac.srcNids, ac.srcNid2Tid, dstNids);
 			// 논문에는 Bubble Path 라고 적었지만, Data Locality 가 작동을 안해서
 			// 우선 성능이 더 잘 나오는 위 메소드로 실험함
-			// conns = createGreedyBubblePaths(h, h.srcTids, dstNids);
+			// conns = createGreedyBubblePaths(h, ac, ac.srcTids, dstNids);
 
-		} else if (h.tpp.commType == CommType.SHUFFLE) {
+		} else if (ac.tpp.commType == CommType.SHUFFLE) {
 			// Src:Dst = M:N 연결
-			conns = createShufflePaths(h.srcTids, dstNids);
+			conns = createShufflePaths(ac.srcTids, dstNids);
 
 		} else {
-			throw new IllegalStateException(h.tpp.commType + "");
+			throw new IllegalStateException(ac.tpp.commType + "");
 		}
 
 		// Time to First Phase Success Cost 계산
@@ -184,39 +283,34 @@ public class HeuristicMtaS extends Heuristic {
 
 		// Time to First Phase Success Cost 계산
 		CostAndConn costAndConn = new CostAndConn();
-		costAndConn.setCost(calcTPS(h, conns));
+		costAndConn.setCost(calcTPS(h, ac, conns));
 
 		// 결과 저장
 		costAndConn.setConnections(conns);
 
-		// 탐색 횟수 증가
-		synchronized (h.numSearches) {
-			h.numSearches++;
-		}
+		// 실제 Simulation 을 수행한 탐색 횟수 증가
+		h.numSearches.increment();
 
 		// 최종 Cost 반환
 		return costAndConn;
 	}
 
-	private static float calcTPS(HeuristicMtaS h,
+	private static float calcTPS(HeuristicMtaS h, AllocationContext ac,
 			ArrayList<OrderedNumPair<Integer>> conns) {
-		HashMap<Integer, Task> srcTid2TaskCloned = new HashMap<>();
-		h.srcTid2Task.forEach((k, v) -> srcTid2TaskCloned.put(k,
-				(Task) v.clone()));
-		JobResult result = new EstTraceRunner(h, h.trace, h.realModeTime, h.tpp,
-				h.nextTpp, srcTid2TaskCloned, conns).start();
-		// 현재 Topology 로만 작업 수행시간을 추정하기 때문에
-		// 실패가 발생할 수 없음
+		HashMap<Integer, Float> dstNid2CommDuration = Params.COMM_DURATION_ESTIMATOR
+				.estimate(h, ac.trace, ac.realModeTime, ac.tpp, ac.nextTpp,
+						ac.srcTid2Task, conns);
+		// 추정에 실패하면 (null) 가장 큰 Cost 로 둠
 		float TPS = Float.MAX_VALUE;
-		if (!result.succeeded()) {
+		if (dstNid2CommDuration == null) {
 			// throw new IllegalStateException();
 		} else {
-			HashMap<Integer, Float> dstNid2CommDuration = result
-					.getDstNid2CommDuration();
 
 			// 미리 전체 관점의 변수 수집
-			int realModeTimestampOfInputFile = h.trace.getInitCC()
-					.getTimestamp() + h.realModeTime;
+			int realModeTimestampOfInputFile = ac.trace.getInitCC()
+					.getTimestamp() + ac.realModeTime;
+			int intervalIdx = ac.failureRateTable
+					.getIntervalIdx(realModeTimestampOfInputFile);
 			// float max_m = Float.MIN_VALUE;
 			// for (int dstZbNid : dstNids) {
 			// Float d_comm_j = dstNid2CommDuration.get(dstZbNid);
@@ -251,9 +345,8 @@ public class HeuristicMtaS extends Heuristic {
 				if (d_comm_j != null) {
 					// Failure Rate 가 NaN 인 경우 이용 불가능하므로
 					// 오류를 발생시켜서 현재 Trace 를 비교대상에서 제외
-					int dstOrgNid = h.zb2OrgNid.get(dstZbNid);
-					float l_j = h.historyStat.getFailureRate(dstOrgNid,
-							realModeTimestampOfInputFile);
+					float l_j = ac.failureRateTable.getFailureRateAt(dstZbNid,
+							intervalIdx);
 					if (Float.isNaN(l_j)) {
 						throw new RuntimeException(dstZbNid + " "
 								+ realModeTimestampOfInputFile);
@@ -296,7 +389,7 @@ public class HeuristicMtaS extends Heuristic {
 	}
 
 	public static ArrayList<OrderedNumPair<Integer>> createGreedyBubblePaths(
-			HeuristicMtaS h, ArrayList<Integer> srcTids,
+			HeuristicMtaS h, AllocationContext ac, ArrayList<Integer> srcTids,
 			ArrayList<Integer> dstNidsOrg) {
 		if (srcTids.size() < dstNidsOrg.size()) {
 			throw new IllegalStateException(srcTids.size() + " "
@@ -331,7 +424,7 @@ public class HeuristicMtaS extends Heuristic {
 					int dstNid = nextDstNids.get(idxDstNids);
 					nextConns.add(new OrderedNumPair<Integer>(srcTid, dstNid));
 				}
-				if (calcTPS(h, nextConns) < calcTPS(h, bestConns)) {
+				if (calcTPS(h, ac, nextConns) < calcTPS(h, ac, bestConns)) {
 					bestDstNids = nextDstNids;
 					bestConns = nextConns;
 				}
@@ -28,15 +28,15 @@ public class HeuristicPurlieus extends Heuristic {
 		ArrayList<Integer> initNids;
 		if (jp.weightType == JobWeightType.MAP_INPUT_HEAVY) {
 			// 아무데나
-			initNids = initSnapshot.getRandomNids(numInitNodes);
+			initNids = initSnapshot.getRandomNids(numInitNodes, ctx.random);
 
 		} else if (jp.weightType == JobWeightType.RED_INPUT_HEAVY) {
 			// 아무데나
-			initNids = initSnapshot.getRandomNids(numInitNodes);
+			initNids = initSnapshot.getRandomNids(numInitNodes, ctx.random);
 
 		} else if (jp.weightType == JobWeightType.MR_INPUT_HEAVY) {
 			// K-Club
-			initNids = initSnapshot.getKClubNids(numInitNodes);
+			initNids = initSnapshot.getKClubNids(numInitNodes, ctx.random);
 
 		} else {
 			throw new IllegalStateException(jp.weightType + "");
@@ -44,7 +44,7 @@ public class HeuristicPurlieus extends Heuristic {
 
 		HashMap<Integer, Task> initTid2Task = new HashMap<>();
 		for (int initNid : initNids) {
-			int tid = Task.generateId();
+			int tid = ctx.generateTid();
 			initTid2Task.put(tid, new Task(tid, initNid, inputSize_Per_Task));
 		}
 		return initTid2Task;
@@ -73,16 +73,17 @@ public class HeuristicPurlieus extends Heuristic {
 			if (jp.weightType == JobWeightType.MAP_INPUT_HEAVY) {
 				// Data Local Dst Node ID 결정
 				dstNids = curSnapshot.getDataLocalNids(srcNids,
-						maxNodesToSelect);
+						maxNodesToSelect, ctx.random);
 
 			} else if (jp.weightType == JobWeightType.RED_INPUT_HEAVY) {
 				// K-Club
-				dstNids = curSnapshot.getKClubNids(maxNodesToSelect);
+				dstNids = curSnapshot.getKClubNids(maxNodesToSelect,
+						ctx.random);
 
 			} else if (jp.weightType == JobWeightType.MR_INPUT_HEAVY) {
 				// Data Local Dst Node ID 결정
 				dstNids = curSnapshot.getDataLocalNids(srcNids,
-						maxNodesToSelect);
+						maxNodesToSelect, ctx.random);
 
 			} else {
 				throw new IllegalStateException(jp.weightType + "");
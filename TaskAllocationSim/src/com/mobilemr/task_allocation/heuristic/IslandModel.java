@@ -0,0 +1,260 @@
+package com.mobilemr.task_allocation.heuristic;
+
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.RandomRegistry;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class IslandModel<G extends Gene<?, G>, C extends Comparable<? super C>> {
+
+	// Island 마다 Engine 과 Population 을 따로 두고 서로 다른 Thread 에서 진화시키고,
+	// migrationInterval 세대마다 각 Island 의 상위 개체를 topology 에 따라 다른 Island 로 이주
+	// Island 마다 별도의 Random 을 사용하므로 어느 Thread 에서 실행되든 같은 결과를 가짐
+
+	private final ArrayList<Engine<G, C>> engines;
+	private final Executor executor;
+	private final MigrationTopology topology;
+	private final int migrationInterval;
+	private final int numMigrants;
+
+	private final Optimize optimize;
+	// 이주 대상 선택은 호출한 Thread 에서 하므로 호출한 Thread 의 Random 사용
+	private final Random random;
+	private final Random[] islandRandoms;
+	private final ArrayList<ISeq<Phenotype<G, C>>> populations = new ArrayList<>();
+	// 처음 Population 에 넣을 개체
+	private final ArrayList<ArrayList<Genotype<G>>> islandSeeds = new ArrayList<>();
+	private long generation = 1;
+	private BooleanSupplier deadline = () -> false;
+
+	public IslandModel(ArrayList<Engine<G, C>> engines, Executor executor,
+			MigrationTopology topology, int migrationInterval, int numMigrants) {
+		if (engines.isEmpty() || migrationInterval < 1 || numMigrants < 0) {
+			throw new IllegalArgumentException(engines.size() + " "
+					+ migrationInterval + " " + numMigrants);
+		}
+		this.engines = engines;
+		this.executor = executor;
+		this.topology = topology;
+		this.migrationInterval = migrationInterval;
+		this.numMigrants = numMigrants;
+
+		optimize = engines.get(0).getOptimize();
+		random = RandomRegistry.getRandom();
+		islandRandoms = new Random[engines.size()];
+		for (int i = 0; i < engines.size(); i++) {
+			islandRandoms[i] = new Random(random.nextLong());
+			populations.add(null);
+			islandSeeds.add(new ArrayList<>());
+		}
+	}
+
+	public void seed(ArrayList<Genotype<G>> genotypes) {
+		// 모든 Island 가 고르게 받도록 번갈아 나눔
+		for (int k = 0; k < genotypes.size(); k++) {
+			islandSeeds.get(k % engines.size()).add(genotypes.get(k));
+		}
+	}
+
+	public ArrayList<Phenotype<G, C>> getPopulation() {
+		// 모든 Island 의 현재 Population
+		ArrayList<Phenotype<G, C>> population = new ArrayList<>();
+		for (ISeq<Phenotype<G, C>> islandPopulation : populations) {
+			if (islandPopulation != null) {
+				islandPopulation.forEach(population::add);
+			}
+		}
+		return population;
+	}
+
+	public Phenotype<G, C> evolve(int steadyGenerations, long maxGenerations,
+			BooleanSupplier deadline, Consumer<Phenotype<G, C>> progressListener) {
+		// deadline 이 true 가 되면 각 Island 가 진행 중인 세대까지만 마치고 멈춤
+		// progressListener 는 세대마다 전체 Island 의 최고 개체로 호출한 Thread 에서 호출
+		this.deadline = deadline;
+		Phenotype<G, C> best = null;
+		int numSteadyGenerations = 0;
+		while (generation <= maxGenerations) {
+			// 모든 Island 를 다음 이주 시점까지 진화
+			int numGenerations = (int) Math.min(migrationInterval,
+					maxGenerations - generation + 1);
+			ArrayList<ArrayList<Phenotype<G, C>>> islandBests = evolveIslands(numGenerations);
+
+			// 세대마다 전체 Island 의 최고 개체로 수렴 여부 판단
+			// 마감으로 멈춘 Island 는 진행한 세대까지만 포함
+			int numEvolvedGenerations = 0;
+			for (ArrayList<Phenotype<G, C>> bests : islandBests) {
+				numEvolvedGenerations = Math.max(numEvolvedGenerations,
+						bests.size());
+			}
+			for (int g = 0; g < numEvolvedGenerations; g++) {
+				Phenotype<G, C> generationBest = null;
+				for (ArrayList<Phenotype<G, C>> bests : islandBests) {
+					if (g >= bests.size()) {
+						continue;
+					}
+					generationBest = generationBest == null ? bests.get(g)
+							: optimize.best(generationBest, bests.get(g));
+				}
+				if (best == null
+						|| optimize.compare(generationBest, best) > 0) {
+					best = generationBest;
+					numSteadyGenerations = 0;
+				} else {
+					numSteadyGenerations++;
+				}
+				progressListener.accept(best);
+			}
+			generation += numGenerations;
+			if (numSteadyGenerations >= steadyGenerations
+					|| deadline.getAsBoolean()) {
+				break;
+			}
+
+			migrate();
+		}
+		return best;
+	}
+
+	private ArrayList<ArrayList<Phenotype<G, C>>> evolveIslands(
+			int numGenerations) {
+		int numIslands = engines.size();
+		ArrayList<ArrayList<Phenotype<G, C>>> islandBests = new ArrayList<>();
+		for (int i = 0; i < numIslands; i++) {
+			islandBests.add(new ArrayList<>());
+		}
+
+		// BrandesBetweenness 와 같이 호출한 Thread 도 같이 진화시키므로
+		// Executor 의 Thread 가 모두 바빠도 끝남
+		AtomicInteger nextIsland = new AtomicInteger();
+		CountDownLatch remaining = new CountDownLatch(numIslands);
+		AtomicReference<RuntimeException> error = new AtomicReference<>();
+		Runnable worker = () -> {
+			int i;
+			while ((i = nextIsland.getAndIncrement()) < numIslands) {
+				try {
+					evolveIsland(i, numGenerations, islandBests.get(i));
+				} catch (RuntimeException e) {
+					error.compareAndSet(null, e);
+				} finally {
+					remaining.countDown();
+				}
+			}
+		};
+		if (executor != null) {
+			int numHelpers = Math.min(numIslands, Runtime.getRuntime()
+					.availableProcessors()) - 1;
+			for (int i = 0; i < numHelpers; i++) {
+				executor.execute(worker);
+			}
+		}
+		worker.run();
+		try {
+			remaining.await();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		if (error.get() != null) {
+			throw error.get();
+		}
+		return islandBests;
+	}
+
+	private void evolveIsland(int i, int numGenerations,
+			ArrayList<Phenotype<G, C>> bests) {
+		Engine<G, C> engine = engines.get(i);
+		RandomRegistry.using(islandRandoms[i], r -> {
+			ISeq<Phenotype<G, C>> population = populations.get(i);
+			if (population == null) {
+				// 받은 개체로 먼저 채우고 나머지는 무작위로 생성
+				ArrayList<Phenotype<G, C>> initPopulation = new ArrayList<>();
+				for (Genotype<G> genotype : islandSeeds.get(i)) {
+					if (initPopulation.size() < engine.getPopulationSize()) {
+						initPopulation.add(Phenotype.of(genotype, generation,
+								engine.getFitnessFunction(),
+								engine.getFitnessScaler()));
+					}
+				}
+				while (initPopulation.size() < engine.getPopulationSize()) {
+					initPopulation.add(Phenotype.of(engine.getGenotypeFactory()
+							.newInstance(), generation, engine
+							.getFitnessFunction(), engine.getFitnessScaler()));
+				}
+				population = ISeq.of(initPopulation);
+			}
+			for (int g = 0; g < numGenerations; g++) {
+				// 마감이 지나도 처음 세대는 진화시켜서 반환할 개체가 있도록 함
+				if (generation + g > 1 && deadline.getAsBoolean()) {
+					break;
+				}
+				EvolutionResult<G, C> result = engine.evolve(EvolutionStart
+						.of(population, generation + g));
+				population = result.getPopulation();
+				bests.add(result.getBestPhenotype());
+			}
+			populations.set(i, population);
+		});
+	}
+
+	private void migrate() {
+		int numIslands = engines.size();
+		if (numIslands == 1 || numMigrants == 0) {
+			return;
+		}
+
+		// Island 별 상위 개체를 받을 Island 에 모음
+		ArrayList<ArrayList<Phenotype<G, C>>> immigrants = new ArrayList<>();
+		for (int i = 0; i < numIslands; i++) {
+			immigrants.add(new ArrayList<>());
+		}
+		for (int i = 0; i < numIslands; i++) {
+			ArrayList<Phenotype<G, C>> elites = populations.get(i).stream()
+					.sorted(optimize.<Phenotype<G, C>> descending())
+					.limit(numMigrants)
+					.collect(Collectors.toCollection(ArrayList::new));
+			if (topology == MigrationTopology.RING) {
+				immigrants.get((i + 1) % numIslands).addAll(elites);
+			} else if (topology == MigrationTopology.FULL) {
+				for (int j = 0; j < numIslands; j++) {
+					if (j != i) {
+						immigrants.get(j).addAll(elites);
+					}
+				}
+			} else if (topology == MigrationTopology.RANDOM) {
+				int j = random.nextInt(numIslands - 1);
+				immigrants.get(j < i ? j : j + 1).addAll(elites);
+			} else {
+				throw new IllegalStateException(topology + "");
+			}
+		}
+
+		// 받은 개체 수만큼 하위 개체를 대체
+		for (int i = 0; i < numIslands; i++) {
+			ISeq<Phenotype<G, C>> population = populations.get(i);
+			int numImmigrants = Math.min(immigrants.get(i).size(),
+					population.size());
+			ArrayList<Phenotype<G, C>> nextPopulation = population.stream()
+					.sorted(optimize.<Phenotype<G, C>> descending())
+					.limit(population.size() - numImmigrants)
+					.collect(Collectors.toCollection(ArrayList::new));
+			nextPopulation.addAll(immigrants.get(i).subList(0, numImmigrants));
+			populations.set(i, ISeq.of(nextPopulation));
+		}
+	}
+
+}
@@ -0,0 +1,7 @@
+package com.mobilemr.task_allocation.heuristic;
+
+public enum MigrationTopology {
+	// RING 은 다음 Island 로만, FULL 은 나머지 모든 Island 로,
+	// RANDOM 은 이주할 때마다 무작위로 정한 Island 로 Elite 를 보냄
+	RING, FULL, RANDOM
+}
@@ -0,0 +1,155 @@
+package com.mobilemr.task_allocation.heuristic;
+
+import java.util.Arrays;
+
+public class MinCostAssignment {
+
+	// Src 마다 하나의 Dst 를 정하는 용량 제한 할당 문제를 Min-Cost Flow 로 정확히 풀음
+	// Source -> Src (용량 1) -> Dst (용량 1) -> Sink 구조에서
+	// Dst -> Sink 는 비용 0 인 capacities[k] 개와 overflow 비용인 extraCapacities[k] 개로 나눔
+	// overflow 비용은 모든 거리의 합보다 크므로 extra 는 꼭 필요한 만큼만 사용됨
+	// Potential 을 둔 Dijkstra 로 Src 수만큼 최단 증가 경로를 찾음 (Successive Shortest Path)
+	// 같은 거리면 Index 가 작은 것을 택하므로 결과는 항상 같음
+
+	// Src Index 별 할당된 Dst Index
+	public final int[] src2DstIdx;
+	// 할당된 (Src, Dst) 거리의 합 (overflow 비용 제외)
+	public final double cost;
+
+	private MinCostAssignment(int[] src2DstIdx, double cost) {
+		this.src2DstIdx = src2DstIdx;
+		this.cost = cost;
+	}
+
+	public static MinCostAssignment solve(double[][] dists, int[] capacities,
+			int[] extraCapacities) {
+		// dists[i][k] 는 Src i 와 Dst k 의 거리
+		// NaN 인 쌍은 연결 불가로 보고 후보에서 제외하지만, createOptimalClosestPaths 는
+		// DistanceMatrix.get 이 연결되지 않은 쌍에 예외를 던지므로 NaN 을 넘기지 않음
+		int numSrcs = dists.length;
+		int numDsts = capacities.length;
+		if (extraCapacities.length != numDsts) {
+			throw new IllegalArgumentException(numDsts + " "
+					+ extraCapacities.length);
+		}
+
+		// overflow 비용
+		double sumDists = 0;
+		for (double[] srcDists : dists) {
+			for (double dist : srcDists) {
+				if (!Double.isNaN(dist)) {
+					sumDists += Math.abs(dist);
+				}
+			}
+		}
+		double extraCost = sumDists + 1;
+
+		// Node Index : Src 는 [0, numSrcs), Dst 는 [numSrcs, numSrcs + numDsts), 마지막은 Sink
+		// Source 는 따로 두지 않고 아직 할당되지 않은 Src 를 거리 0 에서 시작
+		int numNodes = numSrcs + numDsts + 1;
+		int sink = numNodes - 1;
+		int[] src2DstIdx = new int[numSrcs];
+		Arrays.fill(src2DstIdx, -1);
+		int[] dstLoads = new int[numDsts];
+		double[] potentials = new double[numNodes];
+		double[] nodeDists = new double[numNodes];
+		int[] prevNodes = new int[numNodes];
+		boolean[] visited = new boolean[numNodes];
+
+		for (int numAssigned = 0; numAssigned < numSrcs; numAssigned++) {
+			// Reduced Cost 기준 Dijkstra
+			Arrays.fill(nodeDists, Double.POSITIVE_INFINITY);
+			Arrays.fill(prevNodes, -1);
+			Arrays.fill(visited, false);
+			for (int i = 0; i < numSrcs; i++) {
+				if (src2DstIdx[i] == -1) {
+					nodeDists[i] = -potentials[i];
+				}
+			}
+			while (true) {
+				int u = -1;
+				for (int v = 0; v < numNodes; v++) {
+					if (!visited[v] && nodeDists[v] != Double.POSITIVE_INFINITY
+							&& (u == -1 || nodeDists[v] < nodeDists[u])) {
+						u = v;
+					}
+				}
+				if (u == -1 || u == sink) {
+					break;
+				}
+				visited[u] = true;
+
+				if (u < numSrcs) {
+					// Src -> Dst (현재 할당된 Dst 제외)
+					for (int k = 0; k < numDsts; k++) {
+						double dist = dists[u][k];
+						if (k != src2DstIdx[u] && !Double.isNaN(dist)) {
+							relax(u, numSrcs + k, dist, potentials, nodeDists,
+									prevNodes, visited);
+						}
+					}
+				} else {
+					// Dst -> 이미 할당된 Src (할당 취소)
+					int k = u - numSrcs;
+					for (int i = 0; i < numSrcs; i++) {
+						if (src2DstIdx[i] == k) {
+							relax(u, i, -dists[i][k], potentials, nodeDists,
+									prevNodes, visited);
+						}
+					}
+
+					// Dst -> Sink
+					if (dstLoads[k] < capacities[k]) {
+						relax(u, sink, 0, potentials, nodeDists, prevNodes,
+								visited);
+					} else if (dstLoads[k] < capacities[k] + extraCapacities[k]) {
+						relax(u, sink, extraCost, potentials, nodeDists,
+								prevNodes, visited);
+					}
+				}
+			}
+			if (prevNodes[sink] == -1) {
+				throw new IllegalStateException(numAssigned + " / " + numSrcs
+						+ " " + Arrays.toString(capacities) + " "
+						+ Arrays.toString(extraCapacities));
+			}
+
+			// Potential 갱신 (Sink 보다 먼 Node 는 Sink 거리로 제한)
+			double sinkDist = nodeDists[sink];
+			for (int v = 0; v < numNodes; v++) {
+				potentials[v] += Math.min(nodeDists[v], sinkDist);
+			}
+
+			// 증가 경로를 따라 할당 변경
+			int dstNode = prevNodes[sink];
+			dstLoads[dstNode - numSrcs]++;
+			while (dstNode != -1) {
+				int srcNode = prevNodes[dstNode];
+				int prevDstNode = prevNodes[srcNode];
+				src2DstIdx[srcNode] = dstNode - numSrcs;
+				dstNode = prevDstNode;
+			}
+		}
+
+		double cost = 0;
+		for (int i = 0; i < numSrcs; i++) {
+			cost += dists[i][src2DstIdx[i]];
+		}
+		return new MinCostAssignment(src2DstIdx, cost);
+	}
+
+	private static void relax(int u, int v, double edgeCost,
+			double[] potentials, double[] nodeDists, int[] prevNodes,
+			boolean[] visited) {
+		// 이미 확정된 Node 는 반올림 오차가 있어도 다시 갱신하지 않음
+		if (visited[v]) {
+			return;
+		}
+		double dist = nodeDists[u] + edgeCost + potentials[u] - potentials[v];
+		if (dist < nodeDists[v]) {
+			nodeDists[v] = dist;
+			prevNodes[v] = u;
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.mobilemr.task_allocation.heuristic;
+
+import io.jenetics.EnumGene;
+import io.jenetics.Genotype;
+import io.jenetics.Optimize;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.RandomRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+public class WarmStartCache {
+
+	// 직전 최적화의 마지막 Population 중 상위 Dst Node Subset 을 보관했다가
+	// 다음 allocateTasks() 나 MTA-D 의 다음 K 에 대한 Engine 의 초기 개체로 사용
+	// 그 사이 Node 가 바뀌거나 선택할 Node 수가 다를 수 있으므로 꺼낼 때 맞게 고침
+
+	private final int maxSize;
+	private ArrayList<ArrayList<Integer>> eliteSubsets = new ArrayList<>();
+
+	public WarmStartCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public synchronized void update(
+			Iterable<Phenotype<EnumGene<Integer>, CostAndConn>> population) {
+		if (maxSize <= 0) {
+			return;
+		}
+
+		// 적합도 순으로 중복 없이 상위 Subset 만 보관
+		ArrayList<Phenotype<EnumGene<Integer>, CostAndConn>> sortedPopulation = new ArrayList<>();
+		population.forEach(sortedPopulation::add);
+		sortedPopulation.sort(Optimize.MINIMUM.descending());
+		LinkedHashSet<ArrayList<Integer>> subsets = new LinkedHashSet<>();
+		for (Phenotype<EnumGene<Integer>, CostAndConn> phenotype : sortedPopulation) {
+			if (subsets.size() == maxSize) {
+				break;
+			}
+			ArrayList<Integer> nids = new ArrayList<>();
+			phenotype.getGenotype().getChromosome()
+					.forEach(gene -> nids.add(gene.getAllele()));
+			Collections.sort(nids);
+			subsets.add(nids);
+		}
+		eliteSubsets = new ArrayList<>(subsets);
+	}
+
+	public synchronized ArrayList<Genotype<EnumGene<Integer>>> getSeeds(
+			ISeq<Integer> allNodeAlleles, int numNodesToSelect) {
+		ArrayList<Genotype<EnumGene<Integer>>> seeds = new ArrayList<>();
+		if (eliteSubsets.isEmpty()) {
+			return seeds;
+		}
+
+		// 할당을 수행하는 Thread 의 Random 을 사용해서 Trial 마다 같은 결과를 가지도록 함
+		Random random = RandomRegistry.getRandom();
+		HashMap<Integer, Integer> nid2AlleleIdx = new HashMap<>();
+		for (int i = 0; i < allNodeAlleles.size(); i++) {
+			nid2AlleleIdx.put(allNodeAlleles.get(i), i);
+		}
+		for (ArrayList<Integer> subset : eliteSubsets) {
+			// 현재 Snapshot 에 남아있는 Node 만 사용
+			ArrayList<Integer> alleleIdxs = new ArrayList<>();
+			boolean[] selected = new boolean[allNodeAlleles.size()];
+			for (int nid : subset) {
+				Integer alleleIdx = nid2AlleleIdx.get(nid);
+				if (alleleIdx != null) {
+					alleleIdxs.add(alleleIdx);
+					selected[alleleIdx] = true;
+				}
+			}
+
+			// 선택할 Node 수보다 많으면 무작위로 빼고, 모자라면 선택되지 않은 Node 로 채움
+			while (alleleIdxs.size() > numNodesToSelect) {
+				selected[alleleIdxs.remove(random.nextInt(alleleIdxs.size()))] = false;
+			}
+			ArrayList<Integer> unselectedIdxs = new ArrayList<>();
+			for (int i = 0; i < selected.length; i++) {
+				if (!selected[i]) {
+					unselectedIdxs.add(i);
+				}
+			}
+			while (alleleIdxs.size() < numNodesToSelect) {
+				alleleIdxs.add(unselectedIdxs.remove(random
+						.nextInt(unselectedIdxs.size())));
+			}
+
+			ISeq<EnumGene<Integer>> genes = alleleIdxs.stream()
+					.map(alleleIdx -> EnumGene.of(alleleIdx, allNodeAlleles))
+					.collect(ISeq.toISeq());
+			seeds.add(Genotype.of(new PermutationChromosome<>(genes)));
+		}
+		return seeds;
+	}
+
+}
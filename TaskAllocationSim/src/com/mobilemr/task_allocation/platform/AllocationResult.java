@@ -2,17 +2,22 @@ package com.mobilemr.task_allocation.platform;
 
 import java.util.ArrayList;
 
+import com.mobilemr.trace.struct.GeneralPair;
 import com.mobilemr.trace.struct.OrderedNumPair;
 
 public class AllocationResult {
 
 	public ArrayList<OrderedNumPair<Integer>> conns;
 	public Double numEvals;
+	public Double numCacheHits;
 	public Double reliability;
 	public Double contention;
 	public Double optimalIdx1;
 	public Double optimalIdx2;
 	public Double clusterUtilization;
+	// 할당 시작 후 경과 시간 (ms) 과 그때까지 찾은 최소 Cost
+	// 최소 Cost 가 줄어들 때마다 기록
+	public ArrayList<GeneralPair<Long, Float>> qualityCurve;
 
 	public AllocationResult() {
 		this.conns = new ArrayList<>();
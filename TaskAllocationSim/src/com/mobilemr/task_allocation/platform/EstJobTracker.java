@@ -1,6 +1,7 @@
 package com.mobilemr.task_allocation.platform;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 
 import org.apache.commons.math3.util.ComparisonUtil;
@@ -11,7 +12,7 @@ import com.mobilemr.task_allocation.profile.CommType;
 import com.mobilemr.task_allocation.profile.TaskPhaseProfile;
 import com.mobilemr.task_allocation.util.Indenter;
 import com.mobilemr.task_allocation.util.Logger;
-import com.mobilemr.trace.struct.GeneralPair;
+import com.mobilemr.task_allocation.util.Logger.Level;
 import com.mobilemr.trace.struct.OrderedNumPair;
 
 import drcl.inet.protocol.aodv.struct.RoutableMultihopSnapshot;
@@ -29,13 +30,13 @@ public class EstJobTracker {
 		indent = "";
 	}
 
-	public EstJobTracker(TaskPhaseProfile curTpp, TaskPhaseProfile nextTpp,
-			HashMap<Integer, Task> srcTid2Task,
+	public EstJobTracker(TrialContext ctx, TaskPhaseProfile curTpp,
+			TaskPhaseProfile nextTpp, HashMap<Integer, Task> srcTid2Task,
 			ArrayList<OrderedNumPair<Integer>> conns, int curTime) {
 		indent = Indenter.get(1);
 
-		curTaskPhase = new TaskPhase(curTpp, nextTpp, srcTid2Task, conns,
-				indent);
+		curTaskPhase = new TaskPhase(ctx, curTpp, nextTpp, srcTid2Task,
+				conns, indent);
 
 		curTaskPhase.start();
 	}
@@ -79,9 +80,7 @@ public class EstJobTracker {
 	public void updateByUnitTime(RoutableMultihopSnapshot curRoutableSnapshot,
 			int curTime) {
 		if (!curTaskPhase.isProcessingFinished()) {
-			ArrayList<Task> srcTasks = new ArrayList<Task>(
-					curTaskPhase.srcTid2Task.values());
-			for (Task srcTask : srcTasks) {
+			for (Task srcTask : curTaskPhase.getSrcTasks()) {
 				srcTask.processByUnitTime(curRoutableSnapshot);
 
 				if (srcTask.pendingInputSize == 0) {
@@ -91,11 +90,11 @@ public class EstJobTracker {
 
 		} else {
 			if (!curTaskPhase.isLastTaskPhase()) {
-				GeneralPair<Double, Integer> result = curRoutableSnapshot
+				double sumThroughputInUnitTime = curRoutableSnapshot
 						.sendByUnitTime();
-				double sumThroughputInUnitTime = result.getFirst();
 				sumThroughput += sumThroughputInUnitTime;
-				int cntNodesInTransmission = result.getSecond();
+				int cntNodesInTransmission = curRoutableSnapshot
+						.getCntNodesInTransmission();
 				if (sumThroughputInUnitTime > 0) {
 					if (cntNodesInTransmission == 0) {
 						throw new IllegalStateException(sumThroughputInUnitTime
@@ -116,47 +115,83 @@ public class EstJobTracker {
 			}
 		}
 
-		for (Task dstTask : curTaskPhase.dstTid2Task.values()) {
+		for (Task dstTask : curTaskPhase.getDstTasks()) {
 			dstTask.onReceive(curRoutableSnapshot, curTaskPhase.tpp.tpType,
 					curTime);
 		}
 	}
 
+	public int advanceProcessing(RoutableMultihopSnapshot curRoutableSnapshot,
+			int maxTicks) {
+		// 처리 중에는 전송하지 않으므로 (sendByUnitTime() 은 모든 처리가 끝난 뒤에만 호출)
+		// 처리가 모두 끝나는 시점과 maxTicks 중 먼저 오는 시점까지
+		// updateByUnitTime() 을 반복한 것과 같은 결과를 한 번에 반영하고 진행한 Tick 수 반환
+		// 처리 중이 아니거나 입력분배 TaskPhase 면 0 (단위시간씩 진행)
+		if (maxTicks <= 0 || curTaskPhase.isNonProcessingTaskPhase()
+				|| curTaskPhase.isProcessingFinished()) {
+			return 0;
+		}
+
+		// Loopback 을 Buffer 없이 넘기므로 Node 마다 Src Task 가 하나일 때만 진행
+		Task[] srcTasks = curTaskPhase.getSrcTasks();
+		BitSet srcNidSet = new BitSet();
+		int numTicks = 0;
+		for (Task srcTask : srcTasks) {
+			if (srcNidSet.get(srcTask.nid)) {
+				return 0;
+			}
+			srcNidSet.set(srcTask.nid);
+			numTicks = Math.max(numTicks, srcTask.getNumTicksToProcess());
+		}
+		numTicks = Math.min(numTicks, maxTicks);
+
+		for (Task srcTask : srcTasks) {
+			srcTask.processByUnitTimes(curRoutableSnapshot, numTicks);
+
+			if (srcTask.pendingInputSize == 0) {
+				srcTask.status = Status.PROC_FINISHED;
+			}
+		}
+		return numTicks;
+	}
+
 	private HashMap<Integer, Task> totalFailedTid2Task = new HashMap<Integer, Task>();
 
 	public void updateTaskDepartures(ArrayList<Integer> departedNids) {
 		if (departedNids.isEmpty()) {
 			return;
 		}
+		BitSet departedNidSet = new BitSet();
+		departedNids.forEach(departedNidSet::set);
+		updateTaskDepartures(departedNidSet);
+	}
+
+	public void updateTaskDepartures(BitSet departedNidSet) {
+		// Node ID 를 Index 로 하는 BitSet 으로 이탈 여부 검사
+		if (departedNidSet.isEmpty()) {
+			return;
+		}
 
-		ArrayList<Integer> curSrcTids = new ArrayList<Integer>(
-				curTaskPhase.srcTid2Task.keySet());
-		for (int curSrcTid : curSrcTids) {
-			Task curSrcTask = curTaskPhase.srcTid2Task.get(curSrcTid);
-			if (departedNids.contains(curSrcTask.nid)) {
-				curTaskPhase.failedTid2Task.put(curSrcTid, curSrcTask);
-				totalFailedTid2Task.put(curSrcTid, curSrcTask);
-				curTaskPhase.srcTid2Task.remove(curSrcTid);
+		for (Task curSrcTask : curTaskPhase.getSrcTasks()) {
+			if (departedNidSet.get(curSrcTask.nid)) {
+				totalFailedTid2Task.put(curSrcTask.id, curSrcTask);
+				curTaskPhase.removeSrcTask(curSrcTask.id);
 			}
 
-			curSrcTask.dstTasks.removeIf(curDstTask -> departedNids
-					.contains(curDstTask.nid));
+			curSrcTask.dstTasks.removeIf(curDstTask -> departedNidSet
+					.get(curDstTask.nid));
 		}
 
-		ArrayList<Integer> curDstTids = new ArrayList<Integer>(
-				curTaskPhase.dstTid2Task.keySet());
-		for (int curDstTid : curDstTids) {
-			Task curDstTask = curTaskPhase.dstTid2Task.get(curDstTid);
-			if (departedNids.contains(curDstTask.nid)) {
-				curTaskPhase.failedTid2Task.put(curDstTid, curDstTask);
-				totalFailedTid2Task.put(curDstTid, curDstTask);
-				curTaskPhase.dstTid2Task.remove(curDstTid);
+		for (Task curDstTask : curTaskPhase.getDstTasks()) {
+			if (departedNidSet.get(curDstTask.nid)) {
+				totalFailedTid2Task.put(curDstTask.id, curDstTask);
+				curTaskPhase.removeDstTask(curDstTask.id);
 			}
 		}
 	}
 
 	public void printStatus(RoutableMultihopSnapshot curRoutableSnapshot) {
-		Logger.println(indent + "Current Cluster Data Size : "
+		Logger.println(Level.DEBUG, indent + "Current Cluster Data Size : "
 				+ curTaskPhase.getPendingInputSize() + " _ "
 				+ curTaskPhase.getOutputBufferSize() + " _ "
 				+ curRoutableSnapshot.getCommDataSize());
@@ -167,13 +202,13 @@ public class EstJobTracker {
 			sumInputDataSize += t.pendingInputSize;
 			sumOutputDataSize += t.outputBuffer;
 		}
-		Logger.println(indent + "Failed Data Size : " + sumInputDataSize
-				+ " _ " + sumOutputDataSize);
+		Logger.println(Level.DEBUG, indent + "Failed Data Size : "
+				+ sumInputDataSize + " _ " + sumOutputDataSize);
 		double sumDataSize = curTaskPhase.getPendingInputSize()
 				+ curTaskPhase.getOutputBufferSize()
 				+ curRoutableSnapshot.getCommDataSize() + sumInputDataSize
 				+ sumOutputDataSize;
-		Logger.println(indent + "Sum Data Size : " + sumDataSize);
+		Logger.println(Level.DEBUG, indent + "Sum Data Size : " + sumDataSize);
 
 		if (DEBUG) {
 			for (RoutableNode node : curRoutableSnapshot.nid2Node.values()) {
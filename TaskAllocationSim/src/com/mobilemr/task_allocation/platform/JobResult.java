@@ -1,8 +1,13 @@
 package com.mobilemr.task_allocation.platform;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 
-public class JobResult {
+import com.mobilemr.trace.struct.GeneralPair;
+
+public class JobResult implements Serializable {
+	private static final long serialVersionUID = 3046520127591838361L;
 
 	private JobFinishReason finishReason;
 	private Double mapReliability;
@@ -90,6 +95,56 @@ public class JobResult {
 		this.stdSuccessTime = varSuccessTime;
 	}
 
+	// 할당마다 시작 후 경과 시간 (ms) 과 그때까지 찾은 최소 Cost
+	// 해를 반복적으로 개선하지 않는 Heuristic 은 null
+	private ArrayList<ArrayList<GeneralPair<Long, Float>>> qualityCurves = null;
+
+	public ArrayList<ArrayList<GeneralPair<Long, Float>>> getQualityCurves() {
+		return qualityCurves;
+	}
+
+	public void setQualityCurves(
+			ArrayList<ArrayList<GeneralPair<Long, Float>>> qualityCurves) {
+		this.qualityCurves = qualityCurves;
+	}
+
+	public String getQualityCurvesString() {
+		// 할당끼리는 '|', 기록끼리는 ',' 로 구분한 "경과시간:Cost"
+		if (qualityCurves == null) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < qualityCurves.size(); i++) {
+			if (i > 0) {
+				sb.append('|');
+			}
+			ArrayList<GeneralPair<Long, Float>> qualityCurve = qualityCurves
+					.get(i);
+			for (int j = 0; j < qualityCurve.size(); j++) {
+				if (j > 0) {
+					sb.append(',');
+				}
+				sb.append(qualityCurve.get(j).getFirst()).append(':')
+						.append(qualityCurve.get(j).getSecond());
+			}
+		}
+		return sb.toString();
+	}
+
+	private Double sumCacheHits = null;
+
+	public Double getSumCacheHits() {
+		return succeeded() ? sumCacheHits : null;
+	}
+
+	public String getSumCacheHitsString() {
+		return succeeded() ? toNonNullString(sumCacheHits) : "";
+	}
+
+	public void setSumCacheHits(double sumCacheHits) {
+		this.sumCacheHits = sumCacheHits;
+	}
+
 	public JobFinishReason getJobFinishReason() {
 		return finishReason;
 	}
@@ -161,6 +216,10 @@ public class JobResult {
 		return succeeded() ? toNonNullString(avgClusterUtilization) : "";
 	}
 
+	public Double getSumEvals() {
+		return succeeded() ? sumEvals : null;
+	}
+
 	public String getSumEvalsString() {
 		return succeeded() ? toNonNullString(sumEvals) : "";
 	}
@@ -21,23 +21,26 @@ public class JobTracker extends EstJobTracker {
 
 	private static final boolean DEBUG = false;
 
+	private TrialContext ctx;
 	private MultihopTrace trace;
 	private JobProfile jp;
-	private Class<? extends Heuristic> clsHeuristic;
+	private Heuristic h;
 	private HistoryStat historyStat;
 	private HashMap<Integer, Integer> zb2OrgNid;
 
 	private LinkedList<TaskPhaseProfile> tppQ;
 	private HashMap<Integer, Task> initTid2Task;
 
-	public JobTracker(MultihopTrace trace, JobProfile jp,
+	public JobTracker(TrialContext ctx, MultihopTrace trace, JobProfile jp,
 			Class<? extends Heuristic> clsHeuristic, HistoryStat historyStat,
 			HashMap<Integer, Integer> zb2OrgNid) {
 		super();
 
+		this.ctx = ctx;
 		this.trace = trace;
 		this.jp = jp;
-		this.clsHeuristic = clsHeuristic;
+		// Trial 간 상태 공유를 막기 위해 Trial 마다 Heuristic 생성
+		this.h = Heuristic.of(clsHeuristic, ctx);
 		this.historyStat = historyStat;
 		this.zb2OrgNid = zb2OrgNid;
 
@@ -46,7 +49,6 @@ public class JobTracker extends EstJobTracker {
 		// 목표 Node 개수만큼 Random Input 분배
 		MultihopSnapshot initSnapshot = trace.getClosestSnapshot(0);
 
-		// Heuristic h = Heuristic.of(clsHeuristic);
 		// initTid2Task = h.placeData(jp, initSnapshot);
 
 		// Trace 마다 같은 Random Node Set 을 선택하기 위해 Trace 의 ID 를 seed 로 사용
@@ -58,7 +60,7 @@ public class JobTracker extends EstJobTracker {
 		initTid2Task = new HashMap<>();
 		for (int i = 0; i < numInitNodes; i++) {
 			int nid = nids.get(i);
-			int tid = Task.generateId();
+			int tid = ctx.generateTid();
 			initTid2Task.put(tid, new Task(tid, nid, inputSize_Per_Task));
 		}
 	}
@@ -74,8 +76,6 @@ public class JobTracker extends EstJobTracker {
 					+ "JT - allocateNextTasks() | realModeTime : "
 					+ realModeTime);
 		}
-		Heuristic h = Heuristic.of(clsHeuristic);
-
 		// Src Task 결정
 		HashMap<Integer, Task> srcTid2Task = null;
 		if (curTaskPhase == null) {
@@ -142,7 +142,7 @@ public class JobTracker extends EstJobTracker {
 
 		// TaskPhase 생성자에서
 		// 최적 Dst Node ID 목록을 기반으로 Task 할당를 수행
-		curTaskPhase = new TaskPhase(curTpp, nextTpp, srcTid2Task,
+		curTaskPhase = new TaskPhase(ctx, curTpp, nextTpp, srcTid2Task,
 				allocationResult.conns, indent);
 
 		// 할당가 끝났으므로 모든 Task 를 시작시킴
@@ -1,20 +1,12 @@
 package com.mobilemr.task_allocation.platform;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import drcl.inet.protocol.aodv.struct.RoutableMultihopSnapshot;
+import drcl.inet.protocol.aodv.struct.RoutableNode;
 
-public class Task implements Comparable<Task>, Cloneable {
-
-	private static int cntTid = 0;
-
-	public static void resetId() {
-		cntTid = 0;
-	}
-
-	public static int generateId() {
-		return cntTid++;
-	}
+public class Task implements Comparable<Task> {
 
 	public int id;
 	public int nid;
@@ -45,13 +37,20 @@ public class Task implements Comparable<Task>, Cloneable {
 		this.targetInputSize = targetInputSize;
 	}
 
-	@Override
-	public Object clone() {
-		try {
-			return super.clone();
-		} catch (CloneNotSupportedException e) {
-			throw new RuntimeException(e);
-		}
+	public Task fork() {
+		// 추정 Mode 에서 원본과 상태를 공유하지 않도록 값만 복사
+		// TaskPhase 와 Dst Task 목록은 lateBind() 에서 새로 연결
+		Task forked = new Task(id, nid, B_P, targetInputSize, false);
+		forked.pendingInputSize = pendingInputSize;
+		forked.outputBuffer = outputBuffer;
+		forked.status = status;
+		return forked;
+	}
+
+	public static HashMap<Integer, Task> fork(HashMap<Integer, Task> tid2Task) {
+		HashMap<Integer, Task> forkedTid2Task = new HashMap<>();
+		tid2Task.forEach((k, v) -> forkedTid2Task.put(k, v.fork()));
+		return forkedTid2Task;
 	}
 
 	// public Task cloneUnbound() {
@@ -139,6 +138,57 @@ public class Task implements Comparable<Task>, Cloneable {
 		}
 	}
 
+	public int getNumTicksToProcess() {
+		// 남은 입력을 B_P 씩 처리할 때 처리가 끝나는 Tick 수
+		// 입력이 없어도 완료 표시에 한 Tick 이 필요
+		if (isProcessingFinished()) {
+			return 0;
+		} else if (pendingInputSize == 0) {
+			return 1;
+		}
+		return (int) Math.min(Integer.MAX_VALUE,
+				Math.ceil(pendingInputSize / B_P));
+	}
+
+	public void processByUnitTimes(
+			RoutableMultihopSnapshot curRoutableSnapshot, int numTicks) {
+		// 처리가 필요한 TaskPhase 에서 processByUnitTime() 을 numTicks 번 호출하고
+		// 그때마다 Dst Task 가 받은 것과 같은 결과
+		// 처리 중에는 전송하지 않으므로 Packet 은 Tick 단위 크기 그대로 쌓기만 하고,
+		// 같은 Node 의 Dst Task 로 가는 Loopback 은 Buffer 를 거치지 않고 바로 넘김
+		if (pendingInputSize < 0) {
+			// 입력이 음수인 경우는 있을 수 없음
+			throw new RuntimeException(pendingInputSize + "");
+		}
+		RoutableNode srcNode = tp.isLastTaskPhase() ? null
+				: curRoutableSnapshot.nid2Node.get(nid);
+		for (int i = 0; i < numTicks && pendingInputSize > 0; i++) {
+			// Pending Input 과 Processing 속도 중 더 작은 값을 처리 크기로 결정
+			double processedSize = pendingInputSize < B_P ? pendingInputSize
+					: B_P;
+			pendingInputSize -= processedSize;
+
+			if (srcNode == null) {
+				// 마지막 TaskPhase 인 경우 Dummy Buffer 하나에만 저장
+				outputBuffer += processedSize * tp.tpp.S_Src;
+			} else {
+				double pendingPartitionOutputSize = processedSize
+						* tp.tpp.S_Src / dstTasks.size();
+				for (Task dstTask : dstTasks) {
+					if (dstTask.nid == nid) {
+						if (pendingPartitionOutputSize > 0) {
+							dstTask.pendingInputSize += pendingPartitionOutputSize;
+						}
+					} else {
+						RoutableMultihopSnapshot.queueRemotePackets(srcNode,
+								dstTask.nid, dstTask.id,
+								pendingPartitionOutputSize);
+					}
+				}
+			}
+		}
+	}
+
 	public void onReceive(RoutableMultihopSnapshot curRoutableSnapshot,
 			TaskPhaseType tpType, int curTime) {
 		// Loopback 데이터 추출
@@ -25,8 +25,13 @@ public class TaskPhase {
 	public HashMap<Integer, Task> dstTid2Task = new HashMap<>();
 	public HashMap<Integer, Task> failedTid2Task = new HashMap<>();
 
-	public TaskPhase(TaskPhaseProfile tpp, TaskPhaseProfile nextTpp,
-			HashMap<Integer, Task> srcTid2Task,
+	// Tick 마다 HashMap 을 순회하지 않도록 만든 Task 배열 (HashMap 순회 순서와 같음)
+	// Task 를 빼는 것은 removeSrcTask() / removeDstTask() 로만 해야 함
+	private Task[] srcTasks;
+	private Task[] dstTasks;
+
+	public TaskPhase(TrialContext ctx, TaskPhaseProfile tpp,
+			TaskPhaseProfile nextTpp, HashMap<Integer, Task> srcTid2Task,
 			ArrayList<OrderedNumPair<Integer>> conns, String indent) {
 		this.tpp = tpp;
 		this.srcTid2Task = srcTid2Task;
@@ -39,8 +44,9 @@ public class TaskPhase {
 		}
 
 		// Src Task 늦은 초기화
-		ArrayList<Task> srcTasks = new ArrayList<>(srcTid2Task.values());
-		srcTasks.forEach(srcTask -> srcTask.lateBind(this));
+		for (Task srcTask : getSrcTasks()) {
+			srcTask.lateBind(this);
+		}
 
 		// Dst Nid 목록 추출
 		// 중복제거를 위해 HashSet 생성
@@ -50,19 +56,23 @@ public class TaskPhase {
 		ArrayList<Integer> dstNids = new ArrayList<>(dstNidSet);
 
 		// Dst Task 생성 및 보관
-		// Dst Nid -> Dst Tid -> Dst Task 접근이 가능한 자료구조 생성
-		HashMap<Integer, Integer> dstNid2Tid = new HashMap<>();
+		// Dst Nid -> Dst Task 접근이 가능하도록 Node ID 를 Index 로 하는 배열 생성
+		int maxDstNid = -1;
+		for (int dstNid : dstNids) {
+			maxDstNid = Math.max(maxDstNid, dstNid);
+		}
+		Task[] dstNid2Task = new Task[maxDstNid + 1];
 		double dstTaskInputSize = tpp.outputSize / dstNids.size();
 		for (int dstNid : dstNids) {
-			int dstTid = Task.generateId();
-
-			// Dst Node ID -> Task ID 저장
-			dstNid2Tid.put(dstNid, dstTid);
+			int dstTid = ctx.generateTid();
 
 			// Dst Task ID -> Task 저장
-			dstTid2Task.put(dstTid, new Task(dstTid, dstNid, nextTpp.getBandwidth(),
-					dstTaskInputSize, false));
+			Task dstTask = new Task(dstTid, dstNid, nextTpp.getBandwidth(ctx.random),
+					dstTaskInputSize, false);
+			dstTid2Task.put(dstTid, dstTask);
+			dstNid2Task[dstNid] = dstTask;
 		}
+		dstTasks = null;
 
 		for (OrderedNumPair<Integer> conn : conns) {
 			// Src Task 추출
@@ -70,9 +80,7 @@ public class TaskPhase {
 			Task srcTask = srcTid2Task.get(srcTid);
 
 			// Dst Task 추출
-			int dstNid = conn.getSecond();
-			int dstTid = dstNid2Tid.get(dstNid);
-			Task dstTask = dstTid2Task.get(dstTid);
+			Task dstTask = dstNid2Task[conn.getSecond()];
 
 			// Src Task 에 Dst Task 추가
 			srcTask.addDstTask(dstTask);
@@ -86,9 +94,39 @@ public class TaskPhase {
 		}
 	}
 
+	public Task[] getSrcTasks() {
+		Task[] srcTasks = this.srcTasks;
+		if (srcTasks == null) {
+			srcTasks = srcTid2Task.values().toArray(
+					new Task[srcTid2Task.size()]);
+			this.srcTasks = srcTasks;
+		}
+		return srcTasks;
+	}
+
+	public Task[] getDstTasks() {
+		Task[] dstTasks = this.dstTasks;
+		if (dstTasks == null) {
+			dstTasks = dstTid2Task.values().toArray(
+					new Task[dstTid2Task.size()]);
+			this.dstTasks = dstTasks;
+		}
+		return dstTasks;
+	}
+
+	public void removeSrcTask(int srcTid) {
+		failedTid2Task.put(srcTid, srcTid2Task.remove(srcTid));
+		srcTasks = null;
+	}
+
+	public void removeDstTask(int dstTid) {
+		failedTid2Task.put(dstTid, dstTid2Task.remove(dstTid));
+		dstTasks = null;
+	}
+
 	public boolean isProcessingFinished() {
 		// 하나라도 Task 처리가 완료되지 않았다면 Phase 미완료
-		for (Task srcTask : srcTid2Task.values()) {
+		for (Task srcTask : getSrcTasks()) {
 			if (!srcTask.isProcessingFinished()) {
 				return false;
 			}
@@ -114,7 +152,7 @@ public class TaskPhase {
 	}
 
 	public void start() {
-		for (Task srcTask : srcTid2Task.values()) {
+		for (Task srcTask : getSrcTasks()) {
 			srcTask.status = Status.STARTED;
 		}
 	}
@@ -131,10 +169,10 @@ public class TaskPhase {
 
 	public double getPendingInputSize() {
 		double sumDataSize = 0;
-		for (Task t : srcTid2Task.values()) {
+		for (Task t : getSrcTasks()) {
 			sumDataSize += t.pendingInputSize;
 		}
-		for (Task t : dstTid2Task.values()) {
+		for (Task t : getDstTasks()) {
 			sumDataSize += t.pendingInputSize;
 		}
 		return sumDataSize;
@@ -143,10 +181,10 @@ public class TaskPhase {
 	public double getOutputBufferSize() {
 		// 모든 Task 처리량을 반환
 		double sumDataSize = 0;
-		for (Task t : srcTid2Task.values()) {
+		for (Task t : getSrcTasks()) {
 			sumDataSize += t.outputBuffer;
 		}
-		for (Task t : dstTid2Task.values()) {
+		for (Task t : getDstTasks()) {
 			sumDataSize += t.outputBuffer;
 		}
 		return sumDataSize;
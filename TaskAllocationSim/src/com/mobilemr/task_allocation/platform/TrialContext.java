@@ -0,0 +1,38 @@
+package com.mobilemr.task_allocation.platform;
+
+import java.util.Random;
+
+public class TrialContext {
+
+	// Trial 마다 독립적인 상태를 가지도록 전역 Task ID 와 난수 대신 사용
+
+	private final long seed;
+	public final Random random;
+	private int cntTid;
+
+	public TrialContext(long seed) {
+		this(seed, 0);
+	}
+
+	private TrialContext(long seed, int cntTid) {
+		this.seed = seed;
+		this.random = new Random(seed);
+		this.cntTid = cntTid;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int generateTid() {
+		return cntTid++;
+	}
+
+	public TrialContext fork() {
+		// 추정 Mode 에서 사용할 Context
+		// 원본의 난수열과 Task ID 를 소모하지 않고, 평가 순서와 상관없이 같은 결과가 나오도록
+		// 같은 Seed 와 현재 Task ID 에서 시작
+		return new TrialContext(seed, cntTid);
+	}
+
+}
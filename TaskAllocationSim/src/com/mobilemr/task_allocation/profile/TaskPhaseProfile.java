@@ -1,9 +1,9 @@
 package com.mobilemr.task_allocation.profile;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import com.mobilemr.task_allocation.platform.TaskPhaseType;
-import com.mobilemr.task_allocation.util.Common;
 
 public class TaskPhaseProfile {
 
@@ -26,13 +26,13 @@ public class TaskPhaseProfile {
 		outputSize = inputSize * S_Src;
 	}
 
-	public Float getBandwidth() {
+	public Float getBandwidth(Random random) {
 		if (B_Ps.length == 1) {
 			// 정상 Bandwidth 인 경우
 			return B_Ps[0];
 		} else {
 			// Heterogeneous Bandwidth 인 경우, 무작위 선택
-			return B_Ps[Common.R.nextInt(B_Ps.length)];
+			return B_Ps[random.nextInt(B_Ps.length)];
 		}
 	}
 
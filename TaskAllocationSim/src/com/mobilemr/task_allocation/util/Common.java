@@ -1,9 +1,12 @@
 package com.mobilemr.task_allocation.util;
 
-import java.util.Random;
-
 public class Common {
 
-	public static final Random R = new Random(1234);
+	public static final long SEED = 1234;
+
+	public static long seedOf(String globalTraceId, int trialIdx) {
+		// Heuristic 간 공정한 비교를 위해 Trace 와 Trial 번호만으로 Seed 결정
+		return (SEED * 31 + globalTraceId.hashCode()) * 31 + trialIdx;
+	}
 
 }
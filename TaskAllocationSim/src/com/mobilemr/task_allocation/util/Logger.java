@@ -1,53 +1,226 @@
 package com.mobilemr.task_allocation.util;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import com.mobilemr.task_allocation.Params;
 
 public class Logger {
 
+	// println() 은 Ring Buffer 에 한 줄을 넣기만 하고,
+	// 별도의 Writer Thread 하나가 모아서 파일에 쓰고 일정 시간마다 flush
+	// 여러 Thread 가 동시에 호출해도 Lock 없이 자기 자리만 예약해서 채움
+
 	private static final boolean SYSTEM_OUT = false;
 
-	private static Logger LOGGER = null;
+	public enum Level {
+		// Trial 단위 상세 정보
+		DEBUG,
+		// Trace, Evaluation 단위 요약 정보
+		INFO
+	}
+
+	// Ring Buffer 크기는 2 의 거듭제곱
+	private static final int BUFFER_SIZE = 1 << 14;
+	private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+	private static final long FLUSH_INTERVAL_NANOS = 1000000000L;
+	private static final long IDLE_PARK_NANOS = 1000000L;
+
+	private static volatile Logger LOGGER = null;
+	// 닫히지 않은 Logger 는 JVM 종료 시 하나의 Shutdown Hook 에서 모두 닫음
+	private static final Set<Logger> LIVE_LOGGERS = ConcurrentHashMap
+			.newKeySet();
+	private static boolean shutdownHookAdded = false;
 
-	public static void create(String logDirName, String curDate) {
+	public static synchronized void create(String logDirName, String curDate) {
+		if (LOGGER != null) {
+			LOGGER.close();
+		}
 		LOGGER = new Logger(logDirName + File.separator + curDate + "_log");
 	}
 
-	private PrintWriter pw;
+	private final PrintWriter pw;
+	private final AtomicReferenceArray<String> lines = new AtomicReferenceArray<>(
+			BUFFER_SIZE);
+	// 다음에 예약할 위치 (호출 Thread 들이 증가)
+	private final AtomicLong tail = new AtomicLong();
+	// 다음에 쓸 위치 (Writer Thread 만 증가)
+	private final AtomicLong head = new AtomicLong();
+	private volatile long flushRequestedSeq = 0;
+	private volatile long flushedSeq = 0;
+	private volatile boolean closed = false;
+	private final Thread writer;
 
 	public Logger(String logFilePath) {
 		// Log 파일 초기화
 		File logFile = new File(logFilePath);
 		try {
-			pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(
-					logFile), "UTF-8"), true);
+			pw = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(logFile), "UTF-8")));
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
+
+		writer = new Thread(this::runWriter, "Logger-Writer");
+		writer.setDaemon(true);
+		writer.start();
+
+		// close() 없이 종료하더라도 남은 줄을 기록
+		register(this);
+	}
+
+	private static synchronized void register(Logger logger) {
+		if (!shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(
+					new Thread(Logger::closeAll, "Logger-Shutdown"));
+			shutdownHookAdded = true;
+		}
+		LIVE_LOGGERS.add(logger);
+	}
+
+	private static void closeAll() {
+		for (Logger logger : LIVE_LOGGERS) {
+			logger.close();
+		}
+	}
+
+	private void offer(String line) {
+		long seq = tail.getAndIncrement();
+		// Buffer 가 가득 찬 경우에만 Writer 가 비울 때까지 대기
+		while (seq - head.get() >= BUFFER_SIZE) {
+			if (!writer.isAlive()) {
+				// 이미 닫힌 경우
+				return;
+			}
+			LockSupport.unpark(writer);
+			Thread.yield();
+		}
+		lines.set((int) seq & BUFFER_MASK, line);
+	}
+
+	private void runWriter() {
+		long lastFlushNanos = System.nanoTime();
+		long seq = head.get();
+		while (true) {
+			// 종료 요청 이전에 예약된 줄까지 모두 기록하기 위해 먼저 읽음
+			boolean closing = closed;
+
+			boolean anyWritten = false;
+			String line;
+			while ((line = lines.get((int) seq & BUFFER_MASK)) != null) {
+				lines.set((int) seq & BUFFER_MASK, null);
+				pw.println(line);
+				seq++;
+				head.lazySet(seq);
+				anyWritten = true;
+			}
+
+			long curNanos = System.nanoTime();
+			if (seq > flushedSeq
+					&& (closing || flushRequestedSeq > flushedSeq || curNanos
+							- lastFlushNanos >= FLUSH_INTERVAL_NANOS)) {
+				pw.flush();
+				flushedSeq = seq;
+				lastFlushNanos = curNanos;
+			}
+
+			if (closing && seq == tail.get()) {
+				pw.close();
+				return;
+			}
+			if (!anyWritten) {
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+		}
+	}
+
+	private void flushAndWait() {
+		// 호출 시점까지 예약된 줄이 파일에 반영될 때까지 대기
+		long targetSeq = tail.get();
+		if (targetSeq > flushRequestedSeq) {
+			flushRequestedSeq = targetSeq;
+		}
+		while (flushedSeq < targetSeq && writer.isAlive()) {
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(IDLE_PARK_NANOS);
+		}
+	}
+
+	public void close() {
+		// 남은 줄을 모두 기록하고 Writer Thread 종료 (여러 번 호출해도 됨)
+		closed = true;
+		LIVE_LOGGERS.remove(this);
+		LockSupport.unpark(writer);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public static boolean isEnabled(Level level) {
+		return level.compareTo(Params.LOG_LEVEL) >= 0;
 	}
 
 	public static void println(String msg) {
-		LOGGER.pw.println(Date.CURRENT_TIME + " " + msg);
+		println(Level.INFO, msg);
+	}
+
+	public static void println(Level level, String msg) {
+		if (!isEnabled(level)) {
+			return;
+		}
+		LOGGER.offer(Date.CURRENT_TIME + " " + msg);
 		if (SYSTEM_OUT) {
 			System.out.println(Date.CURRENT_TIME + " " + msg);
 		}
 	}
 
+	public static void println(Level level, Supplier<String> msgSupplier) {
+		// 출력하지 않을 Level 이면 문자열을 만들지 않음
+		if (isEnabled(level)) {
+			println(level, msgSupplier.get());
+		}
+	}
+
 	public static void println() {
-		LOGGER.pw.println();
+		println(Level.INFO);
+	}
+
+	public static void println(Level level) {
+		if (!isEnabled(level)) {
+			return;
+		}
+		LOGGER.offer("");
 		if (SYSTEM_OUT) {
 			System.out.println();
 		}
 	}
 
 	public static void printStackTrace(Throwable t) {
-		t.printStackTrace(LOGGER.pw);
+		StringWriter sw = new StringWriter();
+		t.printStackTrace(new PrintWriter(sw));
+		String stackTrace = sw.toString();
+		LOGGER.offer(stackTrace.substring(0, stackTrace.length()
+				- System.lineSeparator().length()));
 		if (SYSTEM_OUT) {
 			t.printStackTrace(System.out);
 		}
 	}
 
+	public static void flush() {
+		LOGGER.flushAndWait();
+	}
+
 }
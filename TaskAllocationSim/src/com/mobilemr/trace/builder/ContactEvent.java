@@ -0,0 +1,41 @@
+package com.mobilemr.trace.builder;
+
+public class ContactEvent {
+
+	public final int timestamp;
+	public final int nid1;
+	public final int nid2;
+	// true 면 접촉 시작, false 면 접촉 종료
+	public final boolean up;
+
+	public ContactEvent(int timestamp, int nid1, int nid2, boolean up) {
+		this.timestamp = timestamp;
+		this.nid1 = Math.min(nid1, nid2);
+		this.nid2 = Math.max(nid1, nid2);
+		this.up = up;
+	}
+
+	public long getEdgeKey() {
+		return toEdgeKey(nid1, nid2);
+	}
+
+	public static long toEdgeKey(int nid1, int nid2) {
+		// 순서 없는 Node 쌍을 하나의 long 으로 표현
+		return ((long) Math.min(nid1, nid2) << 32)
+				| (Math.max(nid1, nid2) & 0xFFFFFFFFL);
+	}
+
+	public static int getNid1(long edgeKey) {
+		return (int) (edgeKey >>> 32);
+	}
+
+	public static int getNid2(long edgeKey) {
+		return (int) edgeKey;
+	}
+
+	@Override
+	public String toString() {
+		return timestamp + " " + nid1 + "-" + nid2 + " " + (up ? "A" : "D");
+	}
+
+}
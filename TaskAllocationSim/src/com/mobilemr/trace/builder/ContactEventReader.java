@@ -0,0 +1,141 @@
+package com.mobilemr.trace.builder;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+public class ContactEventReader implements Closeable {
+
+	// Raw Contact Log 를 한 줄씩 읽어 시간순 접촉 시작 / 종료 Event 로 변환
+	// 입력은 시작 시각 순으로 정렬되어 있어야 하며,
+	// 진행 중인 접촉만 기억하므로 Memory 는 동시에 유지되는 접촉 수에 비례
+	// 같은 Node 쌍의 접촉이 겹치면 (양쪽 Node 가 각각 기록한 경우 등) 하나로 합침
+
+	private static class PendingEnd implements Comparable<PendingEnd> {
+
+		private final int timestamp;
+		private final long edgeKey;
+
+		private PendingEnd(int timestamp, long edgeKey) {
+			this.timestamp = timestamp;
+			this.edgeKey = edgeKey;
+		}
+
+		@Override
+		public int compareTo(PendingEnd that) {
+			if (this.timestamp != that.timestamp) {
+				return Integer.compare(this.timestamp, that.timestamp);
+			}
+			return Long.compare(this.edgeKey, that.edgeKey);
+		}
+
+	}
+
+	private final BufferedReader br;
+	private final ContactLogFormat format;
+	private final int beaconTimeout;
+
+	// 진행 중인 접촉의 종료 시각
+	// 접촉이 연장되면 PriorityQueue 에는 예전 종료 시각이 남지만 꺼낼 때 무시
+	private final HashMap<Long, Integer> edgeKey2EndTimestamp = new HashMap<>();
+	private final PriorityQueue<PendingEnd> pendingEnds = new PriorityQueue<>();
+
+	// 다음에 처리할 접촉 시작 기록
+	private int[] nextRecord;
+	private int lastStartTimestamp = Integer.MIN_VALUE;
+	private long lineNo = 0;
+
+	public ContactEventReader(BufferedReader br, ContactLogFormat format,
+			int beaconTimeout) throws IOException {
+		if (!format.isInterval() && beaconTimeout <= 0) {
+			throw new IllegalArgumentException("beaconTimeout : "
+					+ beaconTimeout);
+		}
+		this.br = br;
+		this.format = format;
+		this.beaconTimeout = beaconTimeout;
+		nextRecord = readRecord();
+	}
+
+	public ContactEvent next() throws IOException {
+		// 더 이상 Event 가 없으면 null
+		while (true) {
+			PendingEnd pendingEnd = pendingEnds.peek();
+
+			// 같은 시각이면 시작을 먼저 처리해서 바로 이어지는 접촉을 하나로 합침
+			if (pendingEnd != null
+					&& (nextRecord == null || pendingEnd.timestamp < nextRecord[2])) {
+				pendingEnds.poll();
+				Integer endTimestamp = edgeKey2EndTimestamp
+						.get(pendingEnd.edgeKey);
+				if (endTimestamp == null
+						|| endTimestamp != pendingEnd.timestamp) {
+					// 연장된 접촉의 예전 종료 시각
+					continue;
+				}
+				edgeKey2EndTimestamp.remove(pendingEnd.edgeKey);
+				return new ContactEvent(pendingEnd.timestamp,
+						ContactEvent.getNid1(pendingEnd.edgeKey),
+						ContactEvent.getNid2(pendingEnd.edgeKey), false);
+			}
+			if (nextRecord == null) {
+				return null;
+			}
+
+			int[] record = nextRecord;
+			nextRecord = readRecord();
+			long edgeKey = ContactEvent.toEdgeKey(record[0], record[1]);
+			Integer prevEndTimestamp = edgeKey2EndTimestamp.get(edgeKey);
+			if (prevEndTimestamp == null || prevEndTimestamp < record[3]) {
+				edgeKey2EndTimestamp.put(edgeKey, record[3]);
+				pendingEnds.add(new PendingEnd(record[3], edgeKey));
+			}
+			if (prevEndTimestamp == null) {
+				return new ContactEvent(record[2], record[0], record[1], true);
+			}
+		}
+	}
+
+	private int[] readRecord() throws IOException {
+		// {Node1, Node2, 시작, 끝} 으로 변환
+		String line;
+		while ((line = br.readLine()) != null) {
+			lineNo++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] cols = line.split("[\\s,]+");
+			int nid1 = Integer.parseInt(cols[format.nid1Col]);
+			int nid2 = Integer.parseInt(cols[format.nid2Col]);
+			int start = parseTimestamp(cols[format.startCol]);
+			int end = format.isInterval() ? parseTimestamp(cols[format.endCol])
+					: start + beaconTimeout;
+			if (nid1 == nid2) {
+				continue;
+			}
+			if (start < lastStartTimestamp) {
+				throw new IllegalStateException("Not sorted by start time : "
+						+ lineNo + " " + line);
+			}
+			lastStartTimestamp = start;
+
+			// 시작과 끝이 같은 기록도 1초는 접촉한 것으로 봄
+			return new int[] { nid1, nid2, start, Math.max(end, start + 1) };
+		}
+		return null;
+	}
+
+	private static int parseTimestamp(String str) {
+		// 초 단위 정수가 아닌 Log 도 있으므로 내림
+		return (int) Math.floor(Double.parseDouble(str));
+	}
+
+	@Override
+	public void close() throws IOException {
+		br.close();
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.mobilemr.trace.builder;
+
+public enum ContactLogFormat {
+
+	// CRAWDAD 형식 Raw Contact Log 의 열 구성 (0 부터 시작하는 열 번호)
+	// 구간형은 한 줄이 하나의 접촉 구간이고,
+	// 관측형은 한 줄이 한 번의 관측이며 beaconTimeout 안에 다시 관측되지 않으면 끊어진 것으로 봄
+	// 열은 공백, Tab, 쉼표로 구분하며 빈 줄과 # 으로 시작하는 줄은 무시
+
+	// cambridge/haggle : Node1 Node2 시작 끝 접촉횟수 간격
+	HAGGLE(0, 1, 2, 3),
+	// upmc/rollernet : Node1 Node2 시작 끝
+	ROLLERNET(0, 1, 2, 3),
+	// unimi/pmtr : 시각 Node1 Node2
+	PMTR(1, 2, 0, -1);
+
+	public final int nid1Col;
+	public final int nid2Col;
+	public final int startCol;
+	// 관측형이면 -1
+	public final int endCol;
+
+	private ContactLogFormat(int nid1Col, int nid2Col, int startCol,
+			int endCol) {
+		this.nid1Col = nid1Col;
+		this.nid2Col = nid2Col;
+		this.startCol = startCol;
+		this.endCol = endCol;
+	}
+
+	public boolean isInterval() {
+		return endCol != -1;
+	}
+
+}
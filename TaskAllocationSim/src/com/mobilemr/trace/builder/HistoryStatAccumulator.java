@@ -0,0 +1,128 @@
+package com.mobilemr.trace.builder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.mobilemr.trace.history.HistoryStat;
+
+public class HistoryStatAccumulator {
+
+	// 전체 Contact Log 에서 Node 별로 timeInterval 구간마다
+	// 접촉 중이던 시간과 이탈 (마지막 접촉이 끊긴) 횟수를 누적해서 HistoryStat 생성
+	// 구간의 Failure Rate 는 이탈 횟수 / 접촉 시간이며,
+	// 이탈이 없으면 1 / timeInterval, 접촉이 없으면 앞뒤 구간으로 보간
+
+	private static class NodeHistory {
+
+		private int degree = 0;
+		private int connectedSince = -1;
+		private int[] connectedTimes = new int[16];
+		private int[] departures = new int[16];
+
+		private void ensureCapacity(int intervalIdx) {
+			if (intervalIdx >= connectedTimes.length) {
+				int capacity = Math.max(intervalIdx + 1,
+						connectedTimes.length * 2);
+				connectedTimes = Arrays.copyOf(connectedTimes, capacity);
+				departures = Arrays.copyOf(departures, capacity);
+			}
+		}
+
+	}
+
+	private final int initTimestamp;
+	private final int timeInterval;
+	private final HashMap<Integer, NodeHistory> nid2History = new HashMap<>();
+	private int lastTimestamp;
+
+	public HistoryStatAccumulator(int initTimestamp, int timeInterval) {
+		if (timeInterval <= 0) {
+			throw new IllegalArgumentException("timeInterval : " + timeInterval);
+		}
+		this.initTimestamp = initTimestamp;
+		this.timeInterval = timeInterval;
+		lastTimestamp = initTimestamp;
+	}
+
+	public void add(ContactEvent event) {
+		if (event.timestamp < lastTimestamp) {
+			throw new IllegalStateException(event + " " + lastTimestamp);
+		}
+		lastTimestamp = event.timestamp;
+		onDegreeChange(event.nid1, event.timestamp, event.up ? 1 : -1);
+		onDegreeChange(event.nid2, event.timestamp, event.up ? 1 : -1);
+	}
+
+	private void onDegreeChange(int nid, int timestamp, int delta) {
+		NodeHistory history = nid2History.computeIfAbsent(nid,
+				k -> new NodeHistory());
+		history.degree += delta;
+		if (history.degree < 0) {
+			throw new IllegalStateException("Negative degree : " + nid);
+		}
+		if (delta > 0 && history.degree == 1) {
+			history.connectedSince = timestamp;
+		} else if (delta < 0 && history.degree == 0) {
+			addConnectedTime(history, timestamp);
+			// 접촉은 timestamp 직전까지이므로 그 구간의 이탈로 셈
+			int intervalIdx = getIntervalIdx(timestamp - 1);
+			history.ensureCapacity(intervalIdx);
+			history.departures[intervalIdx]++;
+		}
+	}
+
+	private void addConnectedTime(NodeHistory history, int toTimestamp) {
+		// [connectedSince, toTimestamp) 를 구간별로 나눠서 누적
+		int from = history.connectedSince;
+		while (from < toTimestamp) {
+			int intervalIdx = getIntervalIdx(from);
+			int intervalEnd = initTimestamp + (intervalIdx + 1) * timeInterval;
+			int to = Math.min(intervalEnd, toTimestamp);
+			history.ensureCapacity(intervalIdx);
+			history.connectedTimes[intervalIdx] += to - from;
+			from = to;
+		}
+		history.connectedSince = -1;
+	}
+
+	private int getIntervalIdx(int timestamp) {
+		return (timestamp - initTimestamp) / timeInterval;
+	}
+
+	public HistoryStat build() {
+		// 모든 Event 를 넣은 뒤 한 번만 호출
+		// 아직 접촉 중인 Node 는 마지막 Event 시각까지 접촉한 것으로 봄
+		int numIntervals = Math.max(1,
+				(lastTimestamp - initTimestamp + timeInterval - 1)
+						/ timeInterval);
+		HistoryStat historyStat = new HistoryStat(initTimestamp,
+				lastTimestamp, timeInterval);
+		nid2History.forEach((nid, history) -> {
+			if (history.connectedSince != -1) {
+				addConnectedTime(history, lastTimestamp);
+			}
+			history.ensureCapacity(numIntervals - 1);
+
+			float[] failureRates = new float[numIntervals];
+			boolean everConnected = false;
+			for (int i = 0; i < numIntervals; i++) {
+				int connectedTime = history.connectedTimes[i];
+				if (connectedTime == 0) {
+					failureRates[i] = Float.NaN;
+				} else if (history.departures[i] == 0) {
+					failureRates[i] = 1F / timeInterval;
+				} else {
+					failureRates[i] = (float) history.departures[i]
+							/ connectedTime;
+				}
+				everConnected |= connectedTime > 0;
+			}
+			if (everConnected) {
+				historyStat.addNid2FailureRates(nid, failureRates);
+			}
+		});
+		historyStat.interpolate();
+		return historyStat;
+	}
+
+}
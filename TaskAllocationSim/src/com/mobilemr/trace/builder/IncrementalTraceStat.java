@@ -0,0 +1,269 @@
+package com.mobilemr.trace.builder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+import org.apache.commons.math3.util.ResizableDoubleArray;
+
+import com.mobilemr.trace.struct.SimpleTraceStat;
+
+public class IncrementalTraceStat extends SimpleTraceStat {
+
+	// CC 목록을 모두 보관하는 대신 현재 Graph 와 Node 별 Closeness 만 유지하면서
+	// Edge 변화가 들어올 때마다 SimpleTraceStat 과 같은 통계치를 누적
+	// Closeness 는 변화가 있었던 Component 의 Node 만 다시 계산
+	// (JUNG ClosenessCentrality 와 같이 닿지 않는 Node 는 제외한 평균 Hop 수의 역수)
+
+	private final HashMap<Integer, HashSet<Integer>> nid2Neighbors = new HashMap<>();
+	private final HashMap<Integer, Double> nid2Closeness = new HashMap<>();
+	private final HashMap<Integer, Integer> nid2ArrivalTimestamp = new HashMap<>();
+
+	private final int initTimestamp;
+	private int prevTimestamp;
+	private final float initAvgNd;
+	private float sumNd = 0;
+	private int numCCs = 1;
+	private int sumTimeToNodeDepartures = 0;
+	private int cntTimeToNodeDepartures = 0;
+
+	// 가중 평균을 구하기 위한 자료구조
+	private final ResizableDoubleArray valueGss = new ResizableDoubleArray();
+	private final ResizableDoubleArray intervalWeights = new ResizableDoubleArray();
+
+	private boolean finished = false;
+
+	public IncrementalTraceStat(int initTimestamp, Collection<Long> initEdgeKeys) {
+		this.initTimestamp = initTimestamp;
+		prevTimestamp = initTimestamp;
+		for (long edgeKey : initEdgeKeys) {
+			if (!addEdge(edgeKey)) {
+				throw new IllegalStateException("Duplicate edge : "
+						+ toEdgeString(edgeKey));
+			}
+		}
+		if (nid2Neighbors.isEmpty()) {
+			throw new IllegalStateException("Empty initial CC");
+		}
+		initGs = nid2Neighbors.size();
+		nid2Neighbors.keySet().forEach(
+				initNid -> nid2ArrivalTimestamp.put(initNid, initTimestamp));
+		updateCloseness(nid2Neighbors.keySet());
+
+		// SimpleTraceStat 과 같은 값을 가지도록 매 CC 마다 초기 CC 의 평균 Node Degree 를 누적
+		float sumCcNd = 0;
+		for (HashSet<Integer> neighbors : nid2Neighbors.values()) {
+			sumCcNd += neighbors.size();
+		}
+		initAvgNd = sumCcNd / initGs;
+		sumNd += initAvgNd;
+	}
+
+	public boolean containsNode(int nid) {
+		return nid2Neighbors.containsKey(nid);
+	}
+
+	public boolean containsEdge(long edgeKey) {
+		HashSet<Integer> neighbors = nid2Neighbors.get(ContactEvent
+				.getNid1(edgeKey));
+		return neighbors != null
+				&& neighbors.contains(ContactEvent.getNid2(edgeKey));
+	}
+
+	public int getNodeCount() {
+		return nid2Neighbors.size();
+	}
+
+	public Set<Integer> getNids() {
+		return Collections.unmodifiableSet(nid2Neighbors.keySet());
+	}
+
+	public void update(int curTimestamp, Collection<Long> addedEdgeKeys,
+			Collection<Long> removedEdgeKeys) {
+		// 이전 CC 에서 addedEdgeKeys 를 더하고 removedEdgeKeys 를 뺀 것이 현재 CC
+		if (finished || curTimestamp < prevTimestamp) {
+			throw new IllegalStateException(finished + " " + curTimestamp
+					+ " " + prevTimestamp);
+		}
+		int numPrevGs = nid2Neighbors.size();
+
+		// 변화가 있는 Node 의 이전 존재 여부 기록
+		HashMap<Integer, Boolean> touchedNid2PrevExists = new HashMap<>();
+		ArrayList<Long> changedEdgeKeys = new ArrayList<>(addedEdgeKeys);
+		changedEdgeKeys.addAll(removedEdgeKeys);
+		for (long edgeKey : changedEdgeKeys) {
+			int nid1 = ContactEvent.getNid1(edgeKey);
+			int nid2 = ContactEvent.getNid2(edgeKey);
+			touchedNid2PrevExists.putIfAbsent(nid1, containsNode(nid1));
+			touchedNid2PrevExists.putIfAbsent(nid2, containsNode(nid2));
+		}
+		for (long edgeKey : removedEdgeKeys) {
+			if (!removeEdge(edgeKey)) {
+				throw new IllegalStateException("Unknown edge : "
+						+ toEdgeString(edgeKey));
+			}
+		}
+		for (long edgeKey : addedEdgeKeys) {
+			if (!addEdge(edgeKey)) {
+				throw new IllegalStateException("Duplicate edge : "
+						+ toEdgeString(edgeKey));
+			}
+		}
+
+		// 가입 / 이탈 관련 통계 계산
+		ArrayList<Integer> arrivedNids = new ArrayList<>();
+		ArrayList<Integer> departedNids = new ArrayList<>();
+		touchedNid2PrevExists.forEach((nid, prevExists) -> {
+			boolean curExists = containsNode(nid);
+			if (!prevExists && curExists) {
+				arrivedNids.add(nid);
+			} else if (prevExists && !curExists) {
+				departedNids.add(nid);
+			}
+		});
+		numNodeArrivals += arrivedNids.size();
+		numNodeDepartures += departedNids.size();
+		numEdgeArrivals += addedEdgeKeys.size();
+		numEdgeDepartures += removedEdgeKeys.size();
+		sumGed += departedNids.size() + removedEdgeKeys.size();
+		sumGcd += updateCloseness(touchedNid2PrevExists.keySet());
+		sumNd += initAvgNd;
+
+		for (int arrivedNid : arrivedNids) {
+			nid2ArrivalTimestamp.put(arrivedNid, curTimestamp);
+		}
+		for (int departedNid : departedNids) {
+			int prevArrivedTimestamp = nid2ArrivalTimestamp.remove(departedNid);
+			sumTimeToNodeDepartures += curTimestamp - prevArrivedTimestamp;
+			cntTimeToNodeDepartures++;
+		}
+
+		// 앞구간 가중치와 구간 그룹크기 평균 저장
+		intervalWeights.addElement(curTimestamp - prevTimestamp);
+		valueGss.addElement((numPrevGs + nid2Neighbors.size()) / 2.0);
+
+		numCCs++;
+		prevTimestamp = curTimestamp;
+	}
+
+	public void finish(int lastTimestamp) {
+		// Trace.markFinish() 와 같이 마지막 CC 를 lastTimestamp 에 한 번 더 반영
+		update(lastTimestamp, Collections.emptyList(), Collections.emptyList());
+		finished = true;
+
+		length = lastTimestamp - initTimestamp;
+		avgGs = (float) new Mean().evaluate(valueGss.getElements(),
+				intervalWeights.getElements());
+		avgNd = sumNd / numCCs;
+		mttNodeDepartures = (float) sumTimeToNodeDepartures
+				/ cntTimeToNodeDepartures;
+	}
+
+	private boolean addEdge(long edgeKey) {
+		int nid1 = ContactEvent.getNid1(edgeKey);
+		int nid2 = ContactEvent.getNid2(edgeKey);
+		if (!nid2Neighbors.computeIfAbsent(nid1, nid -> new HashSet<>()).add(
+				nid2)) {
+			return false;
+		}
+		nid2Neighbors.computeIfAbsent(nid2, nid -> new HashSet<>()).add(nid1);
+		return true;
+	}
+
+	private boolean removeEdge(long edgeKey) {
+		// IntNodeUndirectedSparseGraph 와 같이 고립된 Node 는 제거
+		int nid1 = ContactEvent.getNid1(edgeKey);
+		int nid2 = ContactEvent.getNid2(edgeKey);
+		HashSet<Integer> neighbors1 = nid2Neighbors.get(nid1);
+		if (neighbors1 == null || !neighbors1.remove(nid2)) {
+			return false;
+		}
+		HashSet<Integer> neighbors2 = nid2Neighbors.get(nid2);
+		neighbors2.remove(nid1);
+		if (neighbors1.isEmpty()) {
+			nid2Neighbors.remove(nid1);
+		}
+		if (neighbors2.isEmpty()) {
+			nid2Neighbors.remove(nid2);
+		}
+		return true;
+	}
+
+	private float updateCloseness(Collection<Integer> touchedNids) {
+		// touchedNids 가 속한 현재 Component 의 Closeness 를 다시 계산하고
+		// CC.getGraphCentralityDistance() 와 같이 이전 Node 기준의 변화량 합 반환
+		HashSet<Integer> affectedNids = new HashSet<>();
+		for (int touchedNid : touchedNids) {
+			if (containsNode(touchedNid) && !affectedNids.contains(touchedNid)) {
+				affectedNids.addAll(bfs(touchedNid).keySet());
+			}
+		}
+
+		// 변화가 없는 Node 의 차이는 0 이므로 나머지만 Node ID 순으로 합산
+		ArrayList<Integer> changedNids = new ArrayList<>();
+		for (int touchedNid : touchedNids) {
+			if (!containsNode(touchedNid) && nid2Closeness.containsKey(touchedNid)) {
+				changedNids.add(touchedNid);
+			}
+		}
+		changedNids.addAll(affectedNids);
+		Collections.sort(changedNids);
+
+		float sumGraphCentralityDistance = 0;
+		for (int nid : changedNids) {
+			Double prevCloseness = nid2Closeness.get(nid);
+			Double curCloseness = containsNode(nid) ? getCloseness(nid) : null;
+			if (curCloseness == null) {
+				nid2Closeness.remove(nid);
+			} else {
+				nid2Closeness.put(nid, curCloseness);
+			}
+			if (prevCloseness != null) {
+				float prevScore = (float) (double) prevCloseness;
+				float curScore = (float) (curCloseness == null ? 0
+						: curCloseness);
+				sumGraphCentralityDistance += Math.abs(prevScore - curScore);
+			}
+		}
+		return sumGraphCentralityDistance;
+	}
+
+	private double getCloseness(int nid) {
+		HashMap<Integer, Integer> nid2Distance = bfs(nid);
+		double sum = 0;
+		for (int distance : nid2Distance.values()) {
+			sum += distance;
+		}
+		double value = sum / (nid2Distance.size() - 1);
+		return value == 0 ? Double.POSITIVE_INFINITY : 1.0 / value;
+	}
+
+	private HashMap<Integer, Integer> bfs(int srcNid) {
+		// srcNid 에서 닿는 Node 별 Hop 수 (srcNid 포함)
+		HashMap<Integer, Integer> nid2Distance = new HashMap<>();
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		nid2Distance.put(srcNid, 0);
+		queue.add(srcNid);
+		while (!queue.isEmpty()) {
+			int nid = queue.poll();
+			int distance = nid2Distance.get(nid);
+			for (int neighborNid : nid2Neighbors.get(nid)) {
+				if (nid2Distance.putIfAbsent(neighborNid, distance + 1) == null) {
+					queue.add(neighborNid);
+				}
+			}
+		}
+		return nid2Distance;
+	}
+
+	private static String toEdgeString(long edgeKey) {
+		return ContactEvent.getNid1(edgeKey) + "-"
+				+ ContactEvent.getNid2(edgeKey);
+	}
+
+}
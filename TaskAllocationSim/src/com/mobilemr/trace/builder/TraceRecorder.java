@@ -0,0 +1,319 @@
+package com.mobilemr.trace.builder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+
+import com.mobilemr.task_allocation.util.ByteUtil;
+import com.mobilemr.trace.struct.TraceStat;
+
+public class TraceRecorder {
+
+	// 하나의 Connected Component Trace 를 Event 가 들어오는 대로 Faultload 형식으로 기록
+	// 1번째 줄 : 초기 Timestamp, 2번째 줄 : 초기 Edge 목록,
+	// 이후 "Offset A Edge 목록" / "Offset D Edge 목록", 마지막 "Offset E -1"
+	// Node ID 는 초기 Node 를 원래 ID 순으로 0 부터 매기고, 이후 가입한 Node 는 다음 번호를 받음
+	// 현재 Trace 의 Node 와 접촉한 Node 는 가입하고, 모든 접촉이 끊긴 Node 는 이탈
+	// MultihopSnapshot 은 하나의 Connected Component 여야 하므로, Timestamp 마다
+	// 이전 Node 가 가장 많이 남은 Component 만 남기고 떨어져 나간 Node 는 이탈 처리
+
+	private final int localTraceIdx;
+	private final int initTimestamp;
+	private final int maxLastTimestamp;
+	private final int minGroupSize;
+	private final File zb2OrgNidFile;
+	private final PrintWriter pw;
+
+	private final HashMap<Integer, Integer> org2ZbNid = new HashMap<>();
+	private final HashMap<Integer, Integer> zb2OrgNid = new HashMap<>();
+	// 현재 Graph (Zero-based ID)
+	private final HashMap<Integer, HashSet<Integer>> zbNid2Neighbors = new HashMap<>();
+	// 현재 Timestamp 에서 바뀐 Edge (마지막으로 기록한 Graph 와 비교해서 기록)
+	// 같은 Timestamp 안에서 추가 후 제거된 Edge 는 기록하지 않음
+	private final LinkedHashSet<Long> pendingZbEdgeKeys = new LinkedHashSet<>();
+	private int curTimestamp;
+	// 이전 Node 가 모두 떨어져 나가서 더 이상 이어갈 수 없음
+	private boolean lost = false;
+
+	private final IncrementalTraceStat stat;
+	private TraceStat traceStat;
+
+	public TraceRecorder(File traceFile, File zb2OrgNidFile,
+			int localTraceIdx, int initTimestamp, int maxLastTimestamp,
+			int minGroupSize, Collection<Long> initOrgEdgeKeys)
+			throws IOException {
+		this.localTraceIdx = localTraceIdx;
+		this.initTimestamp = initTimestamp;
+		this.maxLastTimestamp = maxLastTimestamp;
+		this.minGroupSize = minGroupSize;
+		this.zb2OrgNidFile = zb2OrgNidFile;
+		curTimestamp = initTimestamp;
+
+		// 초기 Node 는 원래 ID 순으로 번호를 매김
+		ArrayList<Integer> initOrgNids = new ArrayList<>();
+		for (long edgeKey : initOrgEdgeKeys) {
+			initOrgNids.add(ContactEvent.getNid1(edgeKey));
+			initOrgNids.add(ContactEvent.getNid2(edgeKey));
+		}
+		initOrgNids = initOrgNids.stream().distinct().sorted()
+				.collect(Collectors.toCollection(ArrayList::new));
+		initOrgNids.forEach(this::toZbNid);
+
+		ArrayList<Long> initZbEdgeKeys = new ArrayList<>();
+		for (long edgeKey : initOrgEdgeKeys) {
+			long zbEdgeKey = toZbEdgeKey(edgeKey);
+			addZbEdge(zbEdgeKey);
+			initZbEdgeKeys.add(zbEdgeKey);
+		}
+		Collections.sort(initZbEdgeKeys);
+		stat = new IncrementalTraceStat(initTimestamp, initZbEdgeKeys);
+
+		pw = new PrintWriter(new BufferedWriter(new FileWriter(traceFile)));
+		pw.println(initTimestamp);
+		pw.println(toEdgesString(initZbEdgeKeys));
+	}
+
+	public boolean containsOrgNid(int orgNid) {
+		Integer zbNid = org2ZbNid.get(orgNid);
+		return zbNid != null && zbNid2Neighbors.containsKey(zbNid);
+	}
+
+	public boolean advanceTo(int timestamp) throws IOException {
+		// timestamp 이전의 변화를 기록하고, Trace 가 끝났으면 마무리 후 false
+		if (timestamp > curTimestamp) {
+			flush();
+			if (lost || stat.getNodeCount() < minGroupSize) {
+				finish(curTimestamp);
+				return false;
+			}
+			if (timestamp >= maxLastTimestamp) {
+				finish(maxLastTimestamp);
+				return false;
+			}
+			curTimestamp = timestamp;
+		}
+		return true;
+	}
+
+	public void add(ContactEvent event) {
+		// advanceTo(event.timestamp) 가 true 를 반환한 뒤 호출
+		boolean contains1 = containsOrgNid(event.nid1);
+		boolean contains2 = containsOrgNid(event.nid2);
+		if (event.up) {
+			// 현재 Node 와 접촉한 경우만 반영
+			if (!contains1 && !contains2) {
+				return;
+			}
+			long zbEdgeKey = ContactEvent.toEdgeKey(toZbNid(event.nid1),
+					toZbNid(event.nid2));
+			if (addZbEdge(zbEdgeKey)) {
+				pendingZbEdgeKeys.add(zbEdgeKey);
+			}
+		} else {
+			if (!contains1 || !contains2) {
+				return;
+			}
+			long zbEdgeKey = ContactEvent.toEdgeKey(org2ZbNid.get(event.nid1),
+					org2ZbNid.get(event.nid2));
+			if (removeZbEdge(zbEdgeKey)) {
+				pendingZbEdgeKeys.add(zbEdgeKey);
+			}
+		}
+	}
+
+	public TraceStat finish(int lastTimestamp) throws IOException {
+		// Log 가 끝났을 때도 호출
+		if (traceStat == null) {
+			flush();
+			lastTimestamp = Math.max(lastTimestamp, curTimestamp);
+			pw.println((lastTimestamp - initTimestamp) + " E -1");
+			pw.close();
+			FileUtils.writeByteArrayToFile(zb2OrgNidFile,
+					ByteUtil.serialize(zb2OrgNid));
+
+			stat.finish(lastTimestamp);
+			traceStat = new TraceStat(localTraceIdx, initTimestamp,
+					lastTimestamp, stat);
+		}
+		return traceStat;
+	}
+
+	public TraceStat getTraceStat() {
+		if (traceStat == null) {
+			throw new IllegalStateException();
+		}
+		return traceStat;
+	}
+
+	private void flush() {
+		if (pendingZbEdgeKeys.isEmpty() || lost) {
+			return;
+		}
+		pruneToMainComponent();
+
+		ArrayList<Long> addedZbEdgeKeys = new ArrayList<>();
+		ArrayList<Long> removedZbEdgeKeys = new ArrayList<>();
+		for (long zbEdgeKey : pendingZbEdgeKeys) {
+			boolean prevExists = stat.containsEdge(zbEdgeKey);
+			boolean curExists = containsZbEdge(zbEdgeKey);
+			if (!prevExists && curExists) {
+				addedZbEdgeKeys.add(zbEdgeKey);
+			} else if (prevExists && !curExists) {
+				removedZbEdgeKeys.add(zbEdgeKey);
+			}
+		}
+		pendingZbEdgeKeys.clear();
+		if (lost || addedZbEdgeKeys.isEmpty() && removedZbEdgeKeys.isEmpty()) {
+			return;
+		}
+
+		// FaultloadCompiler.parse() 가 A 를 먼저 적용하므로 A, D 순으로 기록
+		// 이전 Graph 와 현재 Graph 가 Node 를 공유하므로 A 만 적용한 중간 Graph 도 연결됨
+		int offset = curTimestamp - initTimestamp;
+		if (!addedZbEdgeKeys.isEmpty()) {
+			pw.println(offset + " A " + toEdgesString(addedZbEdgeKeys));
+		}
+		if (!removedZbEdgeKeys.isEmpty()) {
+			pw.println(offset + " D " + toEdgesString(removedZbEdgeKeys));
+		}
+		stat.update(curTimestamp, addedZbEdgeKeys, removedZbEdgeKeys);
+	}
+
+	private void pruneToMainComponent() {
+		// 이전 Node 가 가장 많이 남은 Component 를 남기고 (같으면 큰 것) 나머지 Edge 는 제거
+		HashSet<Integer> visitedZbNids = new HashSet<>();
+		ArrayList<ArrayList<Integer>> components = new ArrayList<>();
+		ArrayList<Integer> mainComponent = null;
+		int mainNumPrevNids = 0;
+		for (int srcZbNid : zbNid2Neighbors.keySet()) {
+			if (!visitedZbNids.add(srcZbNid)) {
+				continue;
+			}
+			ArrayList<Integer> component = new ArrayList<>();
+			int numPrevNids = 0;
+			ArrayDeque<Integer> queue = new ArrayDeque<>();
+			queue.add(srcZbNid);
+			while (!queue.isEmpty()) {
+				int zbNid = queue.poll();
+				component.add(zbNid);
+				if (stat.containsNode(zbNid)) {
+					numPrevNids++;
+				}
+				for (int neighborZbNid : zbNid2Neighbors.get(zbNid)) {
+					if (visitedZbNids.add(neighborZbNid)) {
+						queue.add(neighborZbNid);
+					}
+				}
+			}
+			components.add(component);
+			if (numPrevNids > mainNumPrevNids
+					|| numPrevNids == mainNumPrevNids
+					&& mainComponent != null
+					&& component.size() > mainComponent.size()) {
+				mainComponent = component;
+				mainNumPrevNids = numPrevNids;
+			}
+		}
+		if (mainComponent == null) {
+			lost = true;
+			return;
+		}
+		for (ArrayList<Integer> component : components) {
+			if (component == mainComponent) {
+				continue;
+			}
+			for (int zbNid : component) {
+				HashSet<Integer> neighbors = zbNid2Neighbors.get(zbNid);
+				if (neighbors == null) {
+					continue;
+				}
+				for (int neighborZbNid : new ArrayList<>(neighbors)) {
+					long zbEdgeKey = ContactEvent.toEdgeKey(zbNid,
+							neighborZbNid);
+					removeZbEdge(zbEdgeKey);
+					pendingZbEdgeKeys.add(zbEdgeKey);
+				}
+			}
+		}
+	}
+
+	private int toZbNid(int orgNid) {
+		Integer zbNid = org2ZbNid.get(orgNid);
+		if (zbNid == null) {
+			zbNid = org2ZbNid.size();
+			org2ZbNid.put(orgNid, zbNid);
+			zb2OrgNid.put(zbNid, orgNid);
+		}
+		return zbNid;
+	}
+
+	private long toZbEdgeKey(long orgEdgeKey) {
+		return ContactEvent.toEdgeKey(
+				toZbNid(ContactEvent.getNid1(orgEdgeKey)),
+				toZbNid(ContactEvent.getNid2(orgEdgeKey)));
+	}
+
+	private boolean containsZbEdge(long zbEdgeKey) {
+		HashSet<Integer> neighbors = zbNid2Neighbors.get(ContactEvent
+				.getNid1(zbEdgeKey));
+		return neighbors != null
+				&& neighbors.contains(ContactEvent.getNid2(zbEdgeKey));
+	}
+
+	private boolean addZbEdge(long zbEdgeKey) {
+		int zbNid1 = ContactEvent.getNid1(zbEdgeKey);
+		int zbNid2 = ContactEvent.getNid2(zbEdgeKey);
+		if (!zbNid2Neighbors.computeIfAbsent(zbNid1, k -> new HashSet<>())
+				.add(zbNid2)) {
+			return false;
+		}
+		zbNid2Neighbors.computeIfAbsent(zbNid2, k -> new HashSet<>()).add(
+				zbNid1);
+		return true;
+	}
+
+	private boolean removeZbEdge(long zbEdgeKey) {
+		// 고립된 Node 는 이탈
+		if (!containsZbEdge(zbEdgeKey)) {
+			return false;
+		}
+		removeNeighbor(ContactEvent.getNid1(zbEdgeKey),
+				ContactEvent.getNid2(zbEdgeKey));
+		removeNeighbor(ContactEvent.getNid2(zbEdgeKey),
+				ContactEvent.getNid1(zbEdgeKey));
+		return true;
+	}
+
+	private void removeNeighbor(int zbNid, int neighborZbNid) {
+		HashSet<Integer> neighbors = zbNid2Neighbors.get(zbNid);
+		neighbors.remove(neighborZbNid);
+		if (neighbors.isEmpty()) {
+			zbNid2Neighbors.remove(zbNid);
+		}
+	}
+
+	private static String toEdgesString(Collection<Long> zbEdgeKeys) {
+		StringBuilder sb = new StringBuilder();
+		for (long zbEdgeKey : zbEdgeKeys) {
+			if (sb.length() > 0) {
+				sb.append(',');
+			}
+			sb.append(ContactEvent.getNid1(zbEdgeKey)).append('-')
+					.append(ContactEvent.getNid2(zbEdgeKey));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.mobilemr.trace.history;
+
+public class FailureRateTable {
+
+	// 한 Trace 의 Zero-based Node ID 로 zb2OrgNid 와 HistoryStat 의 HashMap 을
+	// 거치지 않고 바로 Failure Rate 를 읽기 위한 HistoryStat 의 View
+	// HistoryStat.getFailureRateTable() 로 생성하며 생성 후 변경하지 않음
+
+	private final HistoryStat historyStat;
+	private final float[][] zbNid2FailureRates;
+	private final double[][] zbNid2PrefixSums;
+
+	FailureRateTable(HistoryStat historyStat, float[][] zbNid2FailureRates,
+			double[][] zbNid2PrefixSums) {
+		this.historyStat = historyStat;
+		this.zbNid2FailureRates = zbNid2FailureRates;
+		this.zbNid2PrefixSums = zbNid2PrefixSums;
+	}
+
+	public int getIntervalIdx(int targetTimestamp) {
+		return historyStat.getIntervalIdx(targetTimestamp);
+	}
+
+	public float getFailureRate(int zbNid, int targetTimestamp) {
+		return getFailureRateAt(zbNid, getIntervalIdx(targetTimestamp));
+	}
+
+	public float getFailureRateAt(int zbNid, int intervalIdx) {
+		// 시간범위 밖이거나 이력이 없는 Node 면 NaN
+		if (intervalIdx == -1 || zbNid >= zbNid2FailureRates.length
+				|| zbNid2FailureRates[zbNid] == null) {
+			return Float.NaN;
+		}
+		return zbNid2FailureRates[zbNid][intervalIdx];
+	}
+
+	public float getAvgFailureRate(int zbNid, int fromIntervalIdx,
+			int toIntervalIdx) {
+		// [fromIntervalIdx, toIntervalIdx) 구간의 평균 Failure Rate
+		if (zbNid >= zbNid2PrefixSums.length
+				|| zbNid2PrefixSums[zbNid] == null
+				|| fromIntervalIdx >= toIntervalIdx) {
+			return Float.NaN;
+		}
+		double[] prefixSum = zbNid2PrefixSums[zbNid];
+		return (float) ((prefixSum[toIntervalIdx] - prefixSum[fromIntervalIdx]) / (toIntervalIdx - fromIntervalIdx));
+	}
+
+	public float sumFailureRates(Iterable<Integer> zbNids, int intervalIdx) {
+		// 신뢰도 지수 합 (LD) 계산용
+		// 하나라도 NaN 이면 NaN
+		float sum = 0;
+		for (int zbNid : zbNids) {
+			sum += getFailureRateAt(zbNid, intervalIdx);
+		}
+		return sum;
+	}
+
+}
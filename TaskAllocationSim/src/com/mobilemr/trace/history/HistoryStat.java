@@ -3,8 +3,11 @@ package com.mobilemr.trace.history;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map.Entry;
+import java.util.WeakHashMap;
 
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 
@@ -24,43 +27,132 @@ public class HistoryStat implements Serializable {
 
 	private HashMap<Integer, float[]> nid2FailureRates = new HashMap<Integer, float[]>();
 
+	// 적합도 평가마다 조회하므로 처음 조회할 때 Node 를 Row 로 재배치한 Dense 배열과
+	// Node 별 시간 구간 누적합을 만들어 둠 (Row 는 nid2FailureRates 의 배열을 공유)
+	// Failure Rate 를 바꾸는 메소드는 조회 전에만 호출해야 함
+	private transient volatile HashMap<Integer, Integer> nid2Row;
+	private transient float[][] rows;
+	private transient double[][] prefixSums;
+	// Trace 별 zb2OrgNid 에 대한 View
+	private transient WeakHashMap<HashMap<Integer, Integer>, FailureRateTable> zb2OrgNid2Table;
+
 	public void addNid2FailureRates(int nid, float[] failureRates) {
 		nid2FailureRates.put(nid, failureRates);
+		resetDenseFields();
 	}
 
-	public float getMttf(int nid, int targetTimestamp) {
-		return 1 / getFailureRate(nid, targetTimestamp);
+	int getTraceInitTimestamp() {
+		return traceInitTimestamp;
 	}
 
-	public float getFailureRate(int nid, int targetTimestamp) {
-		// 시간 Bound 검사
+	int getTraceLastTimestamp() {
+		return traceLastTimestamp;
+	}
+
+	int getTimeInterval() {
+		return timeInterval;
+	}
+
+	HashMap<Integer, float[]> getNid2FailureRates() {
+		return nid2FailureRates;
+	}
+
+	private synchronized void resetDenseFields() {
+		nid2Row = null;
+		rows = null;
+		prefixSums = null;
+		zb2OrgNid2Table = null;
+	}
+
+	private synchronized void buildDenseFields() {
+		if (nid2Row != null) {
+			return;
+		}
+		ArrayList<Integer> nids = new ArrayList<>(nid2FailureRates.keySet());
+		Collections.sort(nids);
+		HashMap<Integer, Integer> nid2Row = new HashMap<>();
+		rows = new float[nids.size()][];
+		prefixSums = new double[nids.size()][];
+		for (int row = 0; row < nids.size(); row++) {
+			int nid = nids.get(row);
+			float[] failureRates = nid2FailureRates.get(nid);
+			double[] prefixSum = new double[failureRates.length + 1];
+			for (int i = 0; i < failureRates.length; i++) {
+				prefixSum[i + 1] = prefixSum[i] + failureRates[i];
+			}
+			nid2Row.put(nid, row);
+			rows[row] = failureRates;
+			prefixSums[row] = prefixSum;
+		}
+		this.nid2Row = nid2Row;
+	}
+
+	public synchronized FailureRateTable getFailureRateTable(
+			HashMap<Integer, Integer> zb2OrgNid) {
+		// 같은 Node 구성의 Trace 끼리는 같은 View 를 사용
+		buildDenseFields();
+		if (zb2OrgNid2Table == null) {
+			zb2OrgNid2Table = new WeakHashMap<>();
+		}
+		FailureRateTable table = zb2OrgNid2Table.get(zb2OrgNid);
+		if (table == null) {
+			int capacity = 0;
+			for (int zbNid : zb2OrgNid.keySet()) {
+				capacity = Math.max(capacity, zbNid + 1);
+			}
+			float[][] zbNid2FailureRates = new float[capacity][];
+			double[][] zbNid2PrefixSums = new double[capacity][];
+			for (Entry<Integer, Integer> entry : zb2OrgNid.entrySet()) {
+				Integer row = nid2Row.get(entry.getValue());
+				if (row != null) {
+					zbNid2FailureRates[entry.getKey()] = rows[row];
+					zbNid2PrefixSums[entry.getKey()] = prefixSums[row];
+				}
+			}
+			table = new FailureRateTable(this, zbNid2FailureRates,
+					zbNid2PrefixSums);
+			zb2OrgNid2Table.put(zb2OrgNid, table);
+		}
+		return table;
+	}
+
+	public int getIntervalIdx(int targetTimestamp) {
+		// targetTimestamp 에서 사용할 Failure Rate 의 Index
+		// 아예 Trace 의 시간범위 밖일 경우 -1
 		if (targetTimestamp < traceInitTimestamp
 				|| traceLastTimestamp < targetTimestamp) {
-			// 아예 Trace 의 시간범위 밖일 경우 NaN 반환
-			return Float.NaN;
-		} else if (traceInitTimestamp <= targetTimestamp
-				&& targetTimestamp < traceInitTimestamp + timeInterval) {
+			return -1;
+		} else if (targetTimestamp < traceInitTimestamp + timeInterval) {
 			// 최소 Failure Rate 계산을 timeInterval 크기부터 시작하므로
-			// 그 사이에서는 첫번째 Failure Rate 반환
-			return nid2FailureRates.get(nid)[0];
+			// 그 사이에서는 첫번째 Failure Rate 사용
+			return 0;
 		} else {
 			// 이전 timeInterval 시간 범위의 failureRate 에 관심이 있으므로 -1
-			int idxTimestamp = (targetTimestamp - traceInitTimestamp)
-					/ timeInterval - 1;
-			return nid2FailureRates.get(nid)[idxTimestamp];
+			return (targetTimestamp - traceInitTimestamp) / timeInterval - 1;
 		}
 	}
 
-	public float getAvgFailureRate(int nid) {
-		float[] failureRates = nid2FailureRates.get(nid);
-		float sum = 0;
-		for (float failureRate : failureRates) {
-			sum += failureRate;
+	public float getMttf(int nid, int targetTimestamp) {
+		return 1 / getFailureRate(nid, targetTimestamp);
+	}
+
+	public float getFailureRate(int nid, int targetTimestamp) {
+		// 아예 Trace 의 시간범위 밖일 경우 NaN 반환
+		int intervalIdx = getIntervalIdx(targetTimestamp);
+		if (intervalIdx == -1) {
+			return Float.NaN;
 		}
-		return sum / failureRates.length;
+		return nid2FailureRates.get(nid)[intervalIdx];
+	}
+
+	public float getAvgFailureRate(int nid) {
+		buildDenseFields();
+		double[] prefixSum = prefixSums[nid2Row.get(nid)];
+		return (float) (prefixSum[prefixSum.length - 1] / (prefixSum.length - 1));
 	}
 
 	public void interpolate() {
+		resetDenseFields();
 		for (float[] failureRates : nid2FailureRates.values()) {
 			int idxNanStart = -1;
 			boolean interpolating = false;
@@ -101,6 +193,7 @@ public class HistoryStat implements Serializable {
 	}
 
 	public void scaleBy(Float duration) {
+		resetDenseFields();
 		// Upper Outlier Bound 구하기 (시간이므로 Lower 필요 없음)
 		DescriptiveStatistics dsMttf = new DescriptiveStatistics();
 		for (float[] failureRates : nid2FailureRates.values()) {
@@ -0,0 +1,84 @@
+package com.mobilemr.trace.history;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+public class HistoryStatFile {
+
+	// Java Serialization 대신 사용하는 HistoryStat 의 Binary 형식
+	// Header : MAGIC, VERSION, Trace 초기/마지막 Timestamp, 시간 간격, Node 수
+	// Node 마다 (Node ID 오름차순) : Node ID, Failure Rate 수, Failure Rate 배열
+
+	public static final String FILE_EXTENSION = ".hsb";
+
+	private static final int MAGIC = 0x48534231;
+	private static final int VERSION = 1;
+
+	public static void write(File file, HistoryStat historyStat)
+			throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(historyStat.getTraceInitTimestamp());
+			out.writeInt(historyStat.getTraceLastTimestamp());
+			out.writeInt(historyStat.getTimeInterval());
+
+			HashMap<Integer, float[]> nid2FailureRates = historyStat
+					.getNid2FailureRates();
+			ArrayList<Integer> nids = new ArrayList<>(nid2FailureRates.keySet());
+			Collections.sort(nids);
+			out.writeInt(nids.size());
+			for (int nid : nids) {
+				float[] failureRates = nid2FailureRates.get(nid);
+				out.writeInt(nid);
+				out.writeInt(failureRates.length);
+				for (float failureRate : failureRates) {
+					out.writeFloat(failureRate);
+				}
+			}
+		}
+	}
+
+	public static HistoryStat read(File file) throws IOException {
+		MappedByteBuffer in;
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileChannel channel = raf.getChannel()) {
+			in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (in.getInt() != MAGIC) {
+			throw new IOException("Not a compiled history stat : " + file);
+		}
+		int version = in.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported version " + version + " : "
+					+ file);
+		}
+		int traceInitTimestamp = in.getInt();
+		int traceLastTimestamp = in.getInt();
+		int timeInterval = in.getInt();
+		HistoryStat historyStat = new HistoryStat(traceInitTimestamp,
+				traceLastTimestamp, timeInterval);
+
+		int numNids = in.getInt();
+		for (int i = 0; i < numNids; i++) {
+			int nid = in.getInt();
+			float[] failureRates = new float[in.getInt()];
+			in.asFloatBuffer().get(failureRates);
+			in.position(in.position() + 4 * failureRates.length);
+			historyStat.addNid2FailureRates(nid, failureRates);
+		}
+		return historyStat;
+	}
+
+}
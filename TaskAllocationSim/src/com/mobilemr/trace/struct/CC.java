@@ -93,6 +93,15 @@ public class CC extends IntNodeUndirectedSparseGraph<DummyEdge> {
 				prevCC);
 		ClosenessCentrality<Integer, DummyEdge> curCloseness = new ClosenessCentrality<Integer, DummyEdge>(
 				curCC);
+		return getGraphCentralityDistance(prevCC, prevCloseness, curCC,
+				curCloseness);
+	}
+
+	public static float getGraphCentralityDistance(CC prevCC,
+			ClosenessCentrality<Integer, DummyEdge> prevCloseness, CC curCC,
+			ClosenessCentrality<Integer, DummyEdge> curCloseness) {
+		// 연속된 CC 쌍을 차례로 비교할 때 이전 쌍의 curCloseness 를
+		// 다음 쌍의 prevCloseness 로 재사용할 수 있도록 따로 받음 (계산된 Score 는 내부에 Cache 됨)
 
 		// // CC 간 노드 가입/이탈에 상관없이 Score 를 구하기 위해 Union 으로 합침
 		// HashSet<Integer> unionNidSet = new HashSet<Integer>();
@@ -14,6 +14,15 @@ public class OrderedNumPair<N extends Number> extends GeneralPair<N, N>
 
 	@Override
 	public int compareTo(OrderedNumPair<N> that) {
+		if (this.first instanceof Integer && this.second instanceof Integer
+				&& that.first instanceof Integer
+				&& that.second instanceof Integer) {
+			// Integer 쌍은 문자열 변환 없이 비교
+			int result = Integer.compare((Integer) this.first,
+					(Integer) that.first);
+			return result == 0 ? Integer.compare((Integer) this.second,
+					(Integer) that.second) : result;
+		}
 		int result = new BigDecimal(this.first.toString())
 				.compareTo(new BigDecimal(that.first.toString()));
 		return result == 0 ? new BigDecimal(this.second.toString())
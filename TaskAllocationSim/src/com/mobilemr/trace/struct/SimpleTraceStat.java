@@ -6,6 +6,7 @@ import java.util.HashSet;
 
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
 
+import edu.uci.ics.jung.algorithms.scoring.ClosenessCentrality;
 import edu.uci.ics.jung.graph.util.Pair;
 
 public class SimpleTraceStat {
@@ -38,6 +39,10 @@ public class SimpleTraceStat {
 	public int sumGed = 0;
 	public float sumGcd = 0;
 
+	protected SimpleTraceStat() {
+		// CC 목록 없이 통계치를 직접 채우는 하위 Class 용
+	}
+
 	public SimpleTraceStat(ArrayList<CC> ccs) {
 		Mean avg = new Mean();
 
@@ -73,9 +78,14 @@ public class SimpleTraceStat {
 		int cntTimeToNodeDepartures = 0;
 
 		// 2번째 CC 부터 시작
+		// 각 CC 의 Closeness 는 한 번만 계산해서 다음 CC 와 비교할 때 재사용
 		CC prevCC = initCc;
+		ClosenessCentrality<Integer, DummyEdge> prevCloseness = new ClosenessCentrality<Integer, DummyEdge>(
+				prevCC);
 		for (int i = 1; i < ccs.size(); i++) {
 			CC curCC = ccs.get(i);
+			ClosenessCentrality<Integer, DummyEdge> curCloseness = new ClosenessCentrality<Integer, DummyEdge>(
+					curCC);
 			int curTimestamp = curCC.getTimestamp();
 
 			// 이전 CC 와 현재 CC 를 비교해서 가입 / 이탈 관련 통계 계산
@@ -89,7 +99,8 @@ public class SimpleTraceStat {
 			numEdgeDepartures += edgeDiff.getSecond().size();
 
 			sumGed += CC.getGraphEditDistance(nodeDiff, edgeDiff);
-			sumGcd += CC.getGraphCentralityDistance(prevCC, curCC);
+			sumGcd += CC.getGraphCentralityDistance(prevCC, prevCloseness,
+					curCC, curCloseness);
 
 			sumCcNd = 0;
 			for (int nid : initCc.getNids()) {
@@ -132,6 +143,7 @@ public class SimpleTraceStat {
 			valueGss.add(intervalMeanGs);
 
 			prevCC = curCC;
+			prevCloseness = curCloseness;
 			prevTimestamp = curTimestamp;
 		}
 
@@ -6,6 +6,10 @@ public class Trace {
 
 	public ArrayList<CC> ccs = new ArrayList<CC>();
 
+	protected Trace() {
+		// 이미 준비된 CC 들을 직접 ccs 에 채우는 하위 Class 용
+	}
+
 	public Trace(CC cc) {
 		// 외부 CC 재사용을 위해 복제 후 추가
 		ccs.add((CC) cc.clone());
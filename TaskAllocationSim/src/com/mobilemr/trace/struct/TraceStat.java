@@ -26,12 +26,17 @@ public class TraceStat extends CsvRecord implements Serializable {
 	}
 
 	public TraceStat(Trace trace) {
-		localTraceIdx = trace.id;
-		initTimestamp = trace.getInitCC().getTimestamp();
-		lastTimestamp = trace.getLastCC().getTimestamp();
-
 		// 통계치 계산
-		SimpleTraceStat simpleTraceStat = new SimpleTraceStat(trace.ccs);
+		this(trace.id, trace.getInitCC().getTimestamp(), trace.getLastCC()
+				.getTimestamp(), new SimpleTraceStat(trace.ccs));
+	}
+
+	public TraceStat(int localTraceIdx, int initTimestamp, int lastTimestamp,
+			SimpleTraceStat simpleTraceStat) {
+		this.localTraceIdx = localTraceIdx;
+		this.initTimestamp = initTimestamp;
+		this.lastTimestamp = lastTimestamp;
+
 		length = simpleTraceStat.length;
 		initGs = simpleTraceStat.initGs;
 		avgGs = simpleTraceStat.avgGs;
@@ -15,8 +15,14 @@ public class UnorderedNumPair<N extends Number> extends OrderedNumPair<N> {
 		// 순서를 없애기 위해 오름차순 배치
 		// Number 는 Comparable 이 아니므로 BigDecimal 이용
 		// https://stackoverflow.com/questions/2683202/comparing-the-values-of-two-generic-numbers
-		boolean firstSmaller = new BigDecimal(first.toString())
-				.compareTo(new BigDecimal(second.toString())) < 0;
+		boolean firstSmaller;
+		if (first instanceof Integer && second instanceof Integer) {
+			// Node ID 쌍은 Tick 마다 만들어지므로 문자열 변환 없이 비교
+			firstSmaller = (Integer) first < (Integer) second;
+		} else {
+			firstSmaller = new BigDecimal(first.toString())
+					.compareTo(new BigDecimal(second.toString())) < 0;
+		}
 		this.first = firstSmaller ? first : second;
 		this.second = firstSmaller ? second : first;
 	}
@@ -0,0 +1,179 @@
+package drcl.inet.protocol.aodv.struct;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mobilemr.task_allocation.Params;
+
+class BrandesBetweenness {
+
+	// Vertex, Edge Betweenness Centrality 를 Primitive 배열로 계산
+	// Src 마다의 BFS 는 서로 독립이므로 병렬로 수행하고,
+	// Node ID 순서로 순회하고 합산해서 HashMap 순서와 상관없이 같은 결과를 가지도록 함
+
+	final float[] nid2VertexBc;
+	// Edge 는 (작은 Node ID, 큰 Node ID) 순서로 번호를 매김
+	final int[] edgeNids1;
+	final int[] edgeNids2;
+	final float[] edgeBcs;
+
+	private final int capacity;
+	private final int numEdges;
+	private final int[][] adj;
+	private final int[][] adjEdges;
+
+	BrandesBetweenness(NextHopTable nextHopTable) {
+		capacity = nextHopTable.getCapacity();
+
+		// 이웃을 Node ID 순서로 정렬
+		adj = new int[capacity][];
+		int numLinks = 0;
+		for (int nid = 0; nid < capacity; nid++) {
+			int[] nbrNids = nextHopTable.getNeighborNids(nid);
+			if (nbrNids != null) {
+				adj[nid] = nbrNids.clone();
+				Arrays.sort(adj[nid]);
+				numLinks += nbrNids.length;
+			}
+		}
+
+		// 양 방향이 같은 Edge 번호를 가지도록 매김
+		numEdges = numLinks / 2;
+		edgeNids1 = new int[numEdges];
+		edgeNids2 = new int[numEdges];
+		adjEdges = new int[capacity][];
+		for (int nid = 0; nid < capacity; nid++) {
+			if (adj[nid] != null) {
+				adjEdges[nid] = new int[adj[nid].length];
+			}
+		}
+		int edgeIdx = 0;
+		for (int nid = 0; nid < capacity; nid++) {
+			if (adj[nid] == null) {
+				continue;
+			}
+			for (int k = 0; k < adj[nid].length; k++) {
+				int nbrNid = adj[nid][k];
+				if (nid < nbrNid) {
+					edgeNids1[edgeIdx] = nid;
+					edgeNids2[edgeIdx] = nbrNid;
+					adjEdges[nid][k] = edgeIdx;
+					adjEdges[nbrNid][Arrays.binarySearch(adj[nbrNid], nid)] = edgeIdx;
+					edgeIdx++;
+				}
+			}
+		}
+
+		// Src 별 Dependency 계산
+		// 호출한 Thread 도 같이 계산하므로 Executor 의 Thread 가 모두 바빠도 끝남
+		double[][][] dependencies = new double[capacity][][];
+		AtomicInteger nextSrcNid = new AtomicInteger();
+		CountDownLatch remaining = new CountDownLatch(capacity);
+		Runnable worker = () -> {
+			int srcNid;
+			while ((srcNid = nextSrcNid.getAndIncrement()) < capacity) {
+				if (adj[srcNid] != null) {
+					dependencies[srcNid] = computeDependencies(srcNid);
+				}
+				remaining.countDown();
+			}
+		};
+		Executor executor = Params.CENTRALITY_EXECUTOR;
+		if (executor != null) {
+			int numHelpers = Math.min(capacity, Runtime.getRuntime()
+					.availableProcessors()) - 1;
+			for (int i = 0; i < numHelpers; i++) {
+				executor.execute(worker);
+			}
+		}
+		worker.run();
+		try {
+			remaining.await();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+
+		// Src 순서대로 합산
+		double[] vertexScores = new double[capacity];
+		double[] edgeScores = new double[numEdges];
+		for (int srcNid = 0; srcNid < capacity; srcNid++) {
+			if (dependencies[srcNid] == null) {
+				continue;
+			}
+			for (int nid = 0; nid < capacity; nid++) {
+				vertexScores[nid] += dependencies[srcNid][0][nid];
+			}
+			for (int i = 0; i < numEdges; i++) {
+				edgeScores[i] += dependencies[srcNid][1][i];
+			}
+		}
+
+		// Undirected Graph 이므로 양방향으로 두 번 센 것을 보정
+		nid2VertexBc = new float[capacity];
+		for (int nid = 0; nid < capacity; nid++) {
+			nid2VertexBc[nid] = (float) (vertexScores[nid] / 2.0);
+		}
+		edgeBcs = new float[numEdges];
+		for (int i = 0; i < numEdges; i++) {
+			edgeBcs[i] = (float) (edgeScores[i] / 2.0);
+		}
+	}
+
+	private double[][] computeDependencies(int srcNid) {
+		int[] dist = new int[capacity];
+		double[] numSPs = new double[capacity];
+		double[] dependency = new double[capacity];
+		int[] order = new int[capacity];
+		// 직전 Node 는 발견된 순서대로 기록
+		int[][] preds = new int[capacity][];
+		int[][] predEdges = new int[capacity][];
+		int[] numPreds = new int[capacity];
+		Arrays.fill(dist, -1);
+
+		// BFS 로 최단 경로 수 계산
+		dist[srcNid] = 0;
+		numSPs[srcNid] = 1;
+		order[0] = srcNid;
+		int head = 0;
+		int tail = 1;
+		while (head < tail) {
+			int w = order[head++];
+			for (int k = 0; k < adj[w].length; k++) {
+				int x = adj[w][k];
+				if (dist[x] < 0) {
+					dist[x] = dist[w] + 1;
+					order[tail++] = x;
+					preds[x] = new int[adj[x].length];
+					predEdges[x] = new int[adj[x].length];
+				}
+				if (dist[x] == dist[w] + 1) {
+					numSPs[x] += numSPs[w];
+					preds[x][numPreds[x]] = w;
+					predEdges[x][numPreds[x]] = adjEdges[w][k];
+					numPreds[x]++;
+				}
+			}
+		}
+
+		// 먼 Node 부터 Dependency 역전파
+		double[] vertexDependencies = new double[capacity];
+		double[] edgeDependencies = new double[numEdges];
+		for (int t = tail - 1; t >= 0; t--) {
+			int x = order[t];
+			for (int p = 0; p < numPreds[x]; p++) {
+				int w = preds[x][p];
+				double partialDependency = numSPs[w] / numSPs[x]
+						* (1.0 + dependency[x]);
+				dependency[w] += partialDependency;
+				edgeDependencies[predEdges[x][p]] += partialDependency;
+			}
+			if (x != srcNid) {
+				vertexDependencies[x] = dependency[x];
+			}
+		}
+		return new double[][] { vertexDependencies, edgeDependencies };
+	}
+
+}
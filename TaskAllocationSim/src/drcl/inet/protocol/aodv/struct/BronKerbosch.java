@@ -1,168 +1,273 @@
 package drcl.inet.protocol.aodv.struct;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
-import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
-import edu.uci.ics.jung.graph.UndirectedGraph;
+public class BronKerbosch {
 
-public class BronKerbosch<V extends Number, E> {
-	// ~ Instance fields
-	// --------------------------------------------------------
+	// Tomita Pivot 을 사용하는 Bron-Kerbosch Maximal Clique 탐색
+	// Node ID 를 Bit 위치로 하는 long[] 로 이웃 집합을 표현하며,
+	// 한 번 구한 결과는 Snapshot 이 바뀌지 않으므로 저장해서 재사용
 
-	private final UndirectedGraph<V, E> graph;
+	private static final int[] NOT_FOUND = new int[0];
 
-	private Collection<HashSet<V>> cliques;
+	private interface CliqueVisitor {
+		// false 를 반환하면 탐색 중단
+		boolean visit(long[] clique);
+	}
+
+	private final int capacity;
+	private final int numWords;
+	private final long[][] nbrBits;
+	private final long[] allBits;
 
-	// ~ Constructors
-	// -----------------------------------------------------------
+	private volatile int[] maximalCliqueNids;
+	private final ConcurrentHashMap<Integer, int[]> minSize2CliqueNids = new ConcurrentHashMap<>();
 
-	/**
-	 * Creates a new clique finder. Make sure this is a simple graph.
-	 *
-	 * @param graph
-	 *            the graph in which cliques are to be found; graph must be
-	 *            simple
-	 */
-	public BronKerbosch(UndirectedGraph<V, E> graph) {
-		this.graph = graph;
+	public BronKerbosch(NextHopTable nextHopTable) {
+		capacity = nextHopTable.getCapacity();
+		numWords = (capacity + 63) >>> 6;
+		nbrBits = new long[capacity][];
+		allBits = new long[numWords];
+		for (int nid = 0; nid < capacity; nid++) {
+			int[] nbrNids = nextHopTable.getNeighborNids(nid);
+			if (nbrNids != null) {
+				nbrBits[nid] = new long[numWords];
+				for (int nbrNid : nbrNids) {
+					set(nbrBits[nid], nbrNid);
+				}
+				set(allBits, nid);
+			}
+		}
 	}
 
-	// ~ Methods
-	// ----------------------------------------------------------------
+	public HashSet<Integer> getMaximalClique() {
+		// Maximal Clique 중 Node ID 합이 가장 작은 것
+		// 합이 같으면 Node ID 를 오름차순으로 비교해서 앞서는 것
+		int[] cliqueNids = maximalCliqueNids;
+		if (cliqueNids == null) {
+			long[] minClique = new long[numWords];
+			long[] minSum = { Long.MAX_VALUE };
+			findMinSumClique(new long[numWords], 0, allBits.clone(),
+					new long[numWords], minClique, minSum);
+			cliqueNids = toNids(minClique);
+			maximalCliqueNids = cliqueNids;
+		}
+		return toNidSet(cliqueNids);
+	}
 
-	public HashSet<V> getMaximalClique() {
-		ArrayList<HashSet<V>> allMaximalCliques = getAllMaximalCliques();
-		Collections.sort(allMaximalCliques, new Comparator<HashSet<V>>() {
-			@Override
-			public int compare(HashSet<V> o1, HashSet<V> o2) {
-				double sumIds1 = 0;
-				for (V e : o1) {
-					sumIds1 += e.doubleValue();
+	public HashSet<Integer> findClique(int minSize) {
+		// 크기가 minSize 이상인 Maximal Clique 를 찾는 즉시 탐색을 멈추고 반환
+		// 없으면 null
+		int[] cliqueNids = minSize2CliqueNids.get(minSize);
+		if (cliqueNids == null) {
+			long[][] found = { null };
+			enumerate(clique -> {
+				if (cardinality(clique) >= minSize) {
+					found[0] = clique.clone();
+					return false;
 				}
-				double sumIds2 = 0;
-				for (V e : o2) {
-					sumIds2 += e.doubleValue();
-				}
-				return Double.compare(sumIds1, sumIds2);
-			}
+				return true;
+			});
+			cliqueNids = found[0] == null ? NOT_FOUND : toNids(found[0]);
+			minSize2CliqueNids.put(minSize, cliqueNids);
+		}
+		return cliqueNids == NOT_FOUND ? null : toNidSet(cliqueNids);
+	}
+
+	public ArrayList<HashSet<Integer>> getAllMaximalCliques() {
+		ArrayList<HashSet<Integer>> cliques = new ArrayList<>();
+		enumerate(clique -> {
+			cliques.add(toNidSet(toNids(clique)));
+			return true;
 		});
-		return allMaximalCliques.get(0);
-	}
-
-	/**
-	 * Finds all maximal cliques of the graph. A clique is maximal if it is
-	 * impossible to enlarge it by adding another vertex from the graph. Note
-	 * that a maximal clique is not necessarily the biggest clique in the graph.
-	 *
-	 * @return Collection of cliques (each of which is represented as a Set of
-	 *         vertices)
-	 */
-	public ArrayList<HashSet<V>> getAllMaximalCliques() {
-		cliques = new ArrayList<HashSet<V>>();
-		List<V> potential_clique = new ArrayList<V>();
-		List<V> candidates = new ArrayList<V>();
-		List<V> already_found = new ArrayList<V>();
-		candidates.addAll(graph.getVertices());
-		findCliques(potential_clique, candidates, already_found);
-		return (ArrayList<HashSet<V>>) cliques;
-	}
-
-	/**
-	 * Finds the biggest maximal cliques of the graph.
-	 *
-	 * @return Collection of cliques (each of which is represented as a Set of
-	 *         vertices)
-	 */
-	public ArrayList<HashSet<V>> getAllMaximumCliques() {
-		// first, find all cliques
-		getAllMaximalCliques();
+		return cliques;
+	}
 
+	public ArrayList<HashSet<Integer>> getAllMaximumCliques() {
+		ArrayList<HashSet<Integer>> cliques = getAllMaximalCliques();
 		int maximum = 0;
-		ArrayList<HashSet<V>> biggest_cliques = new ArrayList<HashSet<V>>();
-		for (HashSet<V> clique : cliques) {
-			if (maximum < clique.size()) {
-				maximum = clique.size();
-			}
+		for (HashSet<Integer> clique : cliques) {
+			maximum = Math.max(maximum, clique.size());
 		}
-		for (HashSet<V> clique : cliques) {
-			if (maximum == clique.size()) {
-				biggest_cliques.add(clique);
+		ArrayList<HashSet<Integer>> biggestCliques = new ArrayList<>();
+		for (HashSet<Integer> clique : cliques) {
+			if (clique.size() == maximum) {
+				biggestCliques.add(clique);
 			}
 		}
-		return biggest_cliques;
+		return biggestCliques;
 	}
 
-	public HashSet<V> getMaximumCliqueNidSet() {
+	public HashSet<Integer> getMaximumCliqueNidSet() {
 		return getAllMaximumCliques().get(0);
 	}
 
-	private void findCliques(List<V> potential_clique, List<V> candidates,
-			List<V> already_found) {
-		List<V> candidates_array = new ArrayList<V>(candidates);
-		if (!end(candidates, already_found)) {
-			// for each candidate_node in candidates do
-			for (V candidate : candidates_array) {
-				List<V> new_candidates = new ArrayList<V>();
-				List<V> new_already_found = new ArrayList<V>();
-
-				// move candidate node to potential_clique
-				potential_clique.add(candidate);
-				candidates.remove(candidate);
-
-				// create new_candidates by removing nodes in candidates not
-				// connected to candidate node
-				for (V new_candidate : candidates) {
-					if (graph.isNeighbor(candidate, new_candidate)) {
-						new_candidates.add(new_candidate);
-					} // of if
-				} // of for
-
-				// create new_already_found by removing nodes in already_found
-				// not connected to candidate node
-				for (V new_found : already_found) {
-					if (graph.isNeighbor(candidate, new_found)) {
-						new_already_found.add(new_found);
-					} // of if
-				} // of for
-
-				// if new_candidates and new_already_found are empty
-				if (new_candidates.isEmpty() && new_already_found.isEmpty()) {
-					// potential_clique is maximal_clique
-					cliques.add(new HashSet<V>(potential_clique));
-				} // of if
-				else {
-					// recursive call
-					findCliques(potential_clique, new_candidates,
-							new_already_found);
-				} // of else
-
-				// move candidate_node from potential_clique to already_found;
-				already_found.add(candidate);
-				potential_clique.remove(candidate);
-			} // of for
-		} // of if
-	}
-
-	private boolean end(List<V> candidates, List<V> already_found) {
-		// if a node in already_found is connected to all nodes in candidates
-		boolean end = false;
-		int edgecounter;
-		for (V found : already_found) {
-			edgecounter = 0;
-			for (V candidate : candidates) {
-				if (graph.isNeighbor(found, candidate)) {
-					edgecounter++;
-				} // of if
-			} // of for
-			if (edgecounter == candidates.size()) {
-				end = true;
+	private void enumerate(CliqueVisitor visitor) {
+		expand(new long[numWords], allBits.clone(), new long[numWords],
+				visitor);
+	}
+
+	private boolean expand(long[] r, long[] p, long[] x, CliqueVisitor visitor) {
+		if (isEmpty(p)) {
+			return !isEmpty(x) || visitor.visit(r);
+		}
+
+		// P 의 Node 중 Pivot 의 이웃이 아닌 것만 R 에 추가해 봄
+		long[] candidates = without(p, nbrBits[choosePivot(p, x)]);
+		for (int v = nextSetBit(candidates, 0); v >= 0; v = nextSetBit(
+				candidates, v + 1)) {
+			set(r, v);
+			boolean proceed = expand(r, and(p, nbrBits[v]),
+					and(x, nbrBits[v]), visitor);
+			clear(r, v);
+			if (!proceed) {
+				return false;
+			}
+			clear(p, v);
+			set(x, v);
+		}
+		return true;
+	}
+
+	private void findMinSumClique(long[] r, long sumR, long[] p, long[] x,
+			long[] minClique, long[] minSum) {
+		// Node ID 는 음수가 아니므로 R 의 합이 이미 최소값보다 크면 더 볼 필요 없음
+		if (sumR > minSum[0]) {
+			return;
+		}
+		if (isEmpty(p)) {
+			if (isEmpty(x)
+					&& (sumR < minSum[0] || compareNids(r, minClique) < 0)) {
+				System.arraycopy(r, 0, minClique, 0, numWords);
+				minSum[0] = sumR;
+			}
+			return;
+		}
+
+		long[] candidates = without(p, nbrBits[choosePivot(p, x)]);
+		for (int v = nextSetBit(candidates, 0); v >= 0; v = nextSetBit(
+				candidates, v + 1)) {
+			set(r, v);
+			findMinSumClique(r, sumR + v, and(p, nbrBits[v]),
+					and(x, nbrBits[v]), minClique, minSum);
+			clear(r, v);
+			clear(p, v);
+			set(x, v);
+		}
+	}
+
+	private int choosePivot(long[] p, long[] x) {
+		// P 와 가장 많이 이웃한 Node 를 Pivot 으로 선택해서 분기 수를 줄임
+		int pivot = -1;
+		int maxNumNbrs = -1;
+		for (int w = 0; w < numWords; w++) {
+			long bits = p[w] | x[w];
+			while (bits != 0) {
+				int u = (w << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				int numNbrs = 0;
+				for (int i = 0; i < numWords; i++) {
+					numNbrs += Long.bitCount(p[i] & nbrBits[u][i]);
+				}
+				if (numNbrs > maxNumNbrs) {
+					maxNumNbrs = numNbrs;
+					pivot = u;
+				}
 			}
-		} // of for
-		return end;
+		}
+		return pivot;
+	}
+
+	private int compareNids(long[] lhs, long[] rhs) {
+		// 오름차순으로 나열한 Node ID 를 사전순 비교
+		int l = nextSetBit(lhs, 0);
+		int r = nextSetBit(rhs, 0);
+		while (l >= 0 && r >= 0) {
+			if (l != r) {
+				return l < r ? -1 : 1;
+			}
+			l = nextSetBit(lhs, l + 1);
+			r = nextSetBit(rhs, r + 1);
+		}
+		return l >= 0 ? 1 : r >= 0 ? -1 : 0;
+	}
+
+	private long[] and(long[] lhs, long[] rhs) {
+		long[] result = new long[numWords];
+		for (int i = 0; i < numWords; i++) {
+			result[i] = lhs[i] & rhs[i];
+		}
+		return result;
+	}
+
+	private long[] without(long[] lhs, long[] rhs) {
+		long[] result = new long[numWords];
+		for (int i = 0; i < numWords; i++) {
+			result[i] = lhs[i] & ~rhs[i];
+		}
+		return result;
+	}
+
+	private int nextSetBit(long[] bits, int from) {
+		int w = from >>> 6;
+		if (w >= numWords) {
+			return -1;
+		}
+		long word = bits[w] & (-1L << from);
+		while (true) {
+			if (word != 0) {
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			}
+			if (++w == numWords) {
+				return -1;
+			}
+			word = bits[w];
+		}
+	}
+
+	private int[] toNids(long[] bits) {
+		int[] nids = new int[cardinality(bits)];
+		int i = 0;
+		for (int nid = nextSetBit(bits, 0); nid >= 0; nid = nextSetBit(bits,
+				nid + 1)) {
+			nids[i++] = nid;
+		}
+		return nids;
+	}
+
+	private static HashSet<Integer> toNidSet(int[] nids) {
+		HashSet<Integer> nidSet = new HashSet<>();
+		for (int nid : nids) {
+			nidSet.add(nid);
+		}
+		return nidSet;
+	}
+
+	private static int cardinality(long[] bits) {
+		int count = 0;
+		for (long word : bits) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	private static boolean isEmpty(long[] bits) {
+		for (long word : bits) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void set(long[] bits, int i) {
+		bits[i >>> 6] |= 1L << i;
+	}
+
+	private static void clear(long[] bits, int i) {
+		bits[i >>> 6] &= ~(1L << i);
 	}
 
 }
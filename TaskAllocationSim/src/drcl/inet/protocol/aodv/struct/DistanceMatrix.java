@@ -0,0 +1,102 @@
+package drcl.inet.protocol.aodv.struct;
+
+import java.util.Arrays;
+
+public class DistanceMatrix {
+
+	// Snapshot 의 전체 (Src, Dst) 쌍에 대한 최단 거리
+	// NextHopTable 과 같이 Node ID 를 그대로 Index 로 사용하는 1차원 배열로 보관하며,
+	// 생성 후에는 변경하지 않으므로 여러 Thread 가 Lock 없이 읽을 수 있음
+
+	private final int capacity;
+	private final float[] dist;
+
+	private DistanceMatrix(int capacity, float[] dist) {
+		this.capacity = capacity;
+		this.dist = dist;
+	}
+
+	static DistanceMatrix ofHops(NextHopTable nextHopTable) {
+		// Hop 거리는 Next Hop Table 을 만들 때 이미 BFS 로 구해 두었으므로 복사만 함
+		int capacity = nextHopTable.getCapacity();
+		float[] dist = new float[capacity * capacity];
+		for (int srcNid = 0; srcNid < capacity; srcNid++) {
+			for (int dstNid = 0; dstNid < capacity; dstNid++) {
+				int hops = nextHopTable.getDistance(srcNid, dstNid);
+				dist[srcNid * capacity + dstNid] = hops == -1 ? Float.NaN
+						: hops;
+			}
+		}
+		return new DistanceMatrix(capacity, dist);
+	}
+
+	static DistanceMatrix ofEtx(MultihopSnapshot snapshot) {
+		// Link 마다 ETX (= 1 / Delivery Ratio) 를 Weight 로 하는 전체 쌍 최단 거리
+		// Node 수가 수십 개 수준이므로 Heap 없이 배열 기반 Dijkstra 를 Src 마다 수행
+		NextHopTable nextHopTable = snapshot.getNextHopTable();
+		int capacity = nextHopTable.getCapacity();
+
+		// Adjacency 와 같은 순서로 Link Weight 를 미리 조회
+		int[][] adj = new int[capacity][];
+		float[][] etx = new float[capacity][];
+		for (int nid = 0; nid < capacity; nid++) {
+			adj[nid] = nextHopTable.getNeighborNids(nid);
+			if (adj[nid] == null) {
+				continue;
+			}
+			etx[nid] = new float[adj[nid].length];
+			for (int i = 0; i < adj[nid].length; i++) {
+				etx[nid][i] = 1 / snapshot.getLinkDeliveryRatio(nid,
+						adj[nid][i]);
+			}
+		}
+
+		float[] dist = new float[capacity * capacity];
+		Arrays.fill(dist, Float.NaN);
+		// JUNG DijkstraDistance 와 같이 double 로 누적한 뒤 저장
+		double[] curDist = new double[capacity];
+		boolean[] visited = new boolean[capacity];
+		for (int srcNid = 0; srcNid < capacity; srcNid++) {
+			if (adj[srcNid] == null) {
+				continue;
+			}
+			Arrays.fill(curDist, Double.POSITIVE_INFINITY);
+			Arrays.fill(visited, false);
+			curDist[srcNid] = 0;
+			while (true) {
+				int minNid = -1;
+				for (int nid = 0; nid < capacity; nid++) {
+					if (!visited[nid] && curDist[nid] != Double.POSITIVE_INFINITY
+							&& (minNid == -1 || curDist[nid] < curDist[minNid])) {
+						minNid = nid;
+					}
+				}
+				if (minNid == -1) {
+					break;
+				}
+				visited[minNid] = true;
+				dist[srcNid * capacity + minNid] = (float) curDist[minNid];
+				for (int i = 0; i < adj[minNid].length; i++) {
+					int nbrNid = adj[minNid][i];
+					double newDist = curDist[minNid] + etx[minNid][i];
+					if (newDist < curDist[nbrNid]) {
+						curDist[nbrNid] = newDist;
+					}
+				}
+			}
+		}
+		return new DistanceMatrix(capacity, dist);
+	}
+
+	public float get(int srcNid, int dstNid) {
+		// Snapshot 에 없는 Node 는 DijkstraDistance 와 같이 예외
+		float d = 0 <= srcNid && srcNid < capacity && 0 <= dstNid
+				&& dstNid < capacity ? dist[srcNid * capacity + dstNid]
+				: Float.NaN;
+		if (Float.isNaN(d)) {
+			throw new IllegalArgumentException(srcNid + " " + dstNid);
+		}
+		return d;
+	}
+
+}
@@ -7,4 +7,8 @@ public class DsdvMultihopSnapshot extends RoutableMultihopSnapshot {
 		super(curSnapshot);
 	}
 
+	DsdvMultihopSnapshot(DsdvMultihopSnapshot base) {
+		super(base);
+	}
+
 }
@@ -1,25 +1,35 @@
 package drcl.inet.protocol.aodv.struct;
 
-import java.util.ArrayList;
-
 public class DsdvNode extends RoutableNode {
 
 	public DsdvNode(int id) {
 		super(id);
 	}
 
+	private DsdvNode(DsdvNode that) {
+		super(that);
+	}
+
 	@Override
-	public DsdvNode getNextDstNode(int dstNid) {
-		@SuppressWarnings("unchecked")
-		ArrayList<DsdvNode> nextDstNodes = (ArrayList<DsdvNode>) id2Node
-				.get(dstNid);
-		if (nextDstNodes == null) {
+	public DsdvNode fork() {
+		return new DsdvNode(this);
+	}
+
+	@Override
+	public DsdvNode getNextDstNode(int dstNid, NextHopTable nextHopTable,
+			RoutableNode[] nid2Node) {
+		if (dstNid == id) {
+			return this;
+		}
+		int[] nextDstNids = nextHopTable.getNextNids(id, dstNid);
+		if (nextDstNids == null) {
 			return null;
 		}
 
 		float minThroughput = Float.MAX_VALUE;
 		DsdvNode minNextDstNode = null;
-		for (DsdvNode nextDstNode : nextDstNodes) {
+		for (int nextDstNid : nextDstNids) {
+			DsdvNode nextDstNode = (DsdvNode) nid2Node[nextDstNid];
 			float curThroughput = nextDstNode.throughputInUnitTime;
 			if (curThroughput < minThroughput) {
 				minThroughput = curThroughput;
@@ -28,7 +38,7 @@ public class DsdvNode extends RoutableNode {
 		}
 
 		if (minNextDstNode == null) {
-			throw new IllegalStateException(nextDstNodes.toString());
+			throw new IllegalStateException(id + " " + dstNid);
 		}
 		return minNextDstNode;
 	}
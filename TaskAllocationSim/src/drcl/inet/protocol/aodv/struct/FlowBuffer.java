@@ -0,0 +1,127 @@
+package drcl.inet.protocol.aodv.struct;
+
+public class FlowBuffer {
+
+	// Node 의 송신 대기 Packet 을 (dstNid, dstPid, Packet 수, 마지막 Packet 크기) 묶음으로
+	// 보관하는 Ring Buffer
+	// 같은 목적지로 연속된 MAX_QUEUE_PACKET_SIZE 크기 Packet 들을 하나의 묶음으로 합치며,
+	// 꺼낼 때는 기존 Packet 단위와 같은 순서, 같은 크기로 하나씩 꺼냄
+
+	private static final int INIT_CAPACITY = 16;
+
+	private int[] dstNids = new int[INIT_CAPACITY];
+	private int[] dstPids = new int[INIT_CAPACITY];
+	private int[] numPackets = new int[INIT_CAPACITY];
+	private double[] lastPacketSizes = new double[INIT_CAPACITY];
+	private int head = 0;
+	private int size = 0;
+
+	public FlowBuffer() {
+	}
+
+	public FlowBuffer(FlowBuffer that) {
+		dstNids = that.dstNids.clone();
+		dstPids = that.dstPids.clone();
+		numPackets = that.numPackets.clone();
+		lastPacketSizes = that.lastPacketSizes.clone();
+		head = that.head;
+		size = that.size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void offer(int dstNid, int dstPid, double packetSize) {
+		offer(dstNid, dstPid, 1, packetSize);
+	}
+
+	public void offer(int dstNid, int dstPid, int numPackets,
+			double lastPacketSize) {
+		if (size > 0) {
+			// 마지막 묶음이 모두 최대 크기 Packet 이면 이어붙여도 순서와 크기가 유지됨
+			int tail = index(size - 1);
+			if (dstNids[tail] == dstNid && dstPids[tail] == dstPid
+					&& lastPacketSizes[tail] == RoutableMultihopSnapshot.MAX_QUEUE_PACKET_SIZE) {
+				this.numPackets[tail] += numPackets;
+				lastPacketSizes[tail] = lastPacketSize;
+				return;
+			}
+		}
+		if (size == dstNids.length) {
+			grow();
+		}
+		int tail = index(size);
+		dstNids[tail] = dstNid;
+		dstPids[tail] = dstPid;
+		this.numPackets[tail] = numPackets;
+		lastPacketSizes[tail] = lastPacketSize;
+		size++;
+	}
+
+	public int peekDstNid() {
+		return dstNids[head];
+	}
+
+	public int peekDstPid() {
+		return dstPids[head];
+	}
+
+	public double peekSize() {
+		return numPackets[head] > 1 ? RoutableMultihopSnapshot.MAX_QUEUE_PACKET_SIZE
+				: lastPacketSizes[head];
+	}
+
+	public void poll() {
+		// 맨 앞 Packet 하나만 제거
+		if (numPackets[head] > 1) {
+			numPackets[head]--;
+		} else {
+			head = index(1);
+			size--;
+		}
+	}
+
+	public double getDataSize() {
+		// 기존 Packet 단위 합산과 같은 순서로 더함
+		double sumDataSize = 0;
+		for (int i = 0; i < size; i++) {
+			int idx = index(i);
+			for (int j = 1; j < numPackets[idx]; j++) {
+				sumDataSize += RoutableMultihopSnapshot.MAX_QUEUE_PACKET_SIZE;
+			}
+			sumDataSize += lastPacketSizes[idx];
+		}
+		return sumDataSize;
+	}
+
+	private int index(int offset) {
+		return (head + offset) % dstNids.length;
+	}
+
+	private void grow() {
+		int newCapacity = dstNids.length * 2;
+		int[] newDstNids = new int[newCapacity];
+		int[] newDstPids = new int[newCapacity];
+		int[] newNumPackets = new int[newCapacity];
+		double[] newLastPacketSizes = new double[newCapacity];
+		for (int i = 0; i < size; i++) {
+			int idx = index(i);
+			newDstNids[i] = dstNids[idx];
+			newDstPids[i] = dstPids[idx];
+			newNumPackets[i] = numPackets[idx];
+			newLastPacketSizes[i] = lastPacketSizes[idx];
+		}
+		dstNids = newDstNids;
+		dstPids = newDstPids;
+		numPackets = newNumPackets;
+		lastPacketSizes = newLastPacketSizes;
+		head = 0;
+	}
+
+	@Override
+	public String toString() {
+		return getDataSize() + "";
+	}
+
+}
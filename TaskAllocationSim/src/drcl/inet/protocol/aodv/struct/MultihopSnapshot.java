@@ -1,16 +1,19 @@
 package drcl.inet.protocol.aodv.struct;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
 import java.util.Set;
 
 import com.google.common.base.Function;
-import com.mobilemr.task_allocation.util.Common;
+import com.mobilemr.task_allocation.Params;
+import com.mobilemr.trace.history.FailureRateTable;
 import com.mobilemr.trace.history.HistoryStat;
 import com.mobilemr.trace.struct.CC;
 import com.mobilemr.trace.struct.DummyEdge;
@@ -18,10 +21,7 @@ import com.mobilemr.trace.struct.GeneralPair;
 import com.mobilemr.trace.struct.UnorderedNumPair;
 
 import edu.uci.ics.jung.algorithms.cluster.WeakComponentClusterer;
-import edu.uci.ics.jung.algorithms.scoring.BetweennessCentrality;
 import edu.uci.ics.jung.algorithms.shortestpath.DijkstraDistance;
-import edu.uci.ics.jung.algorithms.shortestpath.DijkstraShortestPath;
-import edu.uci.ics.jung.algorithms.shortestpath.ShortestPathUtils;
 import edu.uci.ics.jung.graph.util.Pair;
 
 public class MultihopSnapshot extends CC {
@@ -31,70 +31,38 @@ public class MultihopSnapshot extends CC {
 		super(timestamp);
 	}
 
-	private BetweennessCentrality<Integer, DummyEdge> bc;
-	private BronKerbosch<Integer, DummyEdge> bb;
-	private DijkstraDistance<Integer, DummyEdge> dd;
-	private HashMap<Integer, HashMap<Integer, ArrayList<Integer>>> srcNid2dstNid2NextNids;
-	private HashMap<UnorderedNumPair<Integer>, Float> link2DeliveryRatio;
+	// markReady() 에서는 Next Hop Table 만 만들고,
+	// 나머지는 Simulation 중 처음 조회할 때 계산
+	private NextHopTable nextHopTable;
+	private volatile HashMap<DummyEdge, Float> edge2Bc;
+	private volatile BronKerbosch bb;
+	private volatile float[] nid2VertexBc;
+	private volatile HashMap<UnorderedNumPair<Integer>, Float> link2DeliveryRatio;
+	// link2DeliveryRatio 를 Node ID 쌍을 Index 로 펼친 배열 (Link 가 아니면 NaN)
+	private volatile float[] deliveryRatioMatrix;
+	private volatile DistanceMatrix hopDistances;
+	private volatile DistanceMatrix etxDistances;
+	private volatile DsdvMultihopSnapshot routableSnapshot;
 
 	public MultihopSnapshot markReady() {
-		checkIntegrity();
-
-		bc = new BetweennessCentrality<>(this);
-		bb = new BronKerbosch<>(this);
-		dd = new DijkstraDistance<>(this);
-		srcNid2dstNid2NextNids = new HashMap<>();
-		link2DeliveryRatio = new HashMap<>();
-
-		DijkstraShortestPath<Integer, DummyEdge> sp = new DijkstraShortestPath<>(
-				this);
-		ArrayList<Integer> curNids = getNids();
-		for (Integer srcNid : curNids) {
-			for (Integer dstNid : curNids) {
-				if (srcNid == dstNid) {
-					continue;
-				}
-				ArrayList<Integer> shortestNextNids = new ArrayList<>();
-				int minLength = Integer.MAX_VALUE;
-				ArrayList<Integer> neighborNids = new ArrayList<>(
-						getNeighbors(srcNid));
-				for (Integer neighborNid : neighborNids) {
-					List<DummyEdge> path = ShortestPathUtils.getPath(this, sp,
-							neighborNid, dstNid);
-					int curLength = path.size();
-					if (curLength < minLength) {
-						minLength = curLength;
-						shortestNextNids.clear();
-						shortestNextNids.add(neighborNid);
-					} else if (curLength == minLength) {
-						shortestNextNids.add(neighborNid);
-					}
-				}
+		return markReady(null);
+	}
 
-				if (!srcNid2dstNid2NextNids.containsKey(srcNid)) {
-					srcNid2dstNid2NextNids.put(srcNid, new HashMap<>());
-				}
-				HashMap<Integer, ArrayList<Integer>> dstNid2NextNids = srcNid2dstNid2NextNids
-						.get(srcNid);
-				dstNid2NextNids.put(dstNid, shortestNextNids);
-			}
+	public MultihopSnapshot markReady(MultihopSnapshot prevSnapshot) {
+		// 직전 Snapshot 의 Next Hop Table 이 있으면 바뀐 부분만 갱신
+		if (prevSnapshot == null || prevSnapshot.nextHopTable == null) {
+			nextHopTable = NextHopTable.build(this);
+		} else {
+			nextHopTable = prevSnapshot.nextHopTable.update(this);
 		}
 
-		float sumEb = 0;
-		for (DummyEdge e : getEdges()) {
-			sumEb += getEdgeBetweennessCentrality(e);
-		}
-		for (DummyEdge e : getEdges()) {
-			float deliveryRatio = 1 - getEdgeBetweennessCentrality(e) / sumEb;
-			if (deliveryRatio < 0 || deliveryRatio > 1) {
-				throw new IllegalStateException(deliveryRatio + "");
-			}
-			Pair<Integer> endpoints = getEndpoints(e);
-			int nid1 = endpoints.getFirst();
-			int nid2 = endpoints.getSecond();
-			link2DeliveryRatio.put(new UnorderedNumPair<>(nid1, nid2),
-					deliveryRatio);
+		// Hop 거리로 연결 여부를 먼저 확인하고, 끊어진 경우에만 Component 수 계산
+		if (!nextHopTable.isConnected()) {
+			checkIntegrity();
 		}
+
+		// 복제된 Snapshot 일 수 있으므로 이전 결과 제거
+		resetLazyFields();
 		return this;
 	}
 
@@ -106,27 +74,139 @@ public class MultihopSnapshot extends CC {
 		}
 	}
 
-	public float getVertexBetweennessCentrality(Integer nid) {
-		if (bc == null) {
-			throw new IllegalStateException();
+	void restoreReady(NextHopTable nextHopTable, float[] nid2VertexBc,
+			HashMap<UnorderedNumPair<Integer>, Float> link2DeliveryRatio) {
+		// 컴파일된 Faultload 에서 읽은 결과로 markReady() 를 대신함
+		// Edge Betweenness 는 필요할 때 계산
+		this.nextHopTable = nextHopTable;
+		resetLazyFields();
+		this.nid2VertexBc = nid2VertexBc;
+		this.link2DeliveryRatio = link2DeliveryRatio;
+	}
+
+	private void resetLazyFields() {
+		edge2Bc = null;
+		bb = null;
+		nid2VertexBc = null;
+		link2DeliveryRatio = null;
+		deliveryRatioMatrix = null;
+		hopDistances = null;
+		etxDistances = null;
+		routableSnapshot = null;
+	}
+
+	private synchronized void computeCentralities() {
+		if (edge2Bc != null) {
+			return;
 		}
-		return bc.getVertexScore(nid).floatValue();
+		BrandesBetweenness brandes = new BrandesBetweenness(getNextHopTable());
+		HashMap<DummyEdge, Float> edge2Bc = new HashMap<>();
+		for (int i = 0; i < brandes.edgeBcs.length; i++) {
+			edge2Bc.put(findEdge(brandes.edgeNids1[i], brandes.edgeNids2[i]),
+					brandes.edgeBcs[i]);
+		}
+
+		// 컴파일된 Faultload 에서 읽은 값이 있으면 그대로 사용
+		if (link2DeliveryRatio == null) {
+			float sumEb = 0;
+			for (float eb : brandes.edgeBcs) {
+				sumEb += eb;
+			}
+			HashMap<UnorderedNumPair<Integer>, Float> link2DeliveryRatio = new HashMap<>();
+			for (int i = 0; i < brandes.edgeBcs.length; i++) {
+				float deliveryRatio = 1 - brandes.edgeBcs[i] / sumEb;
+				if (deliveryRatio < 0 || deliveryRatio > 1) {
+					throw new IllegalStateException(deliveryRatio + "");
+				}
+				link2DeliveryRatio.put(new UnorderedNumPair<>(
+						brandes.edgeNids1[i], brandes.edgeNids2[i]),
+						deliveryRatio);
+			}
+			this.link2DeliveryRatio = link2DeliveryRatio;
+		}
+		if (nid2VertexBc == null) {
+			nid2VertexBc = brandes.nid2VertexBc;
+		}
+		this.edge2Bc = edge2Bc;
+	}
+
+	float[] getVertexBetweennessCentralities() {
+		if (nid2VertexBc == null) {
+			computeCentralities();
+		}
+		return nid2VertexBc;
+	}
+
+	HashMap<UnorderedNumPair<Integer>, Float> getLinkDeliveryRatios() {
+		if (link2DeliveryRatio == null) {
+			computeCentralities();
+		}
+		return link2DeliveryRatio;
+	}
+
+	public float getVertexBetweennessCentrality(Integer nid) {
+		return getVertexBetweennessCentralities()[nid];
 	}
 
 	public float getEdgeBetweennessCentrality(DummyEdge e) {
-		if (bc == null) {
-			throw new IllegalStateException();
+		if (edge2Bc == null) {
+			computeCentralities();
 		}
-		return bc.getEdgeScore(e).floatValue();
+		return edge2Bc.get(e);
 	}
 
-	private UnorderedNumPair<Integer> key = new UnorderedNumPair<>(0, 0);
+	public float getLinkDeliveryRatio(int nid1, int nid2) {
+		// Packet 의 Hop 마다 호출되므로 Key 생성과 Boxing 없이 배열에서 읽음
+		// Link 가 아니면 예외
+		float[] matrix = getDeliveryRatioMatrix();
+		int capacity = getNextHopTable().getCapacity();
+		float deliveryRatio = 0 <= nid1 && nid1 < capacity && 0 <= nid2
+				&& nid2 < capacity ? matrix[nid1 * capacity + nid2]
+				: Float.NaN;
+		if (Float.isNaN(deliveryRatio)) {
+			throw new IllegalArgumentException(nid1 + " " + nid2);
+		}
+		return deliveryRatio;
+	}
+
+	private float[] getDeliveryRatioMatrix() {
+		// 이미 계산된 경우 Lock 없이 반환
+		float[] matrix = deliveryRatioMatrix;
+		if (matrix == null) {
+			synchronized (this) {
+				matrix = deliveryRatioMatrix;
+				if (matrix == null) {
+					int capacity = getNextHopTable().getCapacity();
+					matrix = new float[capacity * capacity];
+					Arrays.fill(matrix, Float.NaN);
+					for (Entry<UnorderedNumPair<Integer>, Float> entry : getLinkDeliveryRatios()
+							.entrySet()) {
+						int nid1 = entry.getKey().getFirst();
+						int nid2 = entry.getKey().getSecond();
+						matrix[nid1 * capacity + nid2] = entry.getValue();
+						matrix[nid2 * capacity + nid1] = entry.getValue();
+					}
+					deliveryRatioMatrix = matrix;
+				}
+			}
+		}
+		return matrix;
+	}
 
-	public float getLinkDeliveryRatio(Integer nid1, Integer nid2) {
-		synchronized (key) {
-			key.reset(nid1, nid2);
-			return link2DeliveryRatio.get(key);
+	private BronKerbosch getBronKerbosch() {
+		// 찾은 Clique 를 Thread 간에 공유하도록 하나만 생성
+		// 이미 생성된 경우 Lock 없이 반환
+		BronKerbosch bb = this.bb;
+		if (bb == null) {
+			synchronized (this) {
+				bb = this.bb;
+				if (bb == null) {
+					bb = new BronKerbosch(getNextHopTable());
+					this.bb = bb;
+				}
+			}
 		}
+		return bb;
 	}
 
 	private int getNumNodesToSelect(ArrayList<Integer> nidsToSearch,
@@ -140,12 +220,12 @@ public class MultihopSnapshot extends CC {
 				: maxNodesToSelect;
 	}
 
-	public ArrayList<Integer> getRandomNids(int maxNodesToSelect) {
-		return getRandomNids(getNids(), maxNodesToSelect);
+	public ArrayList<Integer> getRandomNids(int maxNodesToSelect, Random random) {
+		return getRandomNids(getNids(), maxNodesToSelect, random);
 	}
 
 	public ArrayList<Integer> getRandomNids(ArrayList<Integer> nidsToSearch,
-			int maxNodesToSelect) {
+			int maxNodesToSelect, Random random) {
 		int numNodesToSelect = getNumNodesToSelect(nidsToSearch,
 				maxNodesToSelect);
 		if (numNodesToSelect == -1) {
@@ -154,22 +234,21 @@ public class MultihopSnapshot extends CC {
 
 		HashSet<Integer> randNidSet = new HashSet<Integer>();
 		while (randNidSet.size() < numNodesToSelect) {
-			int randNid = nidsToSearch
-					.get(Common.R.nextInt(nidsToSearch.size()));
+			int randNid = nidsToSearch.get(random.nextInt(nidsToSearch.size()));
 			randNidSet.add(randNid);
 		}
 		return new ArrayList<Integer>(randNidSet);
 	}
 
 	public ArrayList<Integer> getDataLocalNids(ArrayList<Integer> srcNids,
-			int numNodesToSelect) {
+			int numNodesToSelect, Random random) {
 		if (srcNids.size() == numNodesToSelect) {
 			return srcNids;
 
 		} else if (srcNids.size() > numNodesToSelect) {
 			HashSet<Integer> randNidSet = new HashSet<Integer>();
 			while (randNidSet.size() < numNodesToSelect) {
-				int randNid = srcNids.get(Common.R.nextInt(srcNids.size()));
+				int randNid = srcNids.get(random.nextInt(srcNids.size()));
 				randNidSet.add(randNid);
 			}
 			return new ArrayList<Integer>(randNidSet);
@@ -178,7 +257,7 @@ public class MultihopSnapshot extends CC {
 			ArrayList<Integer> allNids = getNids();
 			ArrayList<Integer> dstNids = new ArrayList<Integer>(srcNids);
 			while (dstNids.size() < numNodesToSelect) {
-				int randNid = allNids.get(Common.R.nextInt(allNids.size()));
+				int randNid = allNids.get(random.nextInt(allNids.size()));
 
 				if (!dstNids.contains(randNid)) {
 					Collection<Integer> neighborNids = getNeighbors(randNid);
@@ -264,19 +343,27 @@ public class MultihopSnapshot extends CC {
 		return mostOuterNids;
 	}
 
-	public ArrayList<Integer> getKClubNids(int maxNodesToSelect) {
-		return getKClubNids(getNids(), maxNodesToSelect);
+	public ArrayList<Integer> getKClubNids(int maxNodesToSelect, Random random) {
+		return getKClubNids(getNids(), maxNodesToSelect, random);
 	}
 
 	public ArrayList<Integer> getKClubNids(ArrayList<Integer> nidsToSearch,
-			int maxNodesToSelect) {
+			int maxNodesToSelect, Random random) {
 		int numNodesToSelect = getNumNodesToSelect(nidsToSearch,
 				maxNodesToSelect);
 		if (numNodesToSelect == -1) {
 			return getNids();
 		}
 
-		HashSet<Integer> maximalCliqueNidSet = bb.getMaximalClique();
+		HashSet<Integer> maximalCliqueNidSet = null;
+		if (Params.KCLUB_EARLY_STOP) {
+			// 필요한 크기 이상의 Clique 를 찾으면 바로 사용
+			maximalCliqueNidSet = getBronKerbosch().findClique(
+					numNodesToSelect);
+		}
+		if (maximalCliqueNidSet == null) {
+			maximalCliqueNidSet = getBronKerbosch().getMaximalClique();
+		}
 
 		if (maximalCliqueNidSet.size() == numNodesToSelect) {
 			return new ArrayList<>(maximalCliqueNidSet);
@@ -286,7 +373,7 @@ public class MultihopSnapshot extends CC {
 					maximalCliqueNidSet);
 			HashSet<Integer> randNidSet = new HashSet<>();
 			while (randNidSet.size() < numNodesToSelect) {
-				int randNid = maximumCliqueNids.get(Common.R
+				int randNid = maximumCliqueNids.get(random
 						.nextInt(maximumCliqueNids.size()));
 				randNidSet.add(randNid);
 			}
@@ -297,7 +384,7 @@ public class MultihopSnapshot extends CC {
 					maximalCliqueNidSet);
 			ArrayList<Integer> allNids = getNids();
 			while (maxKClubNids.size() < numNodesToSelect) {
-				int randNid = allNids.get(Common.R.nextInt(allNids.size()));
+				int randNid = allNids.get(random.nextInt(allNids.size()));
 				if (!maxKClubNids.contains(randNid)) {
 					Collection<Integer> neighborNids = getNeighbors(randNid);
 					for (Integer neighborNid : neighborNids) {
@@ -314,15 +401,15 @@ public class MultihopSnapshot extends CC {
 
 	public ArrayList<Integer> getMaxRelNids(MultihopTrace trace,
 			int realModeTime, HashMap<Integer, Integer> zb2OrgNid,
-			HistoryStat historyStat, int maxNodesToSelect) {
+			HistoryStat historyStat, int maxNodesToSelect, Random random) {
 		return getMaxRelNids(trace, realModeTime, zb2OrgNid, historyStat,
-				getNids(), maxNodesToSelect);
+				getNids(), maxNodesToSelect, random);
 	}
 
 	public ArrayList<Integer> getMaxRelNids(MultihopTrace trace,
 			int realModeTime, HashMap<Integer, Integer> zb2OrgNid,
 			HistoryStat historyStat, ArrayList<Integer> nidsToSearch,
-			int maxNodesToSelect) {
+			int maxNodesToSelect, Random random) {
 		int numNodesToSelect = getNumNodesToSelect(nidsToSearch,
 				maxNodesToSelect);
 		if (numNodesToSelect == -1) {
@@ -332,12 +419,16 @@ public class MultihopSnapshot extends CC {
 		ArrayList<GeneralPair<Integer, Float>> orderedNidAndFailureRate = new ArrayList<>();
 		int initTimestamp = trace.getInitCC().getTimestamp();
 		int realModeTimestampOfInputFile = initTimestamp + realModeTime;
+		FailureRateTable failureRateTable = historyStat
+				.getFailureRateTable(zb2OrgNid);
+		int intervalIdx = failureRateTable
+				.getIntervalIdx(realModeTimestampOfInputFile);
 		for (Integer dstZbNid : nidsToSearch) {
-			int dstOrgNid = zb2OrgNid.get(dstZbNid);
-			float curFailureRate = historyStat.getFailureRate(dstOrgNid,
-					realModeTimestampOfInputFile);
+			float curFailureRate = failureRateTable.getFailureRateAt(dstZbNid,
+					intervalIdx);
 			if (Float.isNaN(curFailureRate)) {
-				throw new RuntimeException(dstZbNid + " " + dstOrgNid + " "
+				throw new RuntimeException(dstZbNid + " "
+						+ zb2OrgNid.get(dstZbNid) + " "
 						+ realModeTimestampOfInputFile);
 			}
 			orderedNidAndFailureRate.add(new GeneralPair<>(dstZbNid,
@@ -359,8 +450,7 @@ public class MultihopSnapshot extends CC {
 			maxRelNidSet.add(curNid);
 		}
 		while (maxRelNidSet.size() < numNodesToSelect) {
-			int randNid = nidsToSearch
-					.get(Common.R.nextInt(nidsToSearch.size()));
+			int randNid = nidsToSearch.get(random.nextInt(nidsToSearch.size()));
 			if (!maxRelNidSet.contains(randNid)) {
 				maxRelNidSet.add(randNid);
 			}
@@ -369,40 +459,85 @@ public class MultihopSnapshot extends CC {
 	}
 
 	@Override
-	public synchronized double getDistance(Integer nid1, Integer nid2) {
-		if (dd == null) {
-			throw new IllegalStateException();
+	public double getDistance(Integer nid1, Integer nid2) {
+		return getHopDistances().get(nid1, nid2);
+	}
+
+	public DistanceMatrix getHopDistances() {
+		// 이미 계산된 경우 Lock 없이 반환
+		DistanceMatrix distances = hopDistances;
+		if (distances == null) {
+			synchronized (this) {
+				distances = hopDistances;
+				if (distances == null) {
+					distances = DistanceMatrix.ofHops(getNextHopTable());
+					hopDistances = distances;
+				}
+			}
 		}
-		return dd.getDistance(nid1, nid2).doubleValue();
+		return distances;
 	}
 
-	public ArrayList<Integer> getPathNids(Integer srcNid, Integer dstNid) {
-		ArrayList<Integer> pathNids = new ArrayList<>();
-		pathNids.add(srcNid);
-		int firstNextNid = srcNid;
+	public DistanceMatrix getEtxDistances() {
+		// 이미 계산된 경우 Lock 없이 반환
+		DistanceMatrix distances = etxDistances;
+		if (distances == null) {
+			synchronized (this) {
+				distances = etxDistances;
+				if (distances == null) {
+					distances = DistanceMatrix.ofEtx(this);
+					etxDistances = distances;
+				}
+			}
+		}
+		return distances;
+	}
 
-		while (firstNextNid != dstNid) {
-			ArrayList<Integer> nextNids = getNextNids(firstNextNid, dstNid);
-			firstNextNid = nextNids.get(0);
-			pathNids.add(firstNextNid);
+	public RoutableMultihopSnapshot forkRoutableSnapshot() {
+		// 이 Snapshot 에서 시작하는 빈 Buffer 상태를 한 번만 만들어 두고 분기해서 반환
+		// 원본은 변경하지 않으므로 여러 Thread 가 동시에 분기해도 됨
+		DsdvMultihopSnapshot base = routableSnapshot;
+		if (base == null) {
+			synchronized (this) {
+				base = routableSnapshot;
+				if (base == null) {
+					base = new DsdvMultihopSnapshot(this);
+					routableSnapshot = base;
+				}
+			}
+		}
+		return base.fork();
+	}
+
+	public NextHopTable getNextHopTable() {
+		if (nextHopTable == null) {
+			throw new IllegalStateException();
 		}
-		return pathNids;
+		return nextHopTable;
+	}
+
+	public long getTopologyVersion() {
+		// Topology 가 같은 Snapshot 끼리는 Next Hop Table 을 공유하므로 같은 Version
+		return getNextHopTable().getVersion();
+	}
+
+	public ArrayList<Integer> getPathNids(Integer srcNid, Integer dstNid) {
+		return getNextHopTable().getPathNids(srcNid, dstNid);
 	}
 
 	public ArrayList<Integer> getNextNids(Integer srcNid, Integer dstNid) {
-		if (srcNid == dstNid) {
+		if (srcNid.equals(dstNid)) {
 			throw new IllegalArgumentException(srcNid + " " + dstNid);
 		}
-		HashMap<Integer, ArrayList<Integer>> dstNid2NextNids = srcNid2dstNid2NextNids
-				.get(srcNid);
-		if (dstNid2NextNids == null) {
-			throw new IllegalStateException(srcNid2dstNid2NextNids.toString());
-		}
-		ArrayList<Integer> nextNids = dstNid2NextNids.get(dstNid);
+		int[] nextNids = getNextHopTable().getNextNids(srcNid, dstNid);
 		if (nextNids == null) {
-			throw new IllegalStateException(srcNid2dstNid2NextNids.toString());
+			throw new IllegalStateException(srcNid + " " + dstNid);
+		}
+		ArrayList<Integer> nextNidList = new ArrayList<>(nextNids.length);
+		for (int nextNid : nextNids) {
+			nextNidList.add(nextNid);
 		}
-		return nextNids;
+		return nextNidList;
 	}
 
 	@Deprecated
@@ -435,14 +570,7 @@ public class MultihopSnapshot extends CC {
 			float etx = 1 / getLinkDeliveryRatio(nid1, nid2);
 			g.addEdge(new WeightedEdge(etx), nid1, nid2);
 		}
-
-		Function<WeightedEdge, Float> edgeWeights = new Function<WeightedEdge, Float>() {
-			@Override
-			public Float apply(WeightedEdge e) {
-				return e.getWeight();
-			}
-		};
-		g.dd = new DijkstraDistance<>(g, edgeWeights);
+		g.distances = getEtxDistances();
 		return g;
 	}
 
@@ -1,33 +1,93 @@
 package drcl.inet.protocol.aodv.struct;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import com.mobilemr.trace.struct.CC;
 import com.mobilemr.trace.struct.Trace;
 
 public class MultihopTrace extends Trace {
 
+	MultihopTrace() {
+		// MultihopTraceFile 에서 markReady() 없이 복원할 때 사용
+	}
+
 	public MultihopTrace(MultihopSnapshot snapshot) {
 		super(snapshot.markReady());
 	}
 
 	@Override
 	public void add(CC snapshot) {
-		super.add(((MultihopSnapshot) snapshot).markReady());
+		MultihopSnapshot prevSnapshot = (MultihopSnapshot) getLastCC();
+		super.add(((MultihopSnapshot) snapshot).markReady(prevSnapshot));
 	}
 
-	public MultihopSnapshot getClosestSnapshot(int targetTime) {
-		MultihopSnapshot closestSnapshot = (MultihopSnapshot) ccs.get(0);
-		int initTimestamp = ccs.get(0).getTimestamp();
-		for (int i = 1; i < ccs.size()
-				&& ccs.get(i).getTimestamp() - initTimestamp <= targetTime; i++) {
-			closestSnapshot = (MultihopSnapshot) ccs.get(i);
+	// ccs 의 i 번째 Snapshot 의 (Timestamp - 초기 Timestamp)
+	// ccs 는 뒤에만 추가되므로 길이가 달라졌을 때만 다시 생성
+	// 생성 후 변경하지 않는 배열을 통째로 교체하므로 동시 호출에도 Lock 불필요
+	private volatile int[] timeOffsets;
+
+	int[] getTimeOffsets() {
+		int[] timeOffsets = this.timeOffsets;
+		if (timeOffsets == null || timeOffsets.length != ccs.size()) {
+			timeOffsets = new int[ccs.size()];
+			int initTimestamp = ccs.get(0).getTimestamp();
+			for (int i = 0; i < timeOffsets.length; i++) {
+				timeOffsets[i] = ccs.get(i).getTimestamp() - initTimestamp;
+			}
+			this.timeOffsets = timeOffsets;
+		}
+		return timeOffsets;
+	}
+
+	int getClosestIndex(int targetTime) {
+		// targetTime 이하인 마지막 Snapshot 의 Index, 없으면 0
+		int[] timeOffsets = getTimeOffsets();
+		int low = 1;
+		int high = timeOffsets.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (timeOffsets[mid] <= targetTime) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
 		}
-		return closestSnapshot;
+		return low - 1;
 	}
 
-	public synchronized RoutableMultihopSnapshot getClosestRoutableMultihopSnapshot(
+	public MultihopSnapshot getClosestSnapshot(int targetTime) {
+		return (MultihopSnapshot) ccs.get(getClosestIndex(targetTime));
+	}
+
+	public RoutableMultihopSnapshot getClosestRoutableMultihopSnapshot(
 			int targetTime) {
-		MultihopSnapshot closestSnapshot = getClosestSnapshot(targetTime);
-		return new DsdvMultihopSnapshot(closestSnapshot);
+		return getClosestSnapshot(targetTime).forkRoutableSnapshot();
+	}
+
+	public SnapshotCursor newCursor() {
+		return new SnapshotCursor(this);
+	}
+
+	public long estimateBytes() {
+		// 공유 여부 판단을 위한 대략적인 Heap 사용량
+		// JUNG Graph 는 Node 와 Edge 마다 약 160 Byte 를 사용하고,
+		// 여러 Snapshot 이 공유하는 NextHopTable 은 한 번만 셈
+		// 사용 중에 생성되는 거리 행렬, Centrality 등은 포함하지 않음
+		long bytes = 0;
+		Set<NextHopTable> countedTables = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		for (CC cc : ccs) {
+			MultihopSnapshot snapshot = (MultihopSnapshot) cc;
+			bytes += 160L * (snapshot.getVertexCount() + snapshot
+					.getEdgeCount());
+			NextHopTable nextHopTable = snapshot.getNextHopTable();
+			if (countedTables.add(nextHopTable)) {
+				bytes += nextHopTable.estimateBytes();
+			}
+		}
+		return bytes;
 	}
 
 }
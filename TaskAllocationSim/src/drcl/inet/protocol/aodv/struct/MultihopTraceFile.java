@@ -0,0 +1,221 @@
+package drcl.inet.protocol.aodv.struct;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import com.mobilemr.trace.struct.CC;
+import com.mobilemr.trace.struct.GeneralPair;
+import com.mobilemr.trace.struct.UnorderedNumPair;
+
+public class MultihopTraceFile {
+
+	// 컴파일된 Faultload 형식
+	// Header : MAGIC, VERSION, 초기 Timestamp, Snapshot 수
+	// ID Map : zb2OrgNid 쌍
+	// Snapshot 마다 : 초기 Timestamp 기준 시간, 직전 Snapshot 대비 추가/제거 Edge,
+	// 인접 목록과 Routing 정보 (NextHopTable), Vertex Betweenness, Link 전송률
+
+	public static final String FILE_EXTENSION = ".mtb";
+
+	private static final int MAGIC = 0x4D544231;
+	private static final int VERSION = 1;
+
+	public static void write(File file, MultihopTrace trace,
+			HashMap<Integer, Integer> zb2OrgNid) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			int initTimestamp = trace.getInitCC().getTimestamp();
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(initTimestamp);
+			out.writeInt(trace.ccs.size());
+
+			ArrayList<Integer> zbNids = new ArrayList<>(zb2OrgNid.keySet());
+			Collections.sort(zbNids);
+			out.writeInt(zbNids.size());
+			for (int zbNid : zbNids) {
+				out.writeInt(zbNid);
+				out.writeInt(zb2OrgNid.get(zbNid));
+			}
+
+			NextHopTable prevTable = null;
+			for (CC cc : trace.ccs) {
+				MultihopSnapshot snapshot = (MultihopSnapshot) cc;
+				NextHopTable curTable = snapshot.getNextHopTable();
+				out.writeInt(snapshot.getTimestamp() - initTimestamp);
+
+				// 직전 Snapshot 대비 Edge 변화
+				HashSet<Long> prevEdges = toEdgeKeys(prevTable);
+				HashSet<Long> curEdges = toEdgeKeys(curTable);
+				writeEdgeKeys(out, curTable, prevEdges, curEdges);
+				writeEdgeKeys(out, prevTable, curEdges, prevEdges);
+
+				curTable.writeTo(out);
+
+				float[] nid2VertexBc = snapshot
+						.getVertexBetweennessCentralities();
+				int capacity = curTable.getCapacity();
+				for (int nid = 0; nid < capacity; nid++) {
+					if (curTable.containsNode(nid)) {
+						out.writeFloat(nid2VertexBc[nid]);
+					}
+				}
+				for (int nid = 0; nid < capacity; nid++) {
+					int[] nbrNids = curTable.getNeighborNids(nid);
+					if (nbrNids != null) {
+						for (int nbrNid : nbrNids) {
+							if (nid < nbrNid) {
+								out.writeFloat(snapshot.getLinkDeliveryRatio(
+										nid, nbrNid));
+							}
+						}
+					}
+				}
+				prevTable = curTable;
+			}
+		}
+	}
+
+	public static GeneralPair<MultihopTrace, HashMap<Integer, Integer>> read(
+			File file) throws IOException {
+		MappedByteBuffer in;
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileChannel channel = raf.getChannel()) {
+			in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (in.getInt() != MAGIC) {
+			throw new IOException("Not a compiled faultload : " + file);
+		}
+		int version = in.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported version " + version + " : "
+					+ file);
+		}
+		int initTimestamp = in.getInt();
+		int numSnapshots = in.getInt();
+
+		HashMap<Integer, Integer> zb2OrgNid = new HashMap<>();
+		int numNids = in.getInt();
+		for (int i = 0; i < numNids; i++) {
+			int zbNid = in.getInt();
+			zb2OrgNid.put(zbNid, in.getInt());
+		}
+
+		MultihopTrace trace = new MultihopTrace();
+		MultihopSnapshot prevSnapshot = null;
+		for (int i = 0; i < numSnapshots; i++) {
+			int curTimestamp = initTimestamp + in.getInt();
+			MultihopSnapshot curSnapshot;
+			if (prevSnapshot == null) {
+				curSnapshot = new MultihopSnapshot(curTimestamp);
+			} else {
+				curSnapshot = (MultihopSnapshot) prevSnapshot.clone();
+				curSnapshot.setTimestamp(curTimestamp);
+			}
+
+			// 제거 후 추가해야 고립된 Node 가 다시 가입하는 경우도 처리됨
+			int numAdded = in.getInt();
+			int[] addedNids = new int[numAdded * 2];
+			for (int j = 0; j < addedNids.length; j++) {
+				addedNids[j] = in.getShort();
+			}
+			int numRemoved = in.getInt();
+			for (int j = 0; j < numRemoved; j++) {
+				int nid1 = in.getShort();
+				int nid2 = in.getShort();
+				curSnapshot.removeEdge(nid1, nid2);
+			}
+			for (int j = 0; j < addedNids.length; j += 2) {
+				curSnapshot.addEdge(addedNids[j], addedNids[j + 1]);
+			}
+
+			NextHopTable curTable = NextHopTable.readFrom(in);
+			if (prevSnapshot != null && numAdded == 0 && numRemoved == 0) {
+				// markReady() 와 같이 Topology 가 같으면 직전 Table 을 공유해서 같은 Version 유지
+				curTable = prevSnapshot.getNextHopTable();
+			}
+			int capacity = curTable.getCapacity();
+			float[] nid2VertexBc = new float[capacity];
+			for (int nid = 0; nid < capacity; nid++) {
+				if (curTable.containsNode(nid)) {
+					nid2VertexBc[nid] = in.getFloat();
+				}
+			}
+			HashMap<UnorderedNumPair<Integer>, Float> link2DeliveryRatio = new HashMap<>();
+			for (int nid = 0; nid < capacity; nid++) {
+				int[] nbrNids = curTable.getNeighborNids(nid);
+				if (nbrNids != null) {
+					for (int nbrNid : nbrNids) {
+						if (nid < nbrNid) {
+							link2DeliveryRatio.put(new UnorderedNumPair<>(nid,
+									nbrNid), in.getFloat());
+						}
+					}
+				}
+			}
+
+			curSnapshot.restoreReady(curTable, nid2VertexBc,
+					link2DeliveryRatio);
+			trace.ccs.add(curSnapshot);
+			prevSnapshot = curSnapshot;
+		}
+		return new GeneralPair<>(trace, zb2OrgNid);
+	}
+
+	private static HashSet<Long> toEdgeKeys(NextHopTable table) {
+		HashSet<Long> edgeKeys = new HashSet<>();
+		if (table == null) {
+			return edgeKeys;
+		}
+		for (int nid = 0; nid < table.getCapacity(); nid++) {
+			int[] nbrNids = table.getNeighborNids(nid);
+			if (nbrNids != null) {
+				for (int nbrNid : nbrNids) {
+					if (nid < nbrNid) {
+						edgeKeys.add(((long) nid << 32) | nbrNid);
+					}
+				}
+			}
+		}
+		return edgeKeys;
+	}
+
+	private static void writeEdgeKeys(DataOutputStream out,
+			NextHopTable table, HashSet<Long> excludedEdges,
+			HashSet<Long> edges) throws IOException {
+		// table 의 인접 목록 순서대로 기록해서 복원시 Edge 추가 순서가 일정하도록 함
+		ArrayList<Long> diffEdges = new ArrayList<>();
+		if (table != null) {
+			for (int nid = 0; nid < table.getCapacity(); nid++) {
+				int[] nbrNids = table.getNeighborNids(nid);
+				if (nbrNids != null) {
+					for (int nbrNid : nbrNids) {
+						long edgeKey = ((long) nid << 32) | nbrNid;
+						if (nid < nbrNid && edges.contains(edgeKey)
+								&& !excludedEdges.contains(edgeKey)) {
+							diffEdges.add(edgeKey);
+						}
+					}
+				}
+			}
+		}
+		out.writeInt(diffEdges.size());
+		for (long edgeKey : diffEdges) {
+			out.writeShort((int) (edgeKey >>> 32));
+			out.writeShort((int) edgeKey);
+		}
+	}
+
+}
@@ -0,0 +1,386 @@
+package drcl.inet.protocol.aodv.struct;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NextHopTable {
+
+	// Snapshot 의 전체 (Src, Dst) 쌍에 대한 Hop 거리와 Next Hop 목록
+	// Node ID 를 그대로 Index 로 사용하는 Primitive 배열로 보관하며,
+	// 생성 후에는 변경하지 않으므로 여러 Snapshot 이 배열을 공유할 수 있음
+
+	private static final int[] NO_NIDS = new int[0];
+
+	// Topology 가 바뀌지 않으면 update() 가 같은 객체를 반환하므로,
+	// 객체마다 다른 Version 으로 Topology 변화 여부를 판단할 수 있음
+	private static final AtomicLong VERSION_COUNTER = new AtomicLong();
+
+	private final long version = VERSION_COUNTER.incrementAndGet();
+	private final int capacity;
+	private final int[][] adj;
+	private final int[] dist;
+	private final int[][] nextNids;
+
+	private NextHopTable(int capacity, int[][] adj, int[] dist,
+			int[][] nextNids) {
+		this.capacity = capacity;
+		this.adj = adj;
+		this.dist = dist;
+		this.nextNids = nextNids;
+	}
+
+	public static NextHopTable build(MultihopSnapshot snapshot) {
+		int capacity = getCapacity(snapshot, 0);
+		int[][] adj = toAdjacency(snapshot, capacity);
+		int[] dist = new int[capacity * capacity];
+		Arrays.fill(dist, -1);
+		int[][] nextNids = new int[capacity * capacity][];
+
+		// 모든 Node 에서 BFS 한 번씩 수행
+		int[] queue = new int[capacity];
+		for (int srcNid = 0; srcNid < capacity; srcNid++) {
+			if (adj[srcNid] != null) {
+				bfs(adj, capacity, srcNid, dist, queue);
+			}
+		}
+		for (int srcNid = 0; srcNid < capacity; srcNid++) {
+			if (adj[srcNid] != null) {
+				for (int dstNid = 0; dstNid < capacity; dstNid++) {
+					if (adj[dstNid] != null) {
+						nextNids[srcNid * capacity + dstNid] = findNextNids(
+								adj, dist, capacity, srcNid, dstNid);
+					}
+				}
+			}
+		}
+		return new NextHopTable(capacity, adj, dist, nextNids);
+	}
+
+	public NextHopTable update(MultihopSnapshot snapshot) {
+		// Node ID 범위가 넓어지면 Index 가 바뀌므로 전체 재계산
+		int capacity = getCapacity(snapshot, this.capacity);
+		if (capacity != this.capacity) {
+			return build(snapshot);
+		}
+		int[][] adj = toAdjacency(snapshot, capacity);
+
+		// 이웃 목록이 달라진 Node 와 거리가 달라질 수 있는 Dst 를 찾음
+		boolean[] adjChanged = new boolean[capacity];
+		boolean[] distChanged = new boolean[capacity];
+		boolean anyChanged = false;
+		for (int nid = 0; nid < capacity; nid++) {
+			int[] prevNbrs = this.adj[nid];
+			int[] curNbrs = adj[nid];
+			if (Arrays.equals(prevNbrs, curNbrs)) {
+				continue;
+			}
+			// 이웃 순서만 바뀐 경우에도 Next Hop 순서가 바뀌므로 다시 계산
+			adjChanged[nid] = true;
+			anyChanged = true;
+
+			if (prevNbrs == null || curNbrs == null) {
+				// Node 가입 또는 이탈
+				// 이전 거리로는 판단할 수 없으므로 모든 Dst 재계산
+				Arrays.fill(distChanged, true);
+				continue;
+			}
+			// 추가된 Edge: 이전 거리 차이가 2 이상이면 더 짧은 경로가 생김
+			for (int nbrNid : curNbrs) {
+				if (!contains(prevNbrs, nbrNid)) {
+					markChangedDsts(nid, nbrNid, 2, distChanged);
+				}
+			}
+			// 제거된 Edge: 이전 거리 차이가 1 이면 최단경로가 끊길 수 있음
+			for (int nbrNid : prevNbrs) {
+				if (!contains(curNbrs, nbrNid)) {
+					markChangedDsts(nid, nbrNid, 1, distChanged);
+				}
+			}
+		}
+		if (!anyChanged) {
+			return this;
+		}
+
+		// 이전 결과를 복사한 뒤 영향받는 부분만 갱신
+		int[] dist = this.dist.clone();
+		int[][] nextNids = this.nextNids.clone();
+		int[] queue = new int[capacity];
+		for (int nid = 0; nid < capacity; nid++) {
+			if (adj[nid] == null) {
+				// 이탈한 Node 의 정보 제거
+				for (int otherNid = 0; otherNid < capacity; otherNid++) {
+					dist[nid * capacity + otherNid] = -1;
+					dist[otherNid * capacity + nid] = -1;
+					nextNids[nid * capacity + otherNid] = null;
+					nextNids[otherNid * capacity + nid] = null;
+				}
+			} else if (distChanged[nid]) {
+				bfs(adj, capacity, nid, dist, queue);
+			}
+		}
+		for (int srcNid = 0; srcNid < capacity; srcNid++) {
+			if (adj[srcNid] == null) {
+				continue;
+			}
+			for (int dstNid = 0; dstNid < capacity; dstNid++) {
+				if (adj[dstNid] != null
+						&& (adjChanged[srcNid] || distChanged[dstNid])) {
+					nextNids[srcNid * capacity + dstNid] = findNextNids(adj,
+							dist, capacity, srcNid, dstNid);
+				}
+			}
+		}
+		return new NextHopTable(capacity, adj, dist, nextNids);
+	}
+
+	private void markChangedDsts(int nid1, int nid2, int minDiff,
+			boolean[] distChanged) {
+		for (int dstNid = 0; dstNid < capacity; dstNid++) {
+			if (distChanged[dstNid] || adj[dstNid] == null) {
+				continue;
+			}
+			int dist1 = dist[dstNid * capacity + nid1];
+			int dist2 = dist[dstNid * capacity + nid2];
+			if (dist1 == -1 || dist2 == -1
+					|| Math.abs(dist1 - dist2) >= minDiff) {
+				distChanged[dstNid] = true;
+			}
+		}
+	}
+
+	private static int getCapacity(MultihopSnapshot snapshot, int minCapacity) {
+		int capacity = minCapacity;
+		for (Integer nid : snapshot.getVertices()) {
+			if (nid + 1 > capacity) {
+				capacity = nid + 1;
+			}
+		}
+		return capacity;
+	}
+
+	private static int[][] toAdjacency(MultihopSnapshot snapshot, int capacity) {
+		// 기존 Next Hop 순서와 같도록 getNeighbors() 의 순회 순서를 유지
+		int[][] adj = new int[capacity][];
+		for (Integer nid : snapshot.getVertices()) {
+			Collection<Integer> nbrNids = snapshot.getNeighbors(nid);
+			int[] nbrs = new int[nbrNids.size()];
+			int i = 0;
+			for (Integer nbrNid : nbrNids) {
+				nbrs[i++] = nbrNid;
+			}
+			adj[nid] = nbrs;
+		}
+		return adj;
+	}
+
+	private static void bfs(int[][] adj, int capacity, int srcNid, int[] dist,
+			int[] queue) {
+		// Undirected Graph 이므로 Src 행과 열을 함께 갱신
+		int rowOffset = srcNid * capacity;
+		for (int nid = 0; nid < capacity; nid++) {
+			dist[rowOffset + nid] = -1;
+			dist[nid * capacity + srcNid] = -1;
+		}
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = srcNid;
+		dist[rowOffset + srcNid] = 0;
+		while (head < tail) {
+			int curNid = queue[head++];
+			int curDist = dist[rowOffset + curNid];
+			dist[curNid * capacity + srcNid] = curDist;
+			for (int nbrNid : adj[curNid]) {
+				if (dist[rowOffset + nbrNid] == -1) {
+					dist[rowOffset + nbrNid] = curDist + 1;
+					queue[tail++] = nbrNid;
+				}
+			}
+		}
+	}
+
+	private static int[] findNextNids(int[][] adj, int[] dist, int capacity,
+			int srcNid, int dstNid) {
+		if (srcNid == dstNid) {
+			return NO_NIDS;
+		}
+		// Dst 까지의 거리가 하나 줄어드는 이웃이 최단경로의 Next Hop
+		int targetDist = dist[srcNid * capacity + dstNid] - 1;
+		int[] nbrs = adj[srcNid];
+		int[] candidates = new int[nbrs.length];
+		int numNextNids = 0;
+		for (int nbrNid : nbrs) {
+			if (dist[nbrNid * capacity + dstNid] == targetDist) {
+				candidates[numNextNids++] = nbrNid;
+			}
+		}
+		return Arrays.copyOf(candidates, numNextNids);
+	}
+
+	private static boolean contains(int[] nids, int targetNid) {
+		for (int nid : nids) {
+			if (nid == targetNid) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	void writeTo(DataOutputStream out) throws IOException {
+		// Node ID, 거리, Next Hop 수는 모두 capacity 보다 작으므로
+		// capacity 가 작으면 byte, 크면 short 로 기록
+		out.writeInt(capacity);
+		boolean wide = capacity > Byte.MAX_VALUE;
+		for (int nid = 0; nid < capacity; nid++) {
+			writeValues(out, wide, adj[nid]);
+		}
+		for (int i = 0; i < dist.length; i++) {
+			writeValue(out, wide, dist[i]);
+		}
+		for (int i = 0; i < nextNids.length; i++) {
+			writeValues(out, wide, nextNids[i]);
+		}
+	}
+
+	static NextHopTable readFrom(ByteBuffer in) {
+		int capacity = in.getInt();
+		boolean wide = capacity > Byte.MAX_VALUE;
+		int[][] adj = new int[capacity][];
+		for (int nid = 0; nid < capacity; nid++) {
+			adj[nid] = readValues(in, wide);
+		}
+		int[] dist = new int[capacity * capacity];
+		for (int i = 0; i < dist.length; i++) {
+			dist[i] = readValue(in, wide);
+		}
+		int[][] nextNids = new int[capacity * capacity][];
+		for (int i = 0; i < nextNids.length; i++) {
+			nextNids[i] = readValues(in, wide);
+		}
+		return new NextHopTable(capacity, adj, dist, nextNids);
+	}
+
+	private static void writeValue(DataOutputStream out, boolean wide,
+			int value) throws IOException {
+		if (!wide) {
+			out.writeByte(value);
+		} else if (value <= Short.MAX_VALUE) {
+			out.writeShort(value);
+		} else {
+			throw new IllegalStateException(value + "");
+		}
+	}
+
+	private static int readValue(ByteBuffer in, boolean wide) {
+		return wide ? in.getShort() : in.get();
+	}
+
+	private static void writeValues(DataOutputStream out, boolean wide,
+			int[] values) throws IOException {
+		// null 은 길이 -1 로 기록
+		if (values == null) {
+			writeValue(out, wide, -1);
+			return;
+		}
+		writeValue(out, wide, values.length);
+		for (int value : values) {
+			writeValue(out, wide, value);
+		}
+	}
+
+	private static int[] readValues(ByteBuffer in, boolean wide) {
+		int length = readValue(in, wide);
+		if (length == -1) {
+			return null;
+		} else if (length == 0) {
+			return NO_NIDS;
+		}
+		int[] values = new int[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = readValue(in, wide);
+		}
+		return values;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	int getCapacity() {
+		return capacity;
+	}
+
+	long estimateBytes() {
+		// 배열 Header 16 Byte, 원소 4 Byte 기준의 대략적인 크기
+		// 다른 Table 과 공유하는 배열도 각각 셈
+		return estimateBytes(adj) + estimateBytes(nextNids) + 16 + 4L
+				* dist.length;
+	}
+
+	private static long estimateBytes(int[][] arrays) {
+		long bytes = 16 + 4L * arrays.length;
+		for (int[] values : arrays) {
+			if (values != null && values != NO_NIDS) {
+				bytes += 16 + 4L * values.length;
+			}
+		}
+		return bytes;
+	}
+
+	int[] getNeighborNids(int nid) {
+		return containsNode(nid) ? adj[nid] : null;
+	}
+
+	public boolean containsNode(int nid) {
+		return 0 <= nid && nid < capacity && adj[nid] != null;
+	}
+
+	public boolean isConnected() {
+		// 임의의 한 Node 에서 다른 모든 Node 로 가는 경로가 있는지 검사
+		int srcNid = 0;
+		while (srcNid < capacity && adj[srcNid] == null) {
+			srcNid++;
+		}
+		if (srcNid == capacity) {
+			return false;
+		}
+		for (int dstNid = 0; dstNid < capacity; dstNid++) {
+			if (adj[dstNid] != null && dist[srcNid * capacity + dstNid] == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int getDistance(int srcNid, int dstNid) {
+		if (!containsNode(srcNid) || !containsNode(dstNid)) {
+			return -1;
+		}
+		return dist[srcNid * capacity + dstNid];
+	}
+
+	public int[] getNextNids(int srcNid, int dstNid) {
+		// 반환된 배열은 공유되므로 변경하면 안됨
+		if (!containsNode(srcNid) || !containsNode(dstNid)) {
+			return null;
+		}
+		return nextNids[srcNid * capacity + dstNid];
+	}
+
+	public ArrayList<Integer> getPathNids(int srcNid, int dstNid) {
+		ArrayList<Integer> pathNids = new ArrayList<>();
+		pathNids.add(srcNid);
+		int firstNextNid = srcNid;
+
+		while (firstNextNid != dstNid) {
+			firstNextNid = getNextNids(firstNextNid, dstNid)[0];
+			pathNids.add(firstNextNid);
+		}
+		return pathNids;
+	}
+
+}
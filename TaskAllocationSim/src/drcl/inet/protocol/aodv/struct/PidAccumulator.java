@@ -0,0 +1,53 @@
+package drcl.inet.protocol.aodv.struct;
+
+public class PidAccumulator {
+
+	// Node 에 도착한 데이터 크기를 Task ID 별로 누적
+	// Task ID 를 그대로 Index 로 사용하므로 수신 조회가 O(1)
+
+	private double[] pid2DataSize = new double[16];
+	private double sumDataSize = 0;
+
+	public PidAccumulator() {
+	}
+
+	public PidAccumulator(PidAccumulator that) {
+		pid2DataSize = that.pid2DataSize.clone();
+		sumDataSize = that.sumDataSize;
+	}
+
+	public void add(int pid, double dataSize) {
+		if (pid >= pid2DataSize.length) {
+			int newCapacity = pid2DataSize.length;
+			while (pid >= newCapacity) {
+				newCapacity *= 2;
+			}
+			double[] newPid2DataSize = new double[newCapacity];
+			System.arraycopy(pid2DataSize, 0, newPid2DataSize, 0,
+					pid2DataSize.length);
+			pid2DataSize = newPid2DataSize;
+		}
+		pid2DataSize[pid] += dataSize;
+		sumDataSize += dataSize;
+	}
+
+	public double take(int pid) {
+		if (pid >= pid2DataSize.length) {
+			return 0;
+		}
+		double dataSize = pid2DataSize[pid];
+		pid2DataSize[pid] = 0;
+		sumDataSize -= dataSize;
+		return dataSize;
+	}
+
+	public double getDataSize() {
+		return sumDataSize;
+	}
+
+	@Override
+	public String toString() {
+		return sumDataSize + "";
+	}
+
+}
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 
 import com.mobilemr.task_allocation.Params;
-import com.mobilemr.trace.struct.GeneralPair;
 
 import drcl.inet.protocol.aodv.AODV;
 
@@ -26,21 +25,64 @@ public class RoutableMultihopSnapshot extends AODV {
 		updateTopology(curSnapshot);
 	}
 
+	protected RoutableMultihopSnapshot(RoutableMultihopSnapshot base) {
+		// 변경하지 않는 Snapshot 과 Next Hop Table 은 공유하고, Node 와 Buffer 만 복사
+		// 원본과 같은 순서로 넣어서 nid2Node 의 순회 순서도 원본과 같도록 함
+		for (RoutableNode baseNode : base.nid2Node.values()) {
+			nid2Node.put(baseNode.id, baseNode.fork());
+		}
+		nodes = new RoutableNode[base.nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = nid2Node.get(base.nodes[i].id);
+		}
+		nodesByNid = new RoutableNode[base.nodesByNid.length];
+		for (RoutableNode node : nodes) {
+			nodesByNid[node.id] = node;
+		}
+		curSnapshot = base.curSnapshot;
+		curNextHopTable = base.curNextHopTable;
+		cntNodesInTransmission = base.cntNodesInTransmission;
+	}
+
+	public RoutableMultihopSnapshot fork() {
+		// 준비된 상태에서 분기해서 원본에 영향을 주지 않고 Simulation 을 진행
+		if (this instanceof DsdvMultihopSnapshot) {
+			return new DsdvMultihopSnapshot((DsdvMultihopSnapshot) this);
+		} else {
+			throw new IllegalStateException();
+		}
+	}
+
 	public int getNodeCount() {
 		return nid2Node.size();
 	}
 
 	private MultihopSnapshot curSnapshot;
+	// Routing 에 사용하는 현재 Next Hop Table
+	private NextHopTable curNextHopTable;
+
+	// sendByUnitTime() 마다 목록을 새로 만들지 않도록 Topology 갱신 시점에 저장
+	private RoutableNode[] nodes = new RoutableNode[0];
+	// Next Hop 조회용으로 Node ID 를 그대로 Index 로 사용
+	private RoutableNode[] nodesByNid = new RoutableNode[0];
 
 	public ArrayList<Integer> updateTopology(MultihopSnapshot curSnapshot) {
 		this.curSnapshot = curSnapshot;
+		ArrayList<Integer> departedNids = new ArrayList<Integer>();
+
+		// Topology Version 이 같으면 Node 와 Next Hop 도 같으므로 그대로 사용
+		NextHopTable nextHopTable = curSnapshot.getNextHopTable();
+		if (curNextHopTable != null
+				&& nextHopTable.getVersion() == curNextHopTable.getVersion()) {
+			return departedNids;
+		}
 
 		ArrayList<Integer> prevNids = new ArrayList<Integer>(nid2Node.keySet());
 		ArrayList<Integer> curNids = curSnapshot.getNids();
-		ArrayList<Integer> departedNids = new ArrayList<Integer>();
 
+		boolean nodesChanged = false;
 		for (int curNid : curNids) {
-			if (!prevNids.contains(curNid)) {
+			if (!nid2Node.containsKey(curNid)) {
 				RoutableNode arrivedNode;
 				if (this instanceof DsdvMultihopSnapshot) {
 					arrivedNode = new DsdvNode(curNid);
@@ -48,37 +90,29 @@ public class RoutableMultihopSnapshot extends AODV {
 					throw new IllegalStateException();
 				}
 				nid2Node.put(curNid, arrivedNode);
+				nodesChanged = true;
 			}
 		}
 
 		for (int prevNid : prevNids) {
-			if (!curNids.contains(prevNid)) {
+			if (!nextHopTable.containsNode(prevNid)) {
 				nid2Node.remove(prevNid);
 				departedNids.add(prevNid);
+				nodesChanged = true;
 			}
 		}
 
-		for (int srcNid : curNids) {
-			RoutableNode srcNode = nid2Node.get(srcNid);
-			srcNode.clearRoutingTable();
-
-			for (int dstNid : curNids) {
-
-				if (srcNid == dstNid) {
-					srcNode.setNextDstNode(srcNid, srcNode);
+		if (curNextHopTable == null || nodesChanged) {
+			nodes = nid2Node.values().toArray(
+					new RoutableNode[nid2Node.size()]);
+		}
 
-				} else {
-					ArrayList<Integer> nextDstNids = curSnapshot.getNextNids(
-							srcNid, dstNid);
-					ArrayList<RoutableNode> nextDstNodes = new ArrayList<RoutableNode>();
-					for (int nextDstNid : nextDstNids) {
-						RoutableNode nextDstNode = nid2Node.get(nextDstNid);
-						nextDstNodes.add(nextDstNode);
-					}
-					srcNode.setNextDstNodes(dstNid, nextDstNodes);
-				}
-			}
+		// Routing Table 은 Next Hop Table 을 그대로 사용하므로 Node 배열과 참조만 교체
+		nodesByNid = new RoutableNode[nextHopTable.getCapacity()];
+		for (RoutableNode node : nodes) {
+			nodesByNid[node.id] = node;
 		}
+		curNextHopTable = nextHopTable;
 
 		return departedNids;
 	}
@@ -88,23 +122,28 @@ public class RoutableMultihopSnapshot extends AODV {
 		RoutableNode srcNode = nid2Node.get(srcNid);
 
 		if (srcNid == dstNid) {
-			srcNode.loopbackBuffer.offer(new Packet(AODV.AODVTYPE_RREQ, srcNid,
-					dstNid, srcPid, dstPid, dataSize));
+			srcNode.loopbackBuffer.add(dstPid, dataSize);
 		} else {
-			double remainingDataSize = dataSize;
-			while (remainingDataSize > 0) {
-				double curPacketSize = remainingDataSize < MAX_QUEUE_PACKET_SIZE ? remainingDataSize
-						: MAX_QUEUE_PACKET_SIZE;
-				remainingDataSize -= curPacketSize;
-				srcNode.outBuffer.offer(new Packet(AODV.AODVTYPE_RREQ, srcNid,
-						dstNid, srcPid, dstPid, curPacketSize));
-			}
+			queueRemotePackets(srcNode, dstNid, dstPid, dataSize);
 		}
 	}
 
-	public GeneralPair<Double, Integer> sendByUnitTime() {
-		ArrayList<RoutableNode> nodes = new ArrayList<RoutableNode>(
-				nid2Node.values());
+	public static void queueRemotePackets(RoutableNode srcNode, int dstNid,
+			int dstPid, double dataSize) {
+		// MAX_QUEUE_PACKET_SIZE 단위로 나눈 Packet 수와 마지막 Packet 크기만 계산
+		// MAX_QUEUE_PACKET_SIZE 가 2 의 거듭제곱이라 하나씩 빼는 것과 결과가 정확히 같음
+		if (dataSize > 0) {
+			int numPackets = (int) Math.ceil(dataSize / MAX_QUEUE_PACKET_SIZE);
+			double lastPacketSize = dataSize - (numPackets - 1)
+					* MAX_QUEUE_PACKET_SIZE;
+			srcNode.outBuffer.offer(dstNid, dstPid, numPackets, lastPacketSize);
+		}
+	}
+
+	private int cntNodesInTransmission = 0;
+
+	public double sendByUnitTime() {
+		RoutableNode[] nodes = this.nodes;
 		for (RoutableNode node : nodes) {
 			node.throughputInUnitTime = 0;
 		}
@@ -112,27 +151,32 @@ public class RoutableMultihopSnapshot extends AODV {
 		while (true) {
 			boolean anySentInThisIteration = false;
 			for (RoutableNode srcNode : nodes) {
-				if (!srcNode.isOutBufferEmpty()) {
-					Packet nextP = srcNode.outBuffer.peek();
-					RoutableNode nextDstNode = srcNode
-							.getNextDstNode(nextP.dstNid);
+				FlowBuffer outBuffer = srcNode.outBuffer;
+				if (!outBuffer.isEmpty()) {
+					int nextDstNid = outBuffer.peekDstNid();
+					RoutableNode nextDstNode = srcNode.getNextDstNode(
+							nextDstNid, curNextHopTable, nodesByNid);
 					if (nextDstNode == null) {
-						srcNode.outBuffer.poll();
+						outBuffer.poll();
 						continue;
 					}
+					double nextPacketSize = outBuffer.peekSize();
 					float curLinkBandwidth = Params.MAX_LINK_BANDWIDTH
 							* curSnapshot.getLinkDeliveryRatio(srcNode.id,
 									nextDstNode.id);
-					if (srcNode.throughputInUnitTime + nextP.size <= curLinkBandwidth
-							&& nextDstNode.throughputInUnitTime + nextP.size <= curLinkBandwidth) {
-						srcNode.outBuffer.poll();
-						if (nextP.dstNid != nextDstNode.id) {
-							nextDstNode.outBuffer.offer(nextP);
+					if (srcNode.throughputInUnitTime + nextPacketSize <= curLinkBandwidth
+							&& nextDstNode.throughputInUnitTime + nextPacketSize <= curLinkBandwidth) {
+						int nextDstPid = outBuffer.peekDstPid();
+						outBuffer.poll();
+						if (nextDstNid != nextDstNode.id) {
+							nextDstNode.outBuffer.offer(nextDstNid, nextDstPid,
+									nextPacketSize);
 						} else {
-							nextDstNode.completedBuffer.offer(nextP);
+							nextDstNode.completedBuffer.add(nextDstPid,
+									nextPacketSize);
 						}
-						srcNode.throughputInUnitTime += nextP.size;
-						nextDstNode.throughputInUnitTime += nextP.size;
+						srcNode.throughputInUnitTime += nextPacketSize;
+						nextDstNode.throughputInUnitTime += nextPacketSize;
 						anySentInThisIteration = true;
 					}
 				}
@@ -142,43 +186,31 @@ public class RoutableMultihopSnapshot extends AODV {
 			}
 		}
 		double sumThroughputInUnitTime = 0;
-		int cntNodesInTransmission = 0;
+		cntNodesInTransmission = 0;
 		for (RoutableNode node : nodes) {
 			if (node.throughputInUnitTime > 0) {
 				sumThroughputInUnitTime += node.throughputInUnitTime;
 				cntNodesInTransmission++;
 			}
 		}
-		return new GeneralPair<Double, Integer>(sumThroughputInUnitTime,
-				cntNodesInTransmission);
+		return sumThroughputInUnitTime;
+	}
+
+	public int getCntNodesInTransmission() {
+		// 직전 sendByUnitTime() 에서 송수신한 Node 수
+		return cntNodesInTransmission;
 	}
 
 	public double getLoopbackData(int dstNid, int dstPid) {
-		double sumLoopbackDataSize = 0;
-		RoutableNode dstNode = nid2Node.get(dstNid);
-		ArrayList<Packet> dstPidPackets = dstNode.loopbackBuffer
-				.getPacketsByPid(dstPid);
-		for (Packet dstPidPacket : dstPidPackets) {
-			sumLoopbackDataSize += dstPidPacket.size;
-		}
-		dstNode.loopbackBuffer.removeAll(dstPidPackets);
-		return sumLoopbackDataSize;
+		return nid2Node.get(dstNid).loopbackBuffer.take(dstPid);
 	}
 
 	public double getCompletedData(int dstNid, int dstPid) {
-		double sumCompletedDataSize = 0;
-		RoutableNode dstNode = nid2Node.get(dstNid);
-		ArrayList<Packet> dstPidPackets = dstNode.completedBuffer
-				.getPacketsByPid(dstPid);
-		for (Packet dstPidPacket : dstPidPackets) {
-			sumCompletedDataSize += dstPidPacket.size;
-		}
-		dstNode.completedBuffer.removeAll(dstPidPackets);
-		return sumCompletedDataSize;
+		return nid2Node.get(dstNid).completedBuffer.take(dstPid);
 	}
 
 	public boolean anyPendingPackets() {
-		for (RoutableNode curNode : nid2Node.values()) {
+		for (RoutableNode curNode : nodes) {
 			if (!curNode.isOutBufferEmpty()) {
 				return true;
 			}
@@ -189,15 +221,9 @@ public class RoutableMultihopSnapshot extends AODV {
 	public double getCommDataSize() {
 		double sumAllDataSize = 0;
 		for (RoutableNode curNode : nid2Node.values()) {
-			for (Packet p : curNode.outBuffer) {
-				sumAllDataSize += p.size;
-			}
-			for (Packet p : curNode.loopbackBuffer) {
-				sumAllDataSize += p.size;
-			}
-			for (Packet p : curNode.completedBuffer) {
-				sumAllDataSize += p.size;
-			}
+			sumAllDataSize += curNode.outBuffer.getDataSize();
+			sumAllDataSize += curNode.loopbackBuffer.getDataSize();
+			sumAllDataSize += curNode.completedBuffer.getDataSize();
 		}
 		return sumAllDataSize;
 	}
@@ -1,40 +1,41 @@
 package drcl.inet.protocol.aodv.struct;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-
 import com.mobilemr.task_allocation.platform.TaskPhaseType;
 
 public abstract class RoutableNode implements Comparable<RoutableNode> {
 
 	public int id;
 	public float throughputInUnitTime;
-	public PacketBuffer outBuffer = new PacketBuffer();
+	public FlowBuffer outBuffer = new FlowBuffer();
 
-	public PacketBuffer loopbackBuffer = new PacketBuffer();
-	public PacketBuffer completedBuffer = new PacketBuffer();
+	public PidAccumulator loopbackBuffer = new PidAccumulator();
+	public PidAccumulator completedBuffer = new PidAccumulator();
 
 	public RoutableNode(int id) {
 		this.id = id;
 	}
 
-	protected HashMap<Integer, ArrayList<? extends RoutableNode>> id2Node = new HashMap<>();
-
-	public void clearRoutingTable() {
-		id2Node.clear();
+	protected RoutableNode(RoutableNode that) {
+		// 분기한 Node 와 Buffer 를 공유하지 않도록 상태를 복사
+		this.id = that.id;
+		this.throughputInUnitTime = that.throughputInUnitTime;
+		this.outBuffer = new FlowBuffer(that.outBuffer);
+		this.loopbackBuffer = new PidAccumulator(that.loopbackBuffer);
+		this.completedBuffer = new PidAccumulator(that.completedBuffer);
+		this.timeDistStarted = that.timeDistStarted;
+		this.timeDistFinished = that.timeDistFinished;
+		this.timeMapStarted = that.timeMapStarted;
+		this.timeMapFinished = that.timeMapFinished;
+		this.timeReduceStarted = that.timeReduceStarted;
+		this.timeReduceFinished = that.timeReduceFinished;
 	}
 
-	public void setNextDstNode(int dstNid, RoutableNode nextDstNode) {
-		ArrayList<RoutableNode> nextDstNodes = new ArrayList<>();
-		nextDstNodes.add(nextDstNode);
-		id2Node.put(dstNid, nextDstNodes);
-	}
-
-	public void setNextDstNodes(int dstNid, ArrayList<RoutableNode> nextDstNodes) {
-		id2Node.put(dstNid, nextDstNodes);
-	}
+	public abstract RoutableNode fork();
 
-	public abstract RoutableNode getNextDstNode(int dstNid);
+	// Routing Table 은 Node 마다 따로 두지 않고 Snapshot 의 Next Hop Table 을 그대로 사용
+	// nid2Node 는 Node ID 를 Index 로 하는 현재 Snapshot 의 Node 배열
+	public abstract RoutableNode getNextDstNode(int dstNid,
+			NextHopTable nextHopTable, RoutableNode[] nid2Node);
 
 	public boolean isOutBufferEmpty() {
 		return outBuffer.isEmpty();
@@ -0,0 +1,38 @@
+package drcl.inet.protocol.aodv.struct;
+
+public class SnapshotCursor {
+
+	// 시간이 단위시간씩 증가하는 Simulation Loop 용 MultihopTrace 조회 Cursor
+	// 직전 위치에서 앞으로만 이동하므로 Tick 당 조회가 평균 O(1)
+	// 시간이 되돌아가면 Binary Search 로 다시 위치를 찾음
+	// 호출자 하나가 사용하는 객체이므로 Thread-Safe 하지 않음
+
+	private final MultihopTrace trace;
+	private int idx = 0;
+
+	SnapshotCursor(MultihopTrace trace) {
+		this.trace = trace;
+	}
+
+	public MultihopSnapshot seek(int targetTime) {
+		int[] timeOffsets = trace.getTimeOffsets();
+		if (targetTime < timeOffsets[idx]) {
+			idx = trace.getClosestIndex(targetTime);
+		} else {
+			while (idx + 1 < timeOffsets.length
+					&& timeOffsets[idx + 1] <= targetTime) {
+				idx++;
+			}
+		}
+		return (MultihopSnapshot) trace.ccs.get(idx);
+	}
+
+	public int getNextChangeTime() {
+		// 마지막으로 찾은 Snapshot 다음 Snapshot 의 시간, 없으면 Integer.MAX_VALUE
+		// 이 시간 전까지는 seek() 결과가 바뀌지 않음
+		int[] timeOffsets = trace.getTimeOffsets();
+		return idx + 1 < timeOffsets.length ? timeOffsets[idx + 1]
+				: Integer.MAX_VALUE;
+	}
+
+}
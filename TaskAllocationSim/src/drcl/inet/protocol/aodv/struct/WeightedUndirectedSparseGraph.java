@@ -16,13 +16,20 @@ public class WeightedUndirectedSparseGraph extends
 	private static final long serialVersionUID = -4114645534213943221L;
 
 	public DijkstraDistance<Integer, WeightedEdge> dd;
+	// 원래 Snapshot 의 거리 행렬이 있으면 Dijkstra 대신 사용
+	public DistanceMatrix distances;
 
 	@Override
-	public synchronized double getDistance(Integer nid1, Integer nid2) {
-		if (dd == null) {
-			throw new IllegalStateException();
+	public double getDistance(Integer nid1, Integer nid2) {
+		if (distances != null) {
+			return distances.get(nid1, nid2);
+		}
+		synchronized (this) {
+			if (dd == null) {
+				throw new IllegalStateException();
+			}
+			return dd.getDistance(nid1, nid2).doubleValue();
 		}
-		return dd.getDistance(nid1, nid2).doubleValue();
 	}
 
 	public ArrayList<Integer> getMinDistNids(ArrayList<Integer> srcNids,
@@ -31,8 +38,14 @@ public class WeightedUndirectedSparseGraph extends
 		HashSet<Integer> nidSet = getNidSet();
 		for (Integer dstNid : nidSet) {
 			double sumDistance = 0;
-			for (Integer srcNid : srcNids) {
-				sumDistance += getDistance(srcNid, dstNid);
+			if (distances != null) {
+				for (int srcNid : srcNids) {
+					sumDistance += distances.get(srcNid, dstNid);
+				}
+			} else {
+				for (Integer srcNid : srcNids) {
+					sumDistance += getDistance(srcNid, dstNid);
+				}
 			}
 			orderedNidAndDistance.add(new GeneralPair<>(dstNid, sumDistance));
 		}